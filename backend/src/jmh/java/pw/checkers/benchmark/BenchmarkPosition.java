@@ -0,0 +1,83 @@
+package pw.checkers.benchmark;
+
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+
+/**
+ * Fixed corpus of positions the engine benchmarks run over, all with white to move.
+ */
+public enum BenchmarkPosition {
+    OPENING {
+        @Override
+        Board board() {
+            return Board.initial();
+        }
+    },
+    MIDGAME {
+        @Override
+        Board board() {
+            Board board = new Board();
+            place(board, Color.WHITE, PieceType.PAWN, 5, 0, 5, 2, 6, 1, 6, 5, 7, 4, 4, 3, 5, 6, 6, 7);
+            place(board, Color.BLACK, PieceType.PAWN, 0, 1, 1, 2, 1, 4, 2, 3, 2, 5, 1, 6, 0, 7, 3, 0);
+            return board;
+        }
+    },
+    KING_ENDGAME {
+        @Override
+        Board board() {
+            Board board = new Board();
+            place(board, Color.WHITE, PieceType.KING, 4, 3, 6, 1);
+            place(board, Color.BLACK, PieceType.KING, 1, 2, 2, 7);
+            place(board, Color.BLACK, PieceType.PAWN, 3, 6);
+            return board;
+        }
+    },
+    MULTI_CAPTURE {
+        @Override
+        Board board() {
+            Board board = new Board();
+            place(board, Color.WHITE, PieceType.PAWN, 6, 1, 7, 6);
+            place(board, Color.BLACK, PieceType.PAWN, 5, 2, 3, 4, 1, 4, 0, 7);
+            return board;
+        }
+    };
+
+    abstract Board board();
+
+    public GameState create() {
+        Board board = board();
+        GameState gameState = new GameState();
+        gameState.setGameId(name());
+        gameState.setBoard(board);
+        gameState.setCurrentPlayer(Color.WHITE);
+        gameState.setWhitePiecesLeft(Integer.bitCount(board.getWhite()));
+        gameState.setBlackPiecesLeft(Integer.bitCount(board.getBlack()));
+        gameState.setNumberOfPositions(new PositionCounter());
+        return gameState;
+    }
+
+    public static GameState copy(GameState source) {
+        Board board = source.getBoard();
+        GameState gameState = new GameState();
+        gameState.setGameId(source.getGameId());
+        gameState.setBoard(new Board(board.getWhite(), board.getBlack(), board.getKings()));
+        gameState.setCurrentPlayer(source.getCurrentPlayer());
+        gameState.setWhitePiecesLeft(source.getWhitePiecesLeft());
+        gameState.setBlackPiecesLeft(source.getBlackPiecesLeft());
+        gameState.setNoCapturesCounter(source.getNoCapturesCounter());
+        gameState.setLastCaptureRow(source.getLastCaptureRow());
+        gameState.setLastCaptureCol(source.getLastCaptureCol());
+        gameState.setNumberOfPositions(new PositionCounter());
+        return gameState;
+    }
+
+    private static void place(Board board, Color color, PieceType type, int... coordinates) {
+        for (int i = 0; i < coordinates.length; i += 2) {
+            board.set(coordinates[i], coordinates[i + 1], new Piece(color, type));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package pw.checkers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameEndManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.message.PossibilitiesOutputMessage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRulesBenchmark {
+
+    @Param
+    private BenchmarkPosition position;
+
+    private GameRules gameRules;
+    private GameState gameState;
+    private GameState afterFirstMove;
+    private Move firstMove;
+    private int fromRow;
+    private int fromCol;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameRules = new GameRules();
+        BoardManager boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        gameState = position.create();
+
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, Color.WHITE);
+        fromRow = Board.toRow(legalMoves.getFrom(0));
+        fromCol = Board.toCol(legalMoves.getFrom(0));
+        firstMove = new Move(fromRow, fromCol, Board.toRow(legalMoves.getTo(0)), Board.toCol(legalMoves.getTo(0)));
+
+        afterFirstMove = BenchmarkPosition.copy(gameState);
+        MoveOutputMessage response = new MoveOutputMessage();
+        response.setMove(firstMove);
+        boardManager.makeMove(afterFirstMove, response);
+    }
+
+    @Benchmark
+    public PossibilitiesOutputMessage getPossibleMoves() {
+        return gameRules.getPossibleMoves(gameState, fromRow, fromCol);
+    }
+
+    @Benchmark
+    public LegalMoves generateLegalMovesUncached() {
+        gameState.setWhiteLegalMoves(null);
+        return gameRules.getLegalMoves(gameState, Color.WHITE);
+    }
+
+    @Benchmark
+    public boolean playerHasMoves() {
+        return gameRules.playerHasMoves(gameState, Color.WHITE);
+    }
+
+    @Benchmark
+    public boolean hasMoreTakes() {
+        return gameRules.hasMoreTakes(afterFirstMove, firstMove);
+    }
+
+    @Benchmark
+    public boolean isDraw() {
+        return gameRules.isDraw(gameState);
+    }
+}
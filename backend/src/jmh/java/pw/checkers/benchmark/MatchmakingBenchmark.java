@@ -0,0 +1,58 @@
+package pw.checkers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.message.User;
+import pw.checkers.sockets.services.MatchmakingQueue;
+import pw.checkers.utils.MatchedPair;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * One matchmaking tick over a full queue of players with random ratings; the queue is refilled before every
+ * invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatchmakingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int players;
+
+    private MatchmakingQueue matchmakingQueue;
+    private WebSocketSession[] sessions;
+    private User[] users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        sessions = new WebSocketSession[players];
+        users = new User[players];
+        for (int i = 0; i < players; i++) {
+            sessions[i] = mock(WebSocketSession.class, withSettings().stubOnly());
+            users[i] = new User("player" + i, random.nextInt(800, 2400));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillQueue() {
+        matchmakingQueue = new MatchmakingQueue();
+        for (int i = 0; i < players; i++) {
+            matchmakingQueue.enqueue(sessions[i], users[i]);
+        }
+    }
+
+    @Benchmark
+    public List<MatchedPair> pairWaitingPlayers() {
+        return matchmakingQueue.pairWaitingPlayers();
+    }
+}
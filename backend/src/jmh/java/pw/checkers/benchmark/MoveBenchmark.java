@@ -0,0 +1,61 @@
+package pw.checkers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameEndManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveValidator;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+    @Param
+    private BenchmarkPosition position;
+
+    private BoardManager boardManager;
+    private MoveValidator moveValidator;
+    private GameState gameState;
+    private Move move;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameRules gameRules = new GameRules();
+        boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        moveValidator = new MoveValidator(boardManager, gameRules);
+        gameState = position.create();
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, Color.WHITE);
+        move = new Move(Board.toRow(legalMoves.getFrom(0)), Board.toCol(legalMoves.getFrom(0)),
+                Board.toRow(legalMoves.getTo(0)), Board.toCol(legalMoves.getTo(0)));
+    }
+
+    @Benchmark
+    public boolean validateMove() {
+        return moveValidator.validateMove(gameState, move);
+    }
+
+    /** Baseline for {@link #makeMove()}, which has to start every invocation from a fresh copy. */
+    @Benchmark
+    public GameState copyState() {
+        return BenchmarkPosition.copy(gameState);
+    }
+
+    @Benchmark
+    public MoveOutputMessage makeMove() {
+        MoveOutputMessage response = new MoveOutputMessage();
+        response.setMove(move);
+        return boardManager.makeMove(BenchmarkPosition.copy(gameState), response);
+    }
+}
@@ -0,0 +1,60 @@
+package pw.checkers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.checkers.data.GameState;
+import pw.checkers.game.*;
+import pw.checkers.utils.AnalysisResult;
+import pw.checkers.utils.EvaluationWeights;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to reach a fixed depth with Lazy SMP, starting from an empty transposition table every time. The speedup of
+ * a thread count is the score for one thread divided by its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    @Param({"MIDGAME"})
+    private BenchmarkPosition position;
+
+    @Param({"12"})
+    private int depth;
+
+    private TranspositionTable transpositionTable;
+    private ParallelSearch parallelSearch;
+    private GameState gameState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameRules gameRules = new GameRules();
+        transpositionTable = new TranspositionTable(64);
+        AlphaBetaSearch search = new AlphaBetaSearch(gameRules, new MoveEngine(gameRules), new Evaluator(EvaluationWeights.DEFAULTS),
+                transpositionTable, new EndgameTablebase());
+        parallelSearch = new ParallelSearch(search, threads);
+        gameState = position.create();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        transpositionTable.clear();
+    }
+
+    @Benchmark
+    public AnalysisResult analyze() throws InterruptedException {
+        return parallelSearch.analyze(gameState, Long.MAX_VALUE / 4, depth, threads).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        parallelSearch.shutdown();
+    }
+}
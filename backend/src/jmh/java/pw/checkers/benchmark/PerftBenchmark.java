@@ -0,0 +1,52 @@
+package pw.checkers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pw.checkers.data.GameState;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveEngine;
+import pw.checkers.game.Perft;
+import pw.checkers.utils.PerftResult;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole perft runs from the opening; divide the node count in {@link #NODES} by the score to get nodes per second.
+ * The count is checked once before timing starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PerftBenchmark {
+    /** Counts plies, so from depth 7 on they are below the published counts, which take a multi-jump as one move. */
+    private static final Map<Integer, Long> NODES = Map.of(7, 179_255L, 8, 838_248L, 9, 3_866_526L, 10, 17_570_155L);
+
+    @Param({"8", "10"})
+    private int depth;
+
+    @Param({"true"})
+    private boolean bulk;
+
+    private Perft perft;
+    private GameState gameState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameRules gameRules = new GameRules();
+        perft = new Perft(gameRules, new MoveEngine(gameRules));
+        gameState = BenchmarkPosition.OPENING.create();
+        Long expected = NODES.get(depth);
+        long nodes = perft.run(gameState, depth, bulk).nodes();
+        if (expected != null && nodes != expected) {
+            throw new IllegalStateException("perft(" + depth + ") found " + nodes + " nodes, expected " + expected);
+        }
+    }
+
+    @Benchmark
+    public PerftResult perft() {
+        return perft.run(gameState, depth, bulk);
+    }
+}
@@ -0,0 +1,65 @@
+package pw.checkers.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.GameEndReason;
+
+import java.time.Instant;
+
+/**
+ * A finished game: who played it, how it ended and its steps in the two-byte {@link MoveHistory} layout. Ids come
+ * from a sequence handed out {@value #ID_ALLOCATION} at a time, so a batch of inserts needs no extra round trips.
+ */
+@Entity
+@Table(name = "archived_game", indexes = {
+        @Index(name = "archived_game_white_player", columnList = "white_player"),
+        @Index(name = "archived_game_black_player", columnList = "black_player"),
+        @Index(name = "archived_game_finished_at", columnList = "finished_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedGame {
+    static final int ID_ALLOCATION = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "archived_game_seq")
+    @SequenceGenerator(name = "archived_game_seq", sequenceName = "archived_game_seq", allocationSize = ID_ALLOCATION)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false, length = 36)
+    private String gameId;
+
+    @Column(name = "white_player", length = 64)
+    private String whitePlayer;
+
+    @Column(name = "black_player", length = 64)
+    private String blackPlayer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private Color winner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "end_reason", length = 32)
+    private GameEndReason endReason;
+
+    @Column(name = "finished_at", nullable = false)
+    private Instant finishedAt;
+
+    @Column(nullable = false, length = 16384)
+    private byte[] moves;
+}
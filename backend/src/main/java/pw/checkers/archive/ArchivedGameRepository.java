@@ -0,0 +1,33 @@
+package pw.checkers.archive;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface ArchivedGameRepository extends JpaRepository<ArchivedGame, Long> {
+    int STREAM_FETCH_SIZE = 256;
+
+    /**
+     * Finished games of {@code player} (either color) in {@code [from, to)}, oldest first. A {@code null} argument
+     * does not filter. Rows are read through a cursor {@value #STREAM_FETCH_SIZE} at a time, so the stream must be
+     * consumed and closed inside a transaction.
+     */
+    @Query("select g from ArchivedGame g"
+            + " where (:player is null or g.whitePlayer = :player or g.blackPlayer = :player)"
+            + " and (cast(:from as Instant) is null or g.finishedAt >= :from)"
+            + " and (cast(:to as Instant) is null or g.finishedAt < :to)"
+            + " order by g.finishedAt, g.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<ArchivedGame> streamFinished(@Param("player") String player, @Param("from") Instant from, @Param("to") Instant to);
+}
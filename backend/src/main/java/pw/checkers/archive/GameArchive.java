@@ -0,0 +1,164 @@
+package pw.checkers.archive;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.ArchiveProperties;
+import pw.checkers.data.GameState;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind store for finished games. {@link #archive} only builds the row and offers it to a bounded queue, so
+ * the game mailbox never waits for the database; a single writer thread drains the queue and inserts whatever has
+ * piled up, up to {@code batchSize} rows per JDBC batch and transaction. Under a burst of game ends the batches fill
+ * up by themselves while the previous one is being written. When the queue is full the game is dropped and counted
+ * rather than holding up play.
+ */
+@Service
+public class GameArchive {
+    private static final Logger logger = LoggerFactory.getLogger(GameArchive.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ArchivedGameRepository repository;
+    private final BlockingQueue<ArchivedGame> queue;
+    private final int batchSize;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean closed;
+    private Thread writer;
+
+    @Autowired
+    public GameArchive(ArchivedGameRepository repository, ArchiveProperties archiveProperties, MeterRegistry meterRegistry) {
+        this(repository, archiveProperties);
+        FunctionCounter.builder("checkers.archive.games", written, LongAdder::sum).tag("result", "written").register(meterRegistry);
+        FunctionCounter.builder("checkers.archive.games", dropped, LongAdder::sum).tag("result", "dropped").register(meterRegistry);
+        FunctionCounter.builder("checkers.archive.games", failed, LongAdder::sum).tag("result", "failed").register(meterRegistry);
+        Gauge.builder("checkers.archive.pending", this, GameArchive::getPending).register(meterRegistry);
+    }
+
+    public GameArchive(ArchivedGameRepository repository, ArchiveProperties archiveProperties) {
+        this.repository = archiveProperties.enabled() ? repository : null;
+        this.queue = new ArrayBlockingQueue<>(Math.max(archiveProperties.queueCapacity(), 1));
+        this.batchSize = Math.max(archiveProperties.batchSize(), 1);
+    }
+
+    public boolean isEnabled() {
+        return repository != null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (repository == null || writer != null) {
+            return;
+        }
+        writer = Thread.ofPlatform().name("game-archive-writer").daemon(true).start(this::drain);
+    }
+
+    /**
+     * Queues a finished game for insertion. Must be called on the game's mailbox, since the step history is copied
+     * here. Returns false if the archive is disabled or its queue is full.
+     */
+    public boolean archive(GameState gameState, String whitePlayer, String blackPlayer) {
+        if (repository == null) {
+            return false;
+        }
+        ArchivedGame game = new ArchivedGame();
+        game.setGameId(gameState.getGameId());
+        game.setWhitePlayer(whitePlayer);
+        game.setBlackPlayer(blackPlayer);
+        game.setWinner(gameState.getWinner());
+        game.setEndReason(gameState.getGameEndReason());
+        game.setFinishedAt(Instant.now());
+        game.setMoves(gameState.getHistory().toBytes());
+        return enqueue(game);
+    }
+
+    public boolean enqueue(ArchivedGame game) {
+        if (repository == null) {
+            return false;
+        }
+        if (!queue.offer(game)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Stops the writer after it has inserted everything queued so far.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drain() {
+        List<ArchivedGame> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ArchivedGame first;
+            try {
+                first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ArchivedGame> batch) {
+        try {
+            repository.saveAll(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            logger.error("Could not archive {} finished games", batch.size(), e);
+        }
+    }
+}
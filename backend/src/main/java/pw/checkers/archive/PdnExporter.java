@@ -0,0 +1,140 @@
+package pw.checkers.archive;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.PackedMove;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes archived games as PDN. Games are read through a database cursor and each one is detached once written, so
+ * neither the result set nor the persistence context grows with the export; the moves are transcoded straight from
+ * the stored {@link MoveHistory} bytes into a fixed-size output buffer.
+ * <p>
+ * Squares are numbered 1 to 32 from black's side, as in English draughts, but white moves first here, so every game
+ * carries a FEN tag for its start position. Consecutive capture steps of the same piece are joined into one
+ * multi-jump such as {@code 22x15x6}, using the capture flag recorded with each step.
+ */
+@Service
+public class PdnExporter {
+    public static final String INITIAL_FEN = "W:W21-32:B1-12";
+
+    private static final int BUFFER_CHARS = 1 << 16;
+    private static final int LINE_WIDTH = 79;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd").withZone(ZoneOffset.UTC);
+
+    private final ArchivedGameRepository repository;
+    private final EntityManager entityManager;
+
+    public PdnExporter(ArchivedGameRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Streams the games of {@code player} finished in {@code [from, to)} to {@code out} and returns how many were
+     * written. {@code null} arguments do not filter.
+     */
+    @Transactional(readOnly = true)
+    public long export(String player, Instant from, Instant to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        long games = 0;
+        try (Stream<ArchivedGame> stream = repository.streamFinished(player, from, to)) {
+            Iterator<ArchivedGame> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                ArchivedGame game = iterator.next();
+                write(writer, game);
+                entityManager.detach(game);
+                games++;
+            }
+        }
+        writer.flush();
+        return games;
+    }
+
+    private static void write(Writer out, ArchivedGame game) throws IOException {
+        String result = result(game.getWinner());
+        tag(out, "Event", "Online game");
+        tag(out, "Date", game.getFinishedAt() == null ? "????.??.??" : DATE.format(game.getFinishedAt()));
+        tag(out, "White", game.getWhitePlayer() == null ? "?" : game.getWhitePlayer());
+        tag(out, "Black", game.getBlackPlayer() == null ? "?" : game.getBlackPlayer());
+        tag(out, "Result", result);
+        tag(out, "FEN", INITIAL_FEN);
+        tag(out, "GameId", game.getGameId());
+        if (game.getEndReason() != null) {
+            tag(out, "Termination", game.getEndReason().getValue());
+        }
+        out.write('\n');
+        writeMoves(out, game.getMoves(), result);
+        out.write("\n\n");
+    }
+
+    private static void writeMoves(Writer out, byte[] moves, String result) throws IOException {
+        StringBuilder token = new StringBuilder(32);
+        int column = 0;
+        int turn = 0;
+        int last = -1;
+        for (int i = 0; i + 1 < moves.length; i += 2) {
+            int step = ((moves[i] & 0xFF) << 8) | (moves[i + 1] & 0xFF);
+            if (last >= 0 && PackedMove.isCapture(last) && PackedMove.isCapture(step) && PackedMove.from(step) == PackedMove.to(last)) {
+                token.append('x').append(PackedMove.to(step) + 1);
+            } else {
+                column = flush(out, token, column);
+                if (turn % 2 == 0) {
+                    token.append(turn / 2 + 1).append(". ");
+                }
+                token.append(PackedMove.from(step) + 1).append(PackedMove.isCapture(step) ? 'x' : '-').append(PackedMove.to(step) + 1);
+                turn++;
+            }
+            last = step;
+        }
+        column = flush(out, token, column);
+        token.append(result);
+        flush(out, token, column);
+    }
+
+    private static int flush(Writer out, StringBuilder token, int column) throws IOException {
+        if (token.isEmpty()) {
+            return column;
+        }
+        if (column > 0 && column + 1 + token.length() > LINE_WIDTH) {
+            out.write('\n');
+            column = 0;
+        } else if (column > 0) {
+            out.write(' ');
+            column++;
+        }
+        out.append(token);
+        column += token.length();
+        token.setLength(0);
+        return column;
+    }
+
+    private static String result(Color winner) {
+        if (winner == null) {
+            return "1/2-1/2";
+        }
+        return winner == Color.WHITE ? "1-0" : "0-1";
+    }
+
+    private static void tag(Writer out, String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        out.write("\"]\n");
+    }
+}
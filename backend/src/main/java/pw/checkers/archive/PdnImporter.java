@@ -0,0 +1,148 @@
+package pw.checkers.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.ArchiveProperties;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveValidator;
+import pw.checkers.utils.ImportResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads PDN files into the game archive. One thread splits the input into games and hands them out in chunks of
+ * {@code batchSize} to a pool of workers, which parse and replay them with a {@link PdnReplayer} and insert the games
+ * they accept as one batch. Only a fixed number of chunks is in flight at a time, so the input is read no faster than
+ * it is archived and memory does not grow with the file.
+ */
+@Service
+public class PdnImporter {
+    private static final Logger logger = LoggerFactory.getLogger(PdnImporter.class);
+    private static final long PROGRESS_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private final ArchivedGameRepository repository;
+    private final PdnReplayer replayer;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int threads;
+
+    public PdnImporter(ArchivedGameRepository repository, MoveValidator moveValidator, BoardManager boardManager,
+                       GameRules gameRules, ArchiveProperties archiveProperties) {
+        this.repository = repository;
+        this.replayer = new PdnReplayer(moveValidator, boardManager, gameRules);
+        this.enabled = archiveProperties.enabled();
+        this.batchSize = Math.max(archiveProperties.batchSize(), 1);
+        this.threads = archiveProperties.importThreads() > 0 ? archiveProperties.importThreads() : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Imports every game in {@code input} and returns once all accepted games are in the archive.
+     */
+    public ImportResult importGames(Reader input) throws IOException {
+        if (!enabled) {
+            throw new IllegalStateException("The game archive is disabled");
+        }
+        long start = System.nanoTime();
+        LongAdder imported = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Semaphore inFlight = new Semaphore(threads * CHUNKS_PER_THREAD);
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * CHUNKS_PER_THREAD),
+                Thread.ofPlatform().name("pdn-import-", 0).daemon(true).factory());
+        long games = 0;
+        long nextProgress = start + PROGRESS_NANOS;
+        try (PdnReader reader = new PdnReader(input)) {
+            List<String> chunk = new ArrayList<>(batchSize);
+            String game;
+            while ((game = reader.next()) != null) {
+                chunk.add(game);
+                games++;
+                if (chunk.size() == batchSize) {
+                    submit(workers, inFlight, chunk, imported, rejected, failed);
+                    chunk = new ArrayList<>(batchSize);
+                }
+                if (System.nanoTime() > nextProgress) {
+                    logger.info("Read {} games, {} games/s", games, perSecond(games, System.nanoTime() - start));
+                    nextProgress += PROGRESS_NANOS;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(workers, inFlight, chunk, imported, rejected, failed);
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        ImportResult result = new ImportResult(games, imported.sum(), rejected.sum(), failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(nanos), perSecond(games, nanos));
+        logger.info("Imported {} of {} games ({} rejected, {} failed) in {} ms, {} games/s",
+                result.imported(), games, result.rejected(), result.failed(), result.millis(), result.gamesPerSecond());
+        return result;
+    }
+
+    private void submit(ThreadPoolExecutor workers, Semaphore inFlight, List<String> chunk,
+                        LongAdder imported, LongAdder rejected, LongAdder failed) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing", e);
+        }
+        workers.execute(() -> {
+            try {
+                List<ArchivedGame> accepted = new ArrayList<>(chunk.size());
+                for (String text : chunk) {
+                    ArchivedGame game = toArchivedGame(text);
+                    if (game == null) {
+                        rejected.increment();
+                    } else {
+                        accepted.add(game);
+                    }
+                }
+                try {
+                    repository.saveAll(accepted);
+                    imported.add(accepted.size());
+                } catch (RuntimeException e) {
+                    failed.add(accepted.size());
+                    logger.error("Could not archive {} imported games", accepted.size(), e);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Parses and replays one game, or returns {@code null} if it cannot be read, does not start from the initial
+     * position, has an illegal move or ends differently from its result.
+     */
+    private ArchivedGame toArchivedGame(String text) {
+        try {
+            return replayer.replay(PdnReader.parse(text));
+        } catch (RuntimeException e) {
+            logger.debug("Rejected game: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static double perSecond(long games, long nanos) {
+        return nanos == 0 ? 0 : Math.round(games * 1e10 / nanos) / 10.0;
+    }
+}
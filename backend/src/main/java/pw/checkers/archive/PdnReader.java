@@ -0,0 +1,199 @@
+package pw.checkers.archive;
+
+import pw.checkers.utils.PdnGame;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a PDN stream into the text of its games, one game at a time, and parses that text into a {@link PdnGame}.
+ * Splitting only looks at line starts, so it is cheap enough for a single thread to feed several parsing and
+ * replaying workers; a game ends where a tag line follows its move text.
+ * <p>
+ * Parsing keeps tags and moves and skips move numbers, comments, variations and annotations.
+ */
+public class PdnReader implements Closeable {
+    private static final int BUFFER_CHARS = 1 << 16;
+    private static final Set<String> RESULTS = Set.of("1-0", "0-1", "1/2-1/2", "2-0", "0-2", "1-1", "0-0", "*");
+
+    private final BufferedReader reader;
+    private final StringBuilder game = new StringBuilder(4096);
+    private String nextTagLine;
+
+    public PdnReader(Reader reader) {
+        this.reader = new BufferedReader(reader, BUFFER_CHARS);
+    }
+
+    /**
+     * Returns the text of the next game, or {@code null} at the end of the input.
+     */
+    public String next() throws IOException {
+        game.setLength(0);
+        if (nextTagLine != null) {
+            game.append(nextTagLine).append('\n');
+            nextTagLine = null;
+        }
+        boolean moveText = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.strip();
+            if (!trimmed.isEmpty() && trimmed.charAt(0) == '\uFEFF') {
+                trimmed = trimmed.substring(1);
+            }
+            if (trimmed.startsWith("[")) {
+                if (moveText) {
+                    nextTagLine = trimmed;
+                    return game.toString();
+                }
+            } else if (!trimmed.isEmpty()) {
+                moveText = true;
+            }
+            game.append(trimmed).append('\n');
+        }
+        return game.toString().isBlank() ? null : game.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses the text of one game. Throws {@link IllegalArgumentException} on anything that is neither a tag, a
+     * move, a move number, a result nor a comment, variation or annotation.
+     */
+    public static PdnGame parse(String text) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        String result = null;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '[') {
+                i = parseTag(text, i, tags);
+            } else if (c == '{') {
+                i = skipPast(text, i, '}');
+            } else if (c == ';') {
+                i = skipPast(text, i, '\n');
+            } else if (c == '(') {
+                i = skipVariation(text, i);
+            } else {
+                int end = i;
+                while (end < length && !isDelimiter(text.charAt(end))) {
+                    end++;
+                }
+                String token = text.substring(i, end);
+                i = end;
+                if (RESULTS.contains(token)) {
+                    result = token;
+                    continue;
+                }
+                String move = stripAnnotation(stripMoveNumber(token));
+                if (move.isEmpty() || move.charAt(0) == '$') {
+                    continue;
+                }
+                if (!isMove(move)) {
+                    throw new IllegalArgumentException("Unexpected token " + token);
+                }
+                moves.add(move);
+            }
+        }
+        return new PdnGame(tags, moves, result);
+    }
+
+    private static int parseTag(String text, int start, Map<String, String> tags) {
+        int nameEnd = start + 1;
+        while (nameEnd < text.length() && !Character.isWhitespace(text.charAt(nameEnd)) && text.charAt(nameEnd) != '"') {
+            nameEnd++;
+        }
+        int quote = text.indexOf('"', nameEnd);
+        if (quote < 0) {
+            throw new IllegalArgumentException("Malformed tag at " + start);
+        }
+        StringBuilder value = new StringBuilder();
+        int i = quote + 1;
+        for (; i < text.length() && text.charAt(i) != '"'; i++) {
+            if (text.charAt(i) == '\\' && i + 1 < text.length()) {
+                i++;
+            }
+            value.append(text.charAt(i));
+        }
+        int close = text.indexOf(']', i);
+        if (close < 0) {
+            throw new IllegalArgumentException("Malformed tag at " + start);
+        }
+        tags.put(text.substring(start + 1, nameEnd), value.toString());
+        return close + 1;
+    }
+
+    private static int skipPast(String text, int start, char end) {
+        int index = text.indexOf(end, start + 1);
+        return index < 0 ? text.length() : index + 1;
+    }
+
+    private static int skipVariation(String text, int start) {
+        int depth = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                i = skipPast(text, i, '}') - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return text.length();
+    }
+
+    private static boolean isDelimiter(char c) {
+        return Character.isWhitespace(c) || c == '{' || c == '(' || c == ';' || c == '[';
+    }
+
+    private static String stripMoveNumber(String token) {
+        int i = 0;
+        while (i < token.length() && Character.isDigit(token.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == token.length() || token.charAt(i) != '.') {
+            return token;
+        }
+        while (i < token.length() && token.charAt(i) == '.') {
+            i++;
+        }
+        return token.substring(i);
+    }
+
+    private static String stripAnnotation(String token) {
+        int end = token.length();
+        while (end > 0 && "!?*+".indexOf(token.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return token.substring(0, end);
+    }
+
+    private static boolean isMove(String move) {
+        boolean digit = false;
+        for (int i = 0; i < move.length(); i++) {
+            char c = move.charAt(i);
+            if (Character.isDigit(c)) {
+                digit = true;
+            } else if ((c == '-' || c == 'x') && digit && i + 1 < move.length()) {
+                digit = false;
+            } else {
+                return false;
+            }
+        }
+        return digit && (move.indexOf('-') > 0 || move.indexOf('x') > 0);
+    }
+}
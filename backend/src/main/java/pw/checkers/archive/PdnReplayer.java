@@ -0,0 +1,263 @@
+package pw.checkers.archive;
+
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.GameEndReason;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveValidator;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.PdnGame;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Replays a parsed PDN game through {@link MoveValidator} and {@link BoardManager} into an {@link ArchivedGame}.
+ * <p>
+ * Games must start from the initial position. English draughts files have black, on squares 1-12, moving first;
+ * since white moves first here, such games are turned by 180 degrees and their colors swapped. Games whose FEN tag
+ * has white moving first, as written by {@link PdnExporter}, are taken as they are. Captures may list only their
+ * first and last square; the jumps in between are looked up among the legal moves.
+ */
+public class PdnReplayer {
+    private static final int SQUARES = 32;
+    private static final int MAX_STEPS = 8192;
+    private static final int MAX_NAME = 64;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    private final MoveValidator moveValidator;
+    private final BoardManager boardManager;
+    private final GameRules gameRules;
+
+    public PdnReplayer(MoveValidator moveValidator, BoardManager boardManager, GameRules gameRules) {
+        this.moveValidator = moveValidator;
+        this.boardManager = boardManager;
+        this.gameRules = gameRules;
+    }
+
+    /**
+     * Replays {@code pdn} and returns it as an archived game, or throws {@link IllegalArgumentException} if it does
+     * not start from the initial position, has an illegal move or ends differently from its result.
+     */
+    public ArchivedGame replay(PdnGame pdn) {
+        Map<String, String> tags = pdn.tags();
+        String gameType = tags.get("GameType");
+        if (gameType != null && !gameType.strip().startsWith("21")) {
+            throw new IllegalArgumentException("Unsupported game type " + gameType);
+        }
+        boolean turned = !whiteMovesFirst(tags.get("FEN"));
+        Color claimed = winner(pdn.result() != null ? pdn.result() : tags.getOrDefault("Result", "*"), turned);
+
+        GameState gameState = GameState.initial();
+        for (String move : pdn.moves()) {
+            if (gameState.isFinished()) {
+                throw new IllegalArgumentException("Move " + move + " after the end of the game");
+            }
+            play(gameState, move, turned);
+        }
+        if (gameState.isFinished() && gameState.getWinner() != claimed) {
+            throw new IllegalArgumentException("Result does not match the final position");
+        }
+        if (gameState.getHistory().size() > MAX_STEPS) {
+            throw new IllegalArgumentException("Too many steps");
+        }
+
+        ArchivedGame game = new ArchivedGame();
+        game.setGameId(gameId(tags.get("GameId")));
+        game.setWhitePlayer(name(tags.get(turned ? "Black" : "White")));
+        game.setBlackPlayer(name(tags.get(turned ? "White" : "Black")));
+        game.setWinner(claimed);
+        if (gameState.isFinished()) {
+            game.setEndReason(gameState.getGameEndReason());
+        } else if (claimed != null) {
+            game.setEndReason(GameEndReason.RESIGNATION);
+        }
+        game.setFinishedAt(date(tags.get("Date")));
+        game.setMoves(gameState.getHistory().toBytes());
+        return game;
+    }
+
+    private void play(GameState gameState, String move, boolean turned) {
+        boolean capture = move.indexOf('x') >= 0;
+        String[] squares = move.split("[-x]");
+        int from = square(squares[0], turned);
+        for (int i = 1; i < squares.length; i++) {
+            int to = square(squares[i], turned);
+            if (capture && !isJump(from, to)) {
+                for (int landing : jumpPath(gameState, from, to)) {
+                    step(gameState, from, landing);
+                    from = landing;
+                }
+            } else {
+                step(gameState, from, to);
+            }
+            from = to;
+        }
+        if (gameState.getLastCaptureRow() != null && !gameState.isFinished()) {
+            throw new IllegalArgumentException("Capture " + move + " stops before the end of the multi-jump");
+        }
+    }
+
+    private void step(GameState gameState, int from, int to) {
+        Move move = PackedMove.toMove(PackedMove.pack(from, to));
+        if (!moveValidator.validateMove(gameState, move)) {
+            throw new IllegalArgumentException("Illegal step " + (from + 1) + "-" + (to + 1));
+        }
+        MoveOutputMessage response = new MoveOutputMessage();
+        response.setMove(move);
+        boardManager.makeMove(gameState, response);
+    }
+
+    /**
+     * The landing squares of a multi-jump of the piece on {@code from} that ends on {@code to}, searched depth-first.
+     */
+    private List<Integer> jumpPath(GameState gameState, int from, int to) {
+        List<Integer> path = new ArrayList<>();
+        if (!findJumps(gameState, from, to, path)) {
+            throw new IllegalArgumentException("No capture from " + (from + 1) + " to " + (to + 1));
+        }
+        return path;
+    }
+
+    private boolean findJumps(GameState gameState, int from, int to, List<Integer> path) {
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+        if (!legalMoves.isCaptures()) {
+            return false;
+        }
+        for (int i = 0; i < legalMoves.getSize(); i++) {
+            if (legalMoves.getFrom(i) != from) {
+                continue;
+            }
+            int landing = legalMoves.getTo(i);
+            Move move = PackedMove.toMove(legalMoves.get(i));
+            GameState next = gameState.copy();
+            if (!moveValidator.validateMove(next, move)) {
+                continue;
+            }
+            MoveOutputMessage response = new MoveOutputMessage();
+            response.setMove(move);
+            boardManager.makeMove(next, response);
+            path.add(landing);
+            if (landing == to || (response.isHasMoreTakes() && findJumps(next, landing, to, path))) {
+                return true;
+            }
+            path.removeLast();
+        }
+        return false;
+    }
+
+    private static boolean isJump(int from, int to) {
+        return Math.abs(Board.toRow(from) - Board.toRow(to)) == 2 && Math.abs(Board.toCol(from) - Board.toCol(to)) == 2;
+    }
+
+    private static int square(String number, boolean turned) {
+        int square;
+        try {
+            square = Integer.parseInt(number) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed square " + number);
+        }
+        if (square < 0 || square >= SQUARES) {
+            throw new IllegalArgumentException("No square " + number);
+        }
+        return turned ? SQUARES - 1 - square : square;
+    }
+
+    /**
+     * Whether a FEN tag describes the initial position with white to move; {@code null} or the same position with
+     * black to move means English draughts. Any other position is rejected.
+     */
+    private static boolean whiteMovesFirst(String fen) {
+        if (fen == null) {
+            return false;
+        }
+        String[] fields = fen.replace(" ", "").replace(".", "").split(":");
+        int white = 0;
+        int black = 0;
+        for (int f = 1; f < fields.length; f++) {
+            if (fields[f].isEmpty()) {
+                continue;
+            }
+            int pieces = 0;
+            for (String item : fields[f].substring(1).split(",")) {
+                if (item.isEmpty()) {
+                    continue;
+                }
+                if (item.charAt(0) == 'K') {
+                    throw new IllegalArgumentException("Unsupported start position " + fen);
+                }
+                String[] range = item.split("-");
+                int first = square(range[0], false);
+                int last = range.length > 1 ? square(range[1], false) : first;
+                for (int square = first; square <= last; square++) {
+                    pieces |= 1 << square;
+                }
+            }
+            switch (fields[f].charAt(0)) {
+                case 'W' -> white |= pieces;
+                case 'B' -> black |= pieces;
+                default -> throw new IllegalArgumentException("Malformed FEN " + fen);
+            }
+        }
+        if (white != Board.INITIAL_WHITE || black != Board.INITIAL_BLACK || fields[0].length() != 1) {
+            throw new IllegalArgumentException("Unsupported start position " + fen);
+        }
+        return switch (fields[0].charAt(0)) {
+            case 'W' -> true;
+            case 'B' -> false;
+            default -> throw new IllegalArgumentException("Malformed FEN " + fen);
+        };
+    }
+
+    private static Color winner(String result, boolean turned) {
+        Color first = turned ? Color.BLACK : Color.WHITE;
+        Color second = turned ? Color.WHITE : Color.BLACK;
+        return switch (result) {
+            case "1-0", "2-0" -> first;
+            case "0-1", "0-2" -> second;
+            case "1/2-1/2", "1-1" -> null;
+            default -> throw new IllegalArgumentException("Unfinished or unknown result " + result);
+        };
+    }
+
+    private static String gameId(String tag) {
+        if (tag != null) {
+            try {
+                return UUID.fromString(tag).toString();
+            } catch (IllegalArgumentException ignored) {
+                // not one of ours, a new id is given below
+            }
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static String name(String tag) {
+        if (tag == null || tag.isBlank() || tag.equals("?")) {
+            return null;
+        }
+        return tag.length() > MAX_NAME ? tag.substring(0, MAX_NAME) : tag;
+    }
+
+    private static Instant date(String tag) {
+        if (tag != null) {
+            try {
+                return LocalDate.parse(tag, DATE).atStartOfDay(ZoneOffset.UTC).toInstant();
+            } catch (DateTimeParseException ignored) {
+                // unknown or partial dates fall back to the import time
+            }
+        }
+        return Instant.now();
+    }
+}
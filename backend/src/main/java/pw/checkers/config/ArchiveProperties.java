@@ -0,0 +1,18 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Game archive settings, bound from {@code checkers.archive.*}. The archive is off unless {@code enabled} is set, as
+ * with the default in-memory database every archived game would stay on the heap. Finished games wait in a queue of
+ * {@code queueCapacity} games and are inserted up to {@code batchSize} at a time; when the queue is full further
+ * games are not archived. PDN imports replay games on {@code importThreads} workers, 0 meaning one per processor.
+ */
+@ConfigurationProperties(prefix = "checkers.archive")
+public record ArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("16384") int queueCapacity,
+        @DefaultValue("0") int importThreads) {
+}
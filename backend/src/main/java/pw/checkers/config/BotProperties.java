@@ -0,0 +1,30 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import pw.checkers.utils.EvaluationWeights;
+
+import java.time.Duration;
+
+/**
+ * Settings of the built-in opponent, bound from {@code checkers.bot.*}. A player who has waited in the queue for
+ * {@code queueTimeout} is paired with the bot, which searches each reply for at most {@code moveTime} on a pool of
+ * {@code threads} threads with room for {@code queueCapacity} pending searches; with no room a search starts only on
+ * an idle thread.
+ */
+@ConfigurationProperties(prefix = "checkers.bot")
+public record BotProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30s") Duration queueTimeout,
+        @DefaultValue("500ms") Duration moveTime,
+        @DefaultValue("20") int maxDepth,
+        @DefaultValue("2") int threads,
+        @DefaultValue("64") int queueCapacity,
+        EvaluationWeights evaluation) {
+
+    public BotProperties {
+        if (evaluation == null) {
+            evaluation = EvaluationWeights.DEFAULTS;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Move hint settings, bound from {@code checkers.hint.*}. A hint is searched for at most {@code moveTime} on a pool
+ * of {@code threads} threads with room for {@code queueCapacity} pending searches; the last {@code cacheSize}
+ * positions asked about keep their answer.
+ */
+@ConfigurationProperties(prefix = "checkers.hint")
+public record HintProperties(
+        @DefaultValue("300ms") Duration moveTime,
+        @DefaultValue("16") int maxDepth,
+        @DefaultValue("1") int threads,
+        @DefaultValue("32") int queueCapacity,
+        @DefaultValue("4096") int cacheSize) {
+}
@@ -0,0 +1,21 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Move journal settings, bound from {@code checkers.journal.*}. Without a {@code directory} nothing is journaled and
+ * games do not survive a restart. Appended records reach the disk at the latest {@code flushInterval} later. Every
+ * {@code snapshotInterval} the games in progress are written to a snapshot so that recovery only replays the steps
+ * played since.
+ */
+@ConfigurationProperties(prefix = "checkers.journal")
+public record JournalProperties(
+        @DefaultValue("") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("10ms") Duration flushInterval,
+        @DefaultValue("1m") Duration snapshotInterval) {
+}
@@ -0,0 +1,17 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Game eviction settings, bound from {@code checkers.lifecycle.*}. An unfinished game is dropped from memory after
+ * {@code idleTtl} without activity, a finished one {@code finishedGrace} after its last activity, which leaves time
+ * to ask for a rematch.
+ */
+@ConfigurationProperties(prefix = "checkers.lifecycle")
+public record LifecycleProperties(
+        @DefaultValue("30m") Duration idleTtl,
+        @DefaultValue("5m") Duration finishedGrace) {
+}
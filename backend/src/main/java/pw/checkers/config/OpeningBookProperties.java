@@ -0,0 +1,12 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Opening book settings, bound from {@code checkers.book.*}. Without a {@code file} the bot searches from the
+ * first move.
+ */
+@ConfigurationProperties(prefix = "checkers.book")
+public record OpeningBookProperties(@DefaultValue("") String file) {
+}
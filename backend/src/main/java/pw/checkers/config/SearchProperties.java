@@ -0,0 +1,16 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings shared by every search over game positions, bound from {@code checkers.search.*}. At most
+ * {@code analysisThreads} threads search for analysis at once across all requests; 0 means half the processors.
+ */
+@ConfigurationProperties(prefix = "checkers.search")
+public record SearchProperties(@DefaultValue("16") int transpositionTableMb, @DefaultValue("0") int analysisThreads) {
+
+    public int analysisThreadLimit() {
+        return analysisThreads > 0 ? analysisThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,12 @@
+package pw.checkers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Endgame tablebase settings, bound from {@code checkers.tablebase.*}. Without a {@code directory} no tables are
+ * loaded. With {@code adjudicateDraws} a game ends as soon as the tables show it as drawn whoever moves.
+ */
+@ConfigurationProperties(prefix = "checkers.tablebase")
+public record TablebaseProperties(@DefaultValue("") String directory, @DefaultValue("false") boolean adjudicateDraws) {
+}
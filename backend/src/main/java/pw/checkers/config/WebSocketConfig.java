@@ -18,10 +18,11 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final MessageMapper messageMapper;
     private final MoveHandler moveHandler;
     private final PossibilitiesHandler possibilitiesHandler;
+    private final HintHandler hintHandler;
     private final RematchRequestHandler rematchRequestHandler;
     private final ResignHandler resignHandler;
 
-    public WebSocketConfig(SessionManager sessionManager, AcceptRematchHandler acceptRematchHandler, DeclineRematchHandler declineRematchHandler, JoinQueueHandler joinQueueHandler, LeaveHandler leaveHandler, LeaveQueueHandler leaveQueueHandler, MessageMapper messageMapper, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler) {
+    public WebSocketConfig(SessionManager sessionManager, AcceptRematchHandler acceptRematchHandler, DeclineRematchHandler declineRematchHandler, JoinQueueHandler joinQueueHandler, LeaveHandler leaveHandler, LeaveQueueHandler leaveQueueHandler, MessageMapper messageMapper, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, HintHandler hintHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler) {
         this.acceptRematchHandler = acceptRematchHandler;
         this.declineRematchHandler = declineRematchHandler;
         this.joinQueueHandler = joinQueueHandler;
@@ -30,6 +31,7 @@ public class WebSocketConfig implements WebSocketConfigurer {
         this.messageMapper = messageMapper;
         this.moveHandler = moveHandler;
         this.possibilitiesHandler = possibilitiesHandler;
+        this.hintHandler = hintHandler;
         this.rematchRequestHandler = rematchRequestHandler;
         this.resignHandler = resignHandler;
         this.sessionManager = sessionManager;
@@ -43,6 +45,7 @@ public class WebSocketConfig implements WebSocketConfigurer {
                 leaveQueueHandler,
                 moveHandler,
                 possibilitiesHandler,
+                hintHandler,
                 acceptRematchHandler,
                 leaveHandler,
                 declineRematchHandler,
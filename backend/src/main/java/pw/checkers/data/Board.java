@@ -0,0 +1,199 @@
+package pw.checkers.data;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.utils.Zobrist;
+
+import static pw.checkers.utils.Constants.BOARD_SIZE;
+
+/**
+ * Bitboard representation of the 32 playable squares. Bit {@code row * 4 + col / 2} is set in
+ * {@code white}/{@code black} when a piece of that color stands on the square and in {@code kings}
+ * when that piece is promoted. Row/column accessors adapt it to the 8x8 coordinates used on the wire.
+ * Every mutation also updates the Zobrist {@code hash} of the piece placement.
+ */
+@Getter
+@NoArgsConstructor
+public class Board {
+    public static final int INITIAL_WHITE = 0xFFF00000;
+    public static final int INITIAL_BLACK = 0x00000FFF;
+
+    private int white;
+    private int black;
+    private int kings;
+    private long hash;
+
+    public Board(int white, int black, int kings) {
+        this.white = white;
+        this.black = black;
+        this.kings = kings;
+        this.hash = Zobrist.hash(white, black, kings);
+    }
+
+    public static Board initial() {
+        return new Board(INITIAL_WHITE, INITIAL_BLACK, 0);
+    }
+
+    public static int toSquare(int row, int col) {
+        if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE || (row + col) % 2 == 0) {
+            return -1;
+        }
+        return row * 4 + col / 2;
+    }
+
+    public static int toRow(int square) {
+        return square >> 2;
+    }
+
+    public static int toCol(int square) {
+        return ((square & 3) << 1) + ((toRow(square) + 1) & 1);
+    }
+
+    public int getPieces(Color color) {
+        return color == Color.WHITE ? white : black;
+    }
+
+    public int getOccupied() {
+        return white | black;
+    }
+
+    public int getEmpty() {
+        return ~(white | black);
+    }
+
+    public Piece get(int row, int col) {
+        int square = toSquare(row, col);
+        if (square < 0) {
+            return null;
+        }
+        return get(square);
+    }
+
+    public Piece get(int square) {
+        int bit = 1 << square;
+        if ((getOccupied() & bit) == 0) {
+            return null;
+        }
+        Color color = (white & bit) != 0 ? Color.WHITE : Color.BLACK;
+        PieceType type = (kings & bit) != 0 ? PieceType.KING : PieceType.PAWN;
+        return new Piece(color, type);
+    }
+
+    public void set(int row, int col, Piece piece) {
+        int square = toSquare(row, col);
+        if (square < 0) {
+            throw new IllegalArgumentException("Square (" + row + ", " + col + ") is not playable");
+        }
+        set(square, piece);
+    }
+
+    public void set(int square, Piece piece) {
+        remove(square);
+        if (piece != null) {
+            put(square, piece.getColor(), piece.getType() == PieceType.KING);
+        }
+    }
+
+    public void put(int square, Color color, boolean king) {
+        remove(square);
+        int bit = 1 << square;
+        if (color == Color.WHITE) {
+            white |= bit;
+        } else {
+            black |= bit;
+        }
+        if (king) {
+            kings |= bit;
+        }
+        hash ^= Zobrist.key(color, king, square);
+    }
+
+    public void remove(int square) {
+        int bit = 1 << square;
+        if ((getOccupied() & bit) == 0) {
+            return;
+        }
+        hash ^= Zobrist.key((white & bit) != 0 ? Color.WHITE : Color.BLACK, (kings & bit) != 0, square);
+        white &= ~bit;
+        black &= ~bit;
+        kings &= ~bit;
+    }
+
+    public boolean isKing(int square) {
+        return (kings & (1 << square)) != 0;
+    }
+
+    public Color colorAt(int square) {
+        int bit = 1 << square;
+        if ((white & bit) != 0) {
+            return Color.WHITE;
+        }
+        return (black & bit) != 0 ? Color.BLACK : null;
+    }
+
+    public void move(int from, int to) {
+        int fromBit = 1 << from;
+        int toBit = 1 << to;
+        Color color = (white & fromBit) != 0 ? Color.WHITE : Color.BLACK;
+        boolean king = (kings & fromBit) != 0;
+        hash ^= Zobrist.key(color, king, from) ^ Zobrist.key(color, king, to);
+        if (color == Color.WHITE) {
+            white = (white & ~fromBit) | toBit;
+        } else {
+            black = (black & ~fromBit) | toBit;
+        }
+        if (king) {
+            kings = (kings & ~fromBit) | toBit;
+        }
+    }
+
+    public void promote(int square) {
+        int bit = 1 << square;
+        if ((kings & bit) != 0) {
+            return;
+        }
+        Color color = (white & bit) != 0 ? Color.WHITE : Color.BLACK;
+        hash ^= Zobrist.key(color, false, square) ^ Zobrist.key(color, true, square);
+        kings |= bit;
+    }
+
+    public void demote(int square) {
+        int bit = 1 << square;
+        if ((kings & bit) == 0) {
+            return;
+        }
+        Color color = (white & bit) != 0 ? Color.WHITE : Color.BLACK;
+        hash ^= Zobrist.key(color, true, square) ^ Zobrist.key(color, false, square);
+        kings &= ~bit;
+    }
+
+    public Board copy() {
+        Board copy = new Board();
+        copy.white = white;
+        copy.black = black;
+        copy.kings = kings;
+        copy.hash = hash;
+        return copy;
+    }
+
+    public void clear() {
+        white = 0;
+        black = 0;
+        kings = 0;
+        hash = 0;
+    }
+
+    @JsonValue
+    public Piece[][] toArray() {
+        Piece[][] board = new Piece[BOARD_SIZE][BOARD_SIZE];
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                board[row][col] = get(row, col);
+            }
+        }
+        return board;
+    }
+}
@@ -1,14 +1,16 @@
 package pw.checkers.data;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import pw.checkers.data.enums.Color;
 import pw.checkers.data.enums.GameEndReason;
+import pw.checkers.utils.Zobrist;
 
-import java.util.Map;
+import static pw.checkers.utils.Constants.AMOUNT_OF_PIECES;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,30 +18,94 @@ import java.util.Map;
 @Setter
 public class GameState {
     private String gameId;
-    private Piece[][] board;
+    private Board board;
     private Color currentPlayer;
     private boolean isFinished;
     private Color winner;
     private int whitePiecesLeft;
     private int blackPiecesLeft;
     private int noCapturesCounter;
-    private Map<String, Integer> numberOfPositions;
+    @JsonIgnore
+    private PositionCounter numberOfPositions;
     private Integer lastCaptureCol;
     private Integer lastCaptureRow;
     private GameEndReason gameEndReason;
+    @JsonIgnore
+    private MoveHistory history;
+    @JsonIgnore
+    private boolean archived;
+    @JsonIgnore
+    private LegalMoves whiteLegalMoves;
+    @JsonIgnore
+    private LegalMoves blackLegalMoves;
 
-    public String boardToString() {
-        StringBuilder response = new StringBuilder();
-        for (Piece[] row : board) {
-            for (Piece piece : row) {
-                if (piece == null) {
-                    response.append(".");
-                } else {
-                    response.append(piece);
-                }
+    public LegalMoves getLegalMoves(Color color) {
+        if (color == Color.WHITE) {
+            if (whiteLegalMoves == null) {
+                whiteLegalMoves = new LegalMoves();
             }
+            return whiteLegalMoves;
         }
-        response.append(currentPlayer);
-        return response.toString();
+        if (blackLegalMoves == null) {
+            blackLegalMoves = new LegalMoves();
+        }
+        return blackLegalMoves;
+    }
+
+    public MoveHistory getHistory() {
+        if (history == null) {
+            history = new MoveHistory();
+        }
+        return history;
+    }
+
+    @JsonIgnore
+    public int getStepsPlayed() {
+        return history == null ? 0 : history.size();
+    }
+
+    /**
+     * A game at the initial position with white to move, before any step.
+     */
+    public static GameState initial() {
+        GameState gameState = new GameState();
+        gameState.board = Board.initial();
+        gameState.currentPlayer = Color.WHITE;
+        gameState.whitePiecesLeft = AMOUNT_OF_PIECES;
+        gameState.blackPiecesLeft = AMOUNT_OF_PIECES;
+        gameState.numberOfPositions = new PositionCounter();
+        return gameState;
+    }
+
+    public GameState copy() {
+        GameState copy = new GameState();
+        copy.gameId = gameId;
+        copy.board = board == null ? null : board.copy();
+        copy.currentPlayer = currentPlayer;
+        copy.isFinished = isFinished;
+        copy.winner = winner;
+        copy.whitePiecesLeft = whitePiecesLeft;
+        copy.blackPiecesLeft = blackPiecesLeft;
+        copy.noCapturesCounter = noCapturesCounter;
+        copy.numberOfPositions = numberOfPositions == null ? null : numberOfPositions.copy();
+        copy.lastCaptureCol = lastCaptureCol;
+        copy.lastCaptureRow = lastCaptureRow;
+        copy.gameEndReason = gameEndReason;
+        copy.history = history == null ? null : history.copy();
+        return copy;
+    }
+
+    public long positionKey() {
+        return board.getHash() ^ Zobrist.side(currentPlayer);
+    }
+
+    /**
+     * The square of the piece that has to continue a multi-jump, or -1 when the side to move may move any piece.
+     */
+    public int forcedSquare() {
+        if (lastCaptureRow == null || lastCaptureCol == null) {
+            return -1;
+        }
+        return Board.toSquare(lastCaptureRow, lastCaptureCol);
     }
 }
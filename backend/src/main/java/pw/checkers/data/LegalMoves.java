@@ -0,0 +1,87 @@
+package pw.checkers.data;
+
+import lombok.Getter;
+import lombok.Setter;
+import pw.checkers.utils.PackedMove;
+
+/**
+ * All legal moves of one color in one position, as {@link PackedMove}s without flags. Generated once and
+ * kept on the {@link GameState} until the board hash it was generated for changes.
+ */
+public class LegalMoves {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] moves = new int[INITIAL_CAPACITY];
+    @Getter
+    private int size;
+    @Getter
+    @Setter
+    private boolean captures;
+    private boolean generated;
+    private long positionHash;
+
+    public boolean isGeneratedFor(long positionHash) {
+        return generated && this.positionHash == positionHash;
+    }
+
+    public void reset(long positionHash) {
+        this.positionHash = positionHash;
+        this.generated = true;
+        this.captures = false;
+        this.size = 0;
+    }
+
+    public void add(int from, int to) {
+        if (size == moves.length) {
+            int[] grown = new int[moves.length * 2];
+            System.arraycopy(moves, 0, grown, 0, size);
+            moves = grown;
+        }
+        moves[size++] = PackedMove.pack(from, to);
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int getFrom(int index) {
+        return PackedMove.from(moves[index]);
+    }
+
+    public int getTo(int index) {
+        return PackedMove.to(moves[index]);
+    }
+
+    public boolean contains(int from, int to) {
+        int move = PackedMove.pack(from, to);
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the moves starting on {@code from}, or every move when {@code from} is negative, into {@code into} and
+     * returns how many were copied. {@code into} must have room for {@link #getSize()} moves.
+     */
+    public int copyMovesFrom(int from, int[] into) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (from < 0 || getFrom(i) == from) {
+                into[count++] = moves[i];
+            }
+        }
+        return count;
+    }
+
+    public boolean hasMovesFrom(int from) {
+        for (int i = 0; i < size; i++) {
+            if (getFrom(i) == from) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
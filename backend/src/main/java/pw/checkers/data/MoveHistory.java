@@ -0,0 +1,69 @@
+package pw.checkers.data;
+
+import pw.checkers.utils.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * Every step played in a game, in order, each as a {@link PackedMove} with its capture and promotion flags. Stored
+ * as two bytes per step, which is also the layout of {@link #toBytes()}.
+ */
+public class MoveHistory {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private char[] steps;
+    private int size;
+
+    public MoveHistory() {
+        steps = new char[INITIAL_CAPACITY];
+    }
+
+    private MoveHistory(char[] steps, int size) {
+        this.steps = steps;
+        this.size = size;
+    }
+
+    public static MoveHistory fromBytes(byte[] bytes) {
+        char[] steps = new char[Math.max(bytes.length / 2, INITIAL_CAPACITY)];
+        for (int i = 0; i < bytes.length / 2; i++) {
+            steps[i] = (char) (((bytes[2 * i] & 0xFF) << 8) | (bytes[2 * i + 1] & 0xFF));
+        }
+        return new MoveHistory(steps, bytes.length / 2);
+    }
+
+    public void add(int move) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size * 2);
+        }
+        steps[size++] = (char) move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        return steps[index];
+    }
+
+    public int getFrom(int index) {
+        return PackedMove.from(steps[index]);
+    }
+
+    public int getTo(int index) {
+        return PackedMove.to(steps[index]);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[size * 2];
+        for (int i = 0; i < size; i++) {
+            bytes[2 * i] = (byte) (steps[i] >>> 8);
+            bytes[2 * i + 1] = (byte) steps[i];
+        }
+        return bytes;
+    }
+
+    public MoveHistory copy() {
+        return new MoveHistory(Arrays.copyOf(steps, Math.max(size, INITIAL_CAPACITY)), size);
+    }
+}
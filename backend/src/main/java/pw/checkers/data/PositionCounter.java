@@ -0,0 +1,136 @@
+package pw.checkers.data;
+
+import lombok.Getter;
+
+/**
+ * Open-addressing table from a 64-bit position hash to the number of times the position occurred.
+ * A slot is free while its count is zero, so no boxing and no per-entry objects are needed.
+ */
+public class PositionCounter {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys;
+    private int[] counts;
+    @Getter
+    private int size;
+    @Getter
+    private int maxCount;
+
+    public PositionCounter() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+    }
+
+    public int get(long key) {
+        int slot = findSlot(keys, counts, key);
+        return counts[slot];
+    }
+
+    public int increment(long key) {
+        int slot = findSlot(keys, counts, key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        int count = ++counts[slot];
+        maxCount = Math.max(maxCount, count);
+        if (size * 2 > keys.length) {
+            resize();
+        }
+        return count;
+    }
+
+    /**
+     * Undoes one {@link #increment(long)}. A key whose count drops to zero is deleted by shifting the rest of its
+     * probe run back, so lookups of other keys never stop early at the freed slot.
+     */
+    public void decrement(long key) {
+        int slot = findSlot(keys, counts, key);
+        if (counts[slot] == 0) {
+            return;
+        }
+        if (--counts[slot] > 0) {
+            return;
+        }
+        size--;
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (counts[next] != 0) {
+            int home = homeSlot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                counts[free] = counts[next];
+                counts[next] = 0;
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    public void restoreMaxCount(int maxCount) {
+        this.maxCount = maxCount;
+    }
+
+    public void put(long key, int count) {
+        int slot = findSlot(keys, counts, key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] = count;
+        maxCount = Math.max(maxCount, count);
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    public <E extends Exception> void forEach(PositionConsumer<E> consumer) throws E {
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                consumer.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    public PositionCounter copy() {
+        PositionCounter copy = new PositionCounter();
+        copy.keys = keys.clone();
+        copy.counts = counts.clone();
+        copy.size = size;
+        copy.maxCount = maxCount;
+        return copy;
+    }
+
+    private static int findSlot(long[] keys, int[] counts, long key) {
+        int mask = keys.length - 1;
+        int slot = homeSlot(key, mask);
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int homeSlot(long key, int mask) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    @FunctionalInterface
+    public interface PositionConsumer<E extends Exception> {
+        void accept(long key, int count) throws E;
+    }
+
+    private void resize() {
+        long[] newKeys = new long[keys.length * 2];
+        int[] newCounts = new int[counts.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                int slot = findSlot(newKeys, newCounts, keys[i]);
+                newKeys[slot] = keys[i];
+                newCounts[slot] = counts[i];
+            }
+        }
+        keys = newKeys;
+        counts = newCounts;
+    }
+}
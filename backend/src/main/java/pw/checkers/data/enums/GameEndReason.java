@@ -8,7 +8,8 @@ public enum GameEndReason {
     NO_MOVES("noMoves"),
     FIFTY_MOVES("fiftyMoves"),
     THREEFOLD_REPETITION("threefoldRepetition"),
-    RESIGNATION("resignation");
+    RESIGNATION("resignation"),
+    DEAD_DRAW("deadDraw");
 
     private final String value;
 
@@ -8,6 +8,7 @@ public enum MessageType {
     LEAVE_QUEUE("leaveQueue"),
     MOVE("move"),
     POSSIBILITIES("possibilities"),
+    HINT("hint"),
     REMATCH_REQUEST("rematchRequest"),
     ACCEPT_REMATCH("acceptRematch"),
     DECLINE_REMATCH("declineRematch"),
@@ -0,0 +1,267 @@
+package pw.checkers.game;
+
+import org.springframework.stereotype.Service;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.SearchResult;
+import pw.checkers.utils.Zobrist;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over {@link MoveEngine} apply/undo. Every jump of a multi-jump
+ * is its own ply but does not use up depth, and a position with captures pending is never cut off by the horizon,
+ * so the static {@link Evaluator} only sees quiet positions. The search stops at {@code maxDepth}, on a forced win or
+ * loss, or when the time budget runs out, in which case the deepest completed iteration decides the move.
+ * Results are shared with other searches through the {@link TranspositionTable}; win and loss scores are stored
+ * relative to the node, not the root, so they stay valid wherever the position is met again. Positions covered by
+ * the {@link EndgameTablebase} are scored from it without searching, as {@link #TABLEBASE_WIN} less the number of
+ * plies from the root to the end, so the fastest tablebase win is preferred wherever in the tree it is found.
+ * <p>
+ * A helper search (Lazy SMP) explores the same position for a main search on another thread: it starts at an offset
+ * depth with its root moves rotated, so it fills the shared table with lines the main search reaches later, and it
+ * runs until the shared stop flag is raised.
+ */
+@Service
+public class AlphaBetaSearch {
+    public static final int WIN = 100_000;
+    public static final int TABLEBASE_WIN = WIN / 2;
+    private static final int MAX_PLY = 128;
+    private static final int DECISIVE = TABLEBASE_WIN - MAX_PLY - EndgameTablebase.DISTANCE_MASK;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final GameRules gameRules;
+    private final MoveEngine moveEngine;
+    private final Evaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final EndgameTablebase endgameTablebase;
+
+    public AlphaBetaSearch(GameRules gameRules, MoveEngine moveEngine, Evaluator evaluator,
+                           TranspositionTable transpositionTable, EndgameTablebase endgameTablebase) {
+        this.gameRules = gameRules;
+        this.moveEngine = moveEngine;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.endgameTablebase = endgameTablebase;
+    }
+
+    public Optional<SearchResult> search(GameState gameState, long budgetNanos, int maxDepth) {
+        return search(gameState, budgetNanos, maxDepth, 0, new AtomicBoolean());
+    }
+
+    /**
+     * Searches as main search when {@code helper} is 0 and as the given helper otherwise. Every search sharing
+     * {@code stop} gives up as soon as it is set.
+     */
+    public Optional<SearchResult> search(GameState gameState, long budgetNanos, int maxDepth, int helper, AtomicBoolean stop) {
+        if (gameState.isFinished()) {
+            return Optional.empty();
+        }
+        if (helper == 0) {
+            transpositionTable.newSearch();
+        }
+        return new Search(gameState.copy(), System.nanoTime() + budgetNanos, helper, stop).run(Math.max(maxDepth, 1));
+    }
+
+    private class Search {
+        private final GameState gameState;
+        private final long deadline;
+        private final int helper;
+        private final AtomicBoolean stop;
+        private final int[][] moves = new int[MAX_PLY][];
+        private long nodes;
+        private boolean aborted;
+        private boolean timed;
+        private int rootBest;
+
+        private Search(GameState gameState, long deadline, int helper, AtomicBoolean stop) {
+            this.gameState = gameState;
+            this.deadline = deadline;
+            this.helper = helper;
+            this.stop = stop;
+            this.timed = helper > 0;
+        }
+
+        private Optional<SearchResult> run(int maxDepth) {
+            int rootCount = collectMoves(0);
+            if (rootCount == 0) {
+                return Optional.empty();
+            }
+            long entry = transpositionTable.probe(searchKey(gameState));
+            int best = entry != 0 && TranspositionTable.move(entry) != 0 ? TranspositionTable.move(entry) : moves[0][0];
+            int bestScore = 0;
+            int completedDepth = 0;
+            for (int depth = 1 + helper % 2; depth <= maxDepth; depth++) {
+                int score = root(depth, rootCount, best);
+                if (aborted) {
+                    break;
+                }
+                best = rootBest;
+                bestScore = score;
+                completedDepth = depth;
+                transpositionTable.store(searchKey(gameState), best, TranspositionTable.EXACT, depth, score);
+                timed = true;
+                if (rootCount == 1 || Math.abs(score) >= WIN - MAX_PLY) {
+                    break;
+                }
+            }
+            return Optional.of(new SearchResult(PackedMove.from(best), PackedMove.to(best), bestScore, completedDepth, nodes));
+        }
+
+        private int root(int depth, int count, int previousBest) {
+            int[] rootMoves = moves[0];
+            if (helper > 0) {
+                rotate(rootMoves, count, helper);
+            } else {
+                moveToFront(rootMoves, count, previousBest);
+            }
+            rootBest = rootMoves[0];
+            int alpha = -WIN - 1;
+            for (int i = 0; i < count; i++) {
+                int score = child(rootMoves[i], depth, 1, alpha, WIN + 1);
+                if (aborted) {
+                    return 0;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    rootBest = rootMoves[i];
+                }
+            }
+            return alpha;
+        }
+
+        private int negamax(int depth, int ply, int alpha, int beta) {
+            if (++nodes % TIME_CHECK_INTERVAL == 0 && timed && (stop.get() || System.nanoTime() > deadline)) {
+                aborted = true;
+                return 0;
+            }
+            if (ply >= MAX_PLY - 1) {
+                return evaluator.evaluate(gameState);
+            }
+            int tablebaseValue = endgameTablebase.probe(gameState);
+            if (tablebaseValue != EndgameTablebase.NOT_FOUND) {
+                return tablebaseScore(tablebaseValue, ply);
+            }
+            long key = searchKey(gameState);
+            long entry = transpositionTable.probe(key);
+            if (entry != 0 && TranspositionTable.depth(entry) >= Math.max(depth, 0)) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+            int count = collectMoves(ply);
+            if (count == 0) {
+                return -WIN + ply;
+            }
+            if (depth <= 0 && !gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer()).isCaptures()) {
+                return evaluator.evaluate(gameState);
+            }
+            if (entry != 0) {
+                moveToFront(moves[ply], count, TranspositionTable.move(entry));
+            }
+            int originalAlpha = alpha;
+            int best = -WIN - 1;
+            int bestMove = 0;
+            for (int i = 0; i < count; i++) {
+                int score = child(moves[ply][i], depth, ply + 1, alpha, beta);
+                if (aborted) {
+                    return 0;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMove = moves[ply][i];
+                }
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            transpositionTable.store(key, bestMove, bound, Math.max(depth, 0), toTable(best, ply));
+            return best;
+        }
+
+        private int child(int move, int depth, int ply, int alpha, int beta) {
+            long undo = moveEngine.apply(gameState, PackedMove.from(move), PackedMove.to(move));
+            int score;
+            if (moveEngine.isDrawByRule(gameState, undo)) {
+                score = 0;
+            } else if (MoveEngine.isTurnEnded(undo)) {
+                score = -negamax(depth - 1, ply, -beta, -alpha);
+            } else {
+                score = negamax(depth, ply, alpha, beta);
+            }
+            moveEngine.undo(gameState, undo);
+            return score;
+        }
+
+        private int collectMoves(int ply) {
+            LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+            if (moves[ply] == null || moves[ply].length < legalMoves.getSize()) {
+                moves[ply] = new int[Math.max(legalMoves.getSize(), 16)];
+            }
+            return legalMoves.copyMovesFrom(gameState.forcedSquare(), moves[ply]);
+        }
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 1; i < count; i++) {
+            if (moves[i] == move) {
+                moves[i] = moves[0];
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static void rotate(int[] moves, int count, int by) {
+        int shift = by % count;
+        for (int i = 0; i < shift; i++) {
+            int first = moves[0];
+            System.arraycopy(moves, 1, moves, 0, count - 1);
+            moves[count - 1] = first;
+        }
+    }
+
+    static long searchKey(GameState gameState) {
+        return gameState.positionKey() ^ Zobrist.continuation(gameState.forcedSquare());
+    }
+
+    private static int tablebaseScore(int value, int ply) {
+        if (EndgameTablebase.isWin(value)) {
+            return TABLEBASE_WIN - ply - EndgameTablebase.distance(value);
+        }
+        if (EndgameTablebase.isLoss(value)) {
+            return -TABLEBASE_WIN + ply + EndgameTablebase.distance(value);
+        }
+        return 0;
+    }
+
+    private static int toTable(int score, int ply) {
+        if (score >= DECISIVE) {
+            return score + ply;
+        }
+        if (score <= -DECISIVE) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= DECISIVE) {
+            return score - ply;
+        }
+        if (score <= -DECISIVE) {
+            return score + ply;
+        }
+        return score;
+    }
+}
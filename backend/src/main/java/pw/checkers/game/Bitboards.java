@@ -0,0 +1,35 @@
+package pw.checkers.game;
+
+/**
+ * Shifts a whole {@link pw.checkers.data.Board} mask one diagonal step at once. Even rows hold columns
+ * 1, 3, 5, 7 and odd rows columns 0, 2, 4, 6, so the shift distance depends on the row parity.
+ */
+public class Bitboards {
+    private static final int EVEN_ROWS = 0x0F0F0F0F;
+    private static final int ODD_ROWS = 0xF0F0F0F0;
+    private static final int LEFT_EDGE = 0x10101010;
+    private static final int RIGHT_EDGE = 0x08080808;
+
+    public static int shift(int mask, int deltaRow, int deltaCol) {
+        if (deltaRow < 0) {
+            return deltaCol < 0 ? upLeft(mask) : upRight(mask);
+        }
+        return deltaCol < 0 ? downLeft(mask) : downRight(mask);
+    }
+
+    public static int upLeft(int mask) {
+        return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+    }
+
+    public static int upRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+    }
+
+    public static int downLeft(int mask) {
+        return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+    }
+
+    public static int downRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5) | ((mask & ODD_ROWS) << 4);
+    }
+}
@@ -1,16 +1,16 @@
 package pw.checkers.game;
 
 import org.springframework.stereotype.Service;
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
 import pw.checkers.data.enums.Color;
-import pw.checkers.data.enums.PieceType;
 import pw.checkers.message.Move;
 import pw.checkers.message.MoveHelper;
 import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.utils.PackedMove;
 
 import static java.lang.Math.abs;
-import static pw.checkers.utils.Constants.*;
 
 @Service
 public class BoardManager {
@@ -23,28 +23,17 @@ public class BoardManager {
     }
 
     public void initializeBoard(GameState gameState){
-        Piece[][] board = new Piece[BOARD_SIZE][BOARD_SIZE];
-        for (int row = 0; row < 3; row++) {
-            for (int col = (row + 1) % 2; col < BOARD_SIZE; col+=2) {
-                board[row][col] = new Piece(Color.BLACK, PieceType.PAWN);
-            }
-        }
-        for (int row = 5; row < BOARD_SIZE; row++) {
-            for (int col = (row + 1) % 2; col < BOARD_SIZE; col+=2) {
-                board[row][col] = new Piece(Color.WHITE, PieceType.PAWN);
-            }
-        }
-        gameState.setBoard(board);
+        gameState.setBoard(Board.initial());
     }
 
     private void doTake(GameState gameState, MoveOutputMessage moveOutputMessage) {
         Move move = moveOutputMessage.getMove();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
         if (isCaptureMove(move)) {
             Piece capturedPiece = getCapturedPiece(move, board);
             int[] capturedPieceCoordinates = getCapturedPieceCoordinates(move);
             updateCountersAfterCapture(gameState, capturedPiece);
-            board[capturedPieceCoordinates[0]][capturedPieceCoordinates[1]] = null;
+            board.set(capturedPieceCoordinates[0], capturedPieceCoordinates[1], null);
             setMoveOutput(moveOutputMessage, capturedPieceCoordinates[0], capturedPieceCoordinates[1]);
         }
     }
@@ -64,13 +53,13 @@ public class BoardManager {
         gameState.setNoCapturesCounter(0);
     }
 
-    private Piece getCapturedPiece(Move move, Piece[][] board) {
+    private Piece getCapturedPiece(Move move, Board board) {
         int[] pieceCoordinates = getCapturedPieceCoordinates(move);
-        return board[pieceCoordinates[0]][pieceCoordinates[1]];
+        return board.get(pieceCoordinates[0], pieceCoordinates[1]);
     }
 
     private void setMoveOutput(MoveOutputMessage moveOutputMessage, int row, int col) {
-        moveOutputMessage.setCapturedPiece(new MoveHelper(row, col));
+        moveOutputMessage.setCapturedPiece(MoveHelper.ofSquare(Board.toSquare(row, col)));
         moveOutputMessage.setCaptured(true);
     }
 
@@ -78,17 +67,14 @@ public class BoardManager {
         return abs(move.getFromCol() - move.getToCol()) > 1 && abs(move.getFromRow() - move.getToRow()) > 1;
     }
 
-    private void promotePiece(Piece pawn, Move move, GameState gameState) {
+    private void promotePiece(Move move, GameState gameState) {
         if ((gameState.getCurrentPlayer().equals(Color.WHITE) && move.getToRow() == 0) || (gameState.getCurrentPlayer().equals(Color.BLACK) && move.getToRow() == 7)) {
-            pawn.setType(PieceType.KING);
+            gameState.getBoard().promote(Board.toSquare(move.getToRow(), move.getToCol()));
         }
     }
 
     private void movePiece(GameState gameState, Move move) {
-        Piece[][] board = gameState.getBoard();
-        Piece piece = board[move.getFromRow()][move.getFromCol()];
-        board[move.getToRow()][move.getToCol()] = piece;
-        board[move.getFromRow()][move.getFromCol()] = null;
+        gameState.getBoard().move(Board.toSquare(move.getFromRow(), move.getFromCol()), Board.toSquare(move.getToRow(), move.getToCol()));
     }
 
     private void incrementNoCapturesCounter(GameState gameState) {
@@ -96,9 +82,7 @@ public class BoardManager {
     }
 
     private void updatePositionsCounter(GameState gameState) {
-        String boardString = gameState.boardToString();
-        int posCounter = gameState.getNumberOfPositions().getOrDefault(boardString, 0);
-        gameState.getNumberOfPositions().put(boardString, posCounter + 1);
+        gameState.getNumberOfPositions().increment(gameState.positionKey());
     }
 
     private boolean handleAdditionalTakes(GameState gameState, Move move, MoveOutputMessage response) {
@@ -139,10 +123,14 @@ public class BoardManager {
 
     public MoveOutputMessage makeMove(GameState gameState, MoveOutputMessage response) {
         Move move = response.getMove();
+        int from = Board.toSquare(move.getFromRow(), move.getFromCol());
+        int to = Board.toSquare(move.getToRow(), move.getToCol());
+        boolean wasKing = gameState.getBoard().isKing(from);
         movePiece(gameState, move);
         incrementNoCapturesCounter(gameState);
-        Piece pawn = gameState.getBoard()[move.getToRow()][move.getToCol()];
-        promotePiece(pawn, move, gameState);
+        promotePiece(move, gameState);
+        int flags = (isCaptureMove(move) ? PackedMove.CAPTURE : 0) | (!wasKing && gameState.getBoard().isKing(to) ? PackedMove.PROMOTION : 0);
+        gameState.getHistory().add(PackedMove.pack(from, to, flags));
         doTake(gameState, response);
         updatePositionsCounter(gameState);
         if (handleAdditionalTakes(gameState, move, response)) return response;
@@ -0,0 +1,145 @@
+package pw.checkers.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.TablebaseProperties;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.Material;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of the tables written by {@link TablebaseGenerator}. Every file is memory-mapped once and probed in
+ * place, so a lookup is an index computation and one two-byte read, shared by all threads without locking.
+ * <p>
+ * A value holds the result for the side to move and the number of turns until the game ends with best play:
+ * {@link #WIN} or {@link #LOSS} in the top bits and the distance below them, or 0 for a draw.
+ */
+@Service
+public class EndgameTablebase {
+    private static final Logger logger = LoggerFactory.getLogger(EndgameTablebase.class);
+
+    public static final int NOT_FOUND = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 0x4000;
+    public static final int LOSS = 0x8000;
+    public static final int DISTANCE_MASK = 0x3FFF;
+    static final int MAGIC = 0x434B5442;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private final MappedByteBuffer[] tables = new MappedByteBuffer[1 << 16];
+    private final boolean adjudicateDraws;
+    private int maxPieces;
+
+    public EndgameTablebase() {
+        this.adjudicateDraws = false;
+    }
+
+    @Autowired
+    public EndgameTablebase(TablebaseProperties tablebaseProperties) {
+        this(tablebaseProperties.directory().isBlank() ? null : Path.of(tablebaseProperties.directory()),
+                tablebaseProperties.adjudicateDraws());
+    }
+
+    public EndgameTablebase(Path directory, boolean adjudicateDraws) {
+        this.adjudicateDraws = adjudicateDraws;
+        if (directory == null) {
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            logger.warn("Tablebase directory {} does not exist, endgames are searched normally", directory);
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".ctb")).forEach(this::map);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Loaded endgame tablebases for up to {} pieces from {}", maxPieces, directory);
+    }
+
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * Value of the position for the side to move, or {@link #NOT_FOUND} when no table covers it. Positions in the
+     * middle of a multi-jump are never covered.
+     */
+    public int probe(GameState gameState) {
+        if (gameState.getLastCaptureRow() != null) {
+            return NOT_FOUND;
+        }
+        return probe(gameState.getBoard(), gameState.getCurrentPlayer());
+    }
+
+    public int probe(Board board, Color sideToMove) {
+        if (Integer.bitCount(board.getOccupied()) > maxPieces) {
+            return NOT_FOUND;
+        }
+        MappedByteBuffer table = tables[TablebaseIndex.materialKey(board)];
+        if (table == null || hasPawnOnPromotionRow(board)) {
+            return NOT_FOUND;
+        }
+        return table.getChar(HEADER_BYTES + (int) TablebaseIndex.index(board, sideToMove) * 2);
+    }
+
+    /**
+     * Whether draw adjudication is enabled and the tables show the position as drawn with either side to move.
+     */
+    public boolean isDeadDraw(Board board) {
+        return adjudicateDraws && probe(board, Color.WHITE) == DRAW && probe(board, Color.BLACK) == DRAW;
+    }
+
+    public static boolean isWin(int value) {
+        return value != NOT_FOUND && (value & WIN) != 0;
+    }
+
+    public static boolean isLoss(int value) {
+        return value != NOT_FOUND && (value & LOSS) != 0;
+    }
+
+    public static int distance(int value) {
+        return value & DISTANCE_MASK;
+    }
+
+    private void map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer header = buffer.duplicate();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                logger.warn("Skipping {}: not a tablebase file of version {}", file, VERSION);
+                return;
+            }
+            int key = header.getInt();
+            int entries = header.getInt();
+            if (channel.size() != HEADER_BYTES + entries * 2L) {
+                logger.warn("Skipping {}: truncated", file);
+                return;
+            }
+            Material material = new Material(key & 0xF, (key >>> 4) & 0xF, (key >>> 8) & 0xF, (key >>> 12) & 0xF);
+            tables[key] = buffer;
+            maxPieces = Math.max(maxPieces, material.pieces());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean hasPawnOnPromotionRow(Board board) {
+        int pawns = ~board.getKings();
+        return (board.getWhite() & pawns & 0xF) != 0 || (board.getBlack() & pawns & 0xF0000000) != 0;
+    }
+}
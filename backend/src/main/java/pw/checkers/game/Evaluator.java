@@ -0,0 +1,66 @@
+package pw.checkers.game;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.BotProperties;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.EvaluationWeights;
+
+/**
+ * Static score of a position for the side to move, computed from the bitboards alone: material, how far pawns
+ * have advanced, pieces on the four central squares of rows 3 and 4, and pawns still guarding their own back rank.
+ */
+@Service
+public class Evaluator {
+    private static final int ROW_MASK = 0xF;
+    private static final int CENTER = centerMask();
+
+    private final EvaluationWeights weights;
+
+    @Autowired
+    public Evaluator(BotProperties botProperties) {
+        this(botProperties.evaluation());
+    }
+
+    public Evaluator(EvaluationWeights weights) {
+        this.weights = weights;
+    }
+
+    public int evaluate(GameState gameState) {
+        Board board = gameState.getBoard();
+        int kings = board.getKings();
+        int white = score(board.getWhite(), kings, Color.WHITE);
+        int black = score(board.getBlack(), kings, Color.BLACK);
+        return gameState.getCurrentPlayer() == Color.WHITE ? white - black : black - white;
+    }
+
+    private int score(int pieces, int kings, Color color) {
+        int pawns = pieces & ~kings;
+        int score = Integer.bitCount(pawns) * weights.pawn()
+                + Integer.bitCount(pieces & kings) * weights.king()
+                + Integer.bitCount(pieces & CENTER) * weights.center();
+        int advanced = 0;
+        for (int row = 0; row < 8; row++) {
+            int distance = color == Color.WHITE ? 7 - row : row;
+            advanced += distance * Integer.bitCount(pawns & (ROW_MASK << (row * 4)));
+        }
+        int homeRow = color == Color.WHITE ? 7 : 0;
+        int guards = Integer.bitCount(pawns & (ROW_MASK << (homeRow * 4)));
+        return score + advanced * weights.advancement() + guards * weights.backRank();
+    }
+
+    private static int centerMask() {
+        int mask = 0;
+        for (int row = 3; row <= 4; row++) {
+            for (int col = 2; col <= 5; col++) {
+                int square = Board.toSquare(row, col);
+                if (square >= 0) {
+                    mask |= 1 << square;
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -55,9 +55,12 @@ public class GameEndManager {
         if (gameState.getNoCapturesCounter() >= 50) {
             return GameEndReason.FIFTY_MOVES;
         }
-        if (gameState.getNumberOfPositions().containsValue(3)) {
+        if (gameState.getNumberOfPositions().getMaxCount() >= 3) {
             return GameEndReason.THREEFOLD_REPETITION;
         }
+        if (gameRules.isDeadDraw(gameState)) {
+            return GameEndReason.DEAD_DRAW;
+        }
         return null;
     }
 
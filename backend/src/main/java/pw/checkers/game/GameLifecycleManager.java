@@ -0,0 +1,148 @@
+package pw.checkers.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.LifecycleProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.utils.TimerWheel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when a game may be dropped from memory: an unfinished game after it has been idle for the idle TTL,
+ * a finished one once the grace period for rematches has passed. Activity is a single volatile write; deadlines
+ * are only looked at when the game's slot on the timer wheel comes round. Collecting only names the candidates;
+ * a game is released by {@link #expire(String)}, which the caller runs on the game's mailbox so that activity
+ * arriving in between still keeps the game.
+ */
+@Service
+public class GameLifecycleManager {
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int WHEEL_SLOTS = 512;
+
+    private final Map<String, TrackedGame> trackedGames = new ConcurrentHashMap<>();
+    private final TimerWheel<String> wheel;
+    private final long idleTtlNanos;
+    private final long finishedGraceNanos;
+    private final LongSupplier clock;
+    private final Counter idleEvictions;
+    private final Counter finishedEvictions;
+
+    @Autowired
+    public GameLifecycleManager(MeterRegistry meterRegistry, LifecycleProperties lifecycleProperties) {
+        this(meterRegistry, lifecycleProperties.idleTtl(), lifecycleProperties.finishedGrace(), System::nanoTime);
+    }
+
+    public GameLifecycleManager(MeterRegistry meterRegistry, Duration idleTtl, Duration finishedGrace, LongSupplier clock) {
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.finishedGraceNanos = finishedGrace.toNanos();
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(TICK_NANOS, WHEEL_SLOTS, clock.getAsLong());
+        Gauge.builder("checkers.games.live", this, manager -> manager.countGames(false)).register(meterRegistry);
+        Gauge.builder("checkers.games.finished", this, manager -> manager.countGames(true)).register(meterRegistry);
+        this.idleEvictions = Counter.builder("checkers.games.evicted").tag("reason", "idle").register(meterRegistry);
+        this.finishedEvictions = Counter.builder("checkers.games.evicted").tag("reason", "finished").register(meterRegistry);
+    }
+
+    public synchronized void register(GameState gameState) {
+        long now = clock.getAsLong();
+        trackedGames.put(gameState.getGameId(), new TrackedGame(gameState, now));
+        wheel.schedule(gameState.getGameId(), now + idleTtlNanos);
+    }
+
+    public void touch(String gameId) {
+        TrackedGame trackedGame = trackedGames.get(gameId);
+        if (trackedGame == null) {
+            return;
+        }
+        trackedGame.lastActivity = clock.getAsLong();
+        if (!trackedGame.finishScheduled && trackedGame.gameState.isFinished()) {
+            scheduleFinished(gameId, trackedGame);
+        }
+    }
+
+    public void forget(String gameId) {
+        trackedGames.remove(gameId);
+    }
+
+    public synchronized List<String> collectExpired() {
+        long now = clock.getAsLong();
+        List<String> expired = new ArrayList<>();
+        wheel.advance(now, gameId -> {
+            TrackedGame trackedGame = trackedGames.get(gameId);
+            if (trackedGame == null || trackedGame.collected) {
+                return;
+            }
+            long deadline = deadline(trackedGame);
+            if (deadline > now) {
+                wheel.schedule(gameId, deadline);
+                return;
+            }
+            trackedGame.collected = true;
+            expired.add(gameId);
+        });
+        return expired;
+    }
+
+    /**
+     * Stops tracking a collected game if its deadline has still passed, and puts it back on the wheel otherwise.
+     */
+    public synchronized boolean expire(String gameId) {
+        TrackedGame trackedGame = trackedGames.get(gameId);
+        if (trackedGame == null) {
+            return false;
+        }
+        long deadline = deadline(trackedGame);
+        if (deadline > clock.getAsLong()) {
+            trackedGame.collected = false;
+            wheel.schedule(gameId, deadline);
+            return false;
+        }
+        trackedGames.remove(gameId);
+        (trackedGame.gameState.isFinished() ? finishedEvictions : idleEvictions).increment();
+        return true;
+    }
+
+    private synchronized void scheduleFinished(String gameId, TrackedGame trackedGame) {
+        if (!trackedGame.finishScheduled) {
+            trackedGame.finishScheduled = true;
+            wheel.schedule(gameId, deadline(trackedGame));
+        }
+    }
+
+    public int getTrackedGames() {
+        return trackedGames.size();
+    }
+
+    private long deadline(TrackedGame trackedGame) {
+        long ttl = trackedGame.gameState.isFinished() ? Math.min(finishedGraceNanos, idleTtlNanos) : idleTtlNanos;
+        return trackedGame.lastActivity + ttl;
+    }
+
+    private double countGames(boolean finished) {
+        return trackedGames.values().stream()
+                .filter(trackedGame -> trackedGame.gameState.isFinished() == finished)
+                .count();
+    }
+
+    private static class TrackedGame {
+        private final GameState gameState;
+        private volatile long lastActivity;
+        private volatile boolean finishScheduled;
+        private boolean collected;
+
+        private TrackedGame(GameState gameState, long lastActivity) {
+            this.gameState = gameState;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
@@ -1,149 +1,146 @@
 package pw.checkers.game;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
 import pw.checkers.data.Piece;
 import pw.checkers.data.enums.Color;
-import pw.checkers.data.enums.PieceType;
 import pw.checkers.message.Move;
 import pw.checkers.message.MoveHelper;
 import pw.checkers.message.PossibilitiesOutputMessage;
 
-import java.util.List;
-
 import static java.lang.Math.abs;
 import static pw.checkers.utils.Constants.*;
-import static pw.checkers.utils.Constants.BOARD_SIZE;
 
 @Service
 public class GameRules {
+    private static final int[][] PAWN_WHITE = DIRECTIONS_PAWN_WHITE.toArray(int[][]::new);
+    private static final int[][] PAWN_BLACK = DIRECTIONS_PAWN_BLACK.toArray(int[][]::new);
+    private static final int[][] KING = DIRECTIONS_KING.toArray(int[][]::new);
+
+    private final EndgameTablebase endgameTablebase;
+
+    public GameRules() {
+        this(new EndgameTablebase());
+    }
+
+    @Autowired
+    public GameRules(EndgameTablebase endgameTablebase) {
+        this.endgameTablebase = endgameTablebase;
+    }
+
     public PossibilitiesOutputMessage getPossibleMoves(GameState gameState, int row, int col) {
+        PossibilitiesOutputMessage possibilitiesOutputMessage = new PossibilitiesOutputMessage();
         if (isForcedMove(gameState, row, col)) {
-            return new PossibilitiesOutputMessage();
+            return possibilitiesOutputMessage;
         }
-        Piece[][] board = gameState.getBoard();
-        Piece pawn = board[row][col];
+        Piece pawn = gameState.getBoard().get(row, col);
         if (pawn == null) {
-            return new PossibilitiesOutputMessage();
+            return possibilitiesOutputMessage;
         }
-        if (pawn.getType().equals(PieceType.KING)) {
-            return getPossibleMovesHelper(gameState, row, col, true);
+        int square = Board.toSquare(row, col);
+        LegalMoves legalMoves = getLegalMoves(gameState, pawn.getColor());
+        for (int i = 0; i < legalMoves.getSize(); i++) {
+            if (legalMoves.getFrom(i) == square) {
+                int to = legalMoves.getTo(i);
+                possibilitiesOutputMessage.getMoves().add(MoveHelper.ofSquare(to));
+            }
         }
-        return getPossibleMovesHelper(gameState, row, col, false);
+        return possibilitiesOutputMessage;
     }
 
-    private PossibilitiesOutputMessage getPossibleMovesHelper(GameState gameState, int row, int col, boolean isKing) {
-        PossibilitiesOutputMessage possibilitiesOutputMessage = new PossibilitiesOutputMessage();
-        Piece[][] board = gameState.getBoard();
-        Piece piece = board[row][col];
-        if (piece == null) {
-            return possibilitiesOutputMessage;
+    public boolean isLegalMove(GameState gameState, Move move) {
+        int from = Board.toSquare(move.getFromRow(), move.getFromCol());
+        int to = Board.toSquare(move.getToRow(), move.getToCol());
+        if (from < 0 || to < 0 || isForcedMove(gameState, move.getFromRow(), move.getFromCol())) {
+            return false;
         }
-        Color color = piece.getColor();
-        boolean anyCaptureInColor = hasAnyCapture(gameState, color);
-        if (anyCaptureInColor) {
-            findTakes(possibilitiesOutputMessage, board, row, col, isKing);
-        } else {
-            findOtherMoves(possibilitiesOutputMessage, board, row, col, isKing);
+        Piece piece = gameState.getBoard().get(from);
+        if (piece == null) {
+            return false;
         }
-        return possibilitiesOutputMessage;
+        return getLegalMoves(gameState, piece.getColor()).contains(from, to);
     }
 
-    private boolean hasAnyCapture(GameState gameState, Color color) {
-        Piece[][] board = gameState.getBoard();
-
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                Piece p = board[row][col];
-                if (p != null && p.getColor() == color) {
-                    boolean isKing = (p.getType() == PieceType.KING);
-                    PossibilitiesOutputMessage temp = new PossibilitiesOutputMessage();
-                    if (findTakes(temp, board, row, col, isKing)) {
-                        if (!temp.getMoves().isEmpty()) {
-                            return true;
-                        }
-                    }
+    public LegalMoves getLegalMoves(GameState gameState, Color color) {
+        Board board = gameState.getBoard();
+        LegalMoves legalMoves = gameState.getLegalMoves(color);
+        if (!legalMoves.isGeneratedFor(board.getHash())) {
+            generateLegalMoves(board, color, legalMoves);
+        }
+        return legalMoves;
+    }
+
+    private void generateLegalMoves(Board board, Color color, LegalMoves legalMoves) {
+        legalMoves.reset(board.getHash());
+        boolean captures = hasAnyCapture(board, color);
+        legalMoves.setCaptures(captures);
+        int pieces = board.getPieces(color);
+        while (pieces != 0) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            int bit = 1 << square;
+            pieces &= pieces - 1;
+            boolean isKing = (board.getKings() & bit) != 0;
+            for (int[] direction : getMoveDirections(color, isKing)) {
+                int target = findTargets(board, bit, color, direction, captures);
+                if (target != 0) {
+                    legalMoves.add(square, Integer.numberOfTrailingZeros(target));
                 }
             }
         }
-        return false;
-    }
-
-    private boolean isWithinBounds(int row, int col) {
-        return row >= 0 && row < BOARD_SIZE && col >= 0 && col < BOARD_SIZE;
     }
 
-    private List<int[]> getMoveDirections(Piece piece, boolean isKing) {
-        if (isKing) {
-            return DIRECTIONS_KING;
+    private boolean hasAnyCapture(Board board, Color color) {
+        int pieces = board.getPieces(color);
+        int kings = pieces & board.getKings();
+        for (int[] direction : getPawnDirections(color)) {
+            if (findTargets(board, pieces, color, direction, true) != 0) {
+                return true;
+            }
         }
-        return piece.getColor() == Color.BLACK ? DIRECTIONS_PAWN_BLACK : DIRECTIONS_PAWN_WHITE;
-    }
-
-    private boolean isForcedMove(GameState gameState, int row, int col) {
-        return gameState.getLastCaptureRow() != null && gameState.getLastCaptureCol() != null
-                && (row != gameState.getLastCaptureRow() || col != gameState.getLastCaptureCol());
-    }
-
-    private boolean findTakes(PossibilitiesOutputMessage possibilitiesOutputMessage, Piece[][] board, int row, int col, boolean isKing) {
-        Piece pawn = board[row][col];
-        Color color = pawn.getColor();
-        Color opponentColor = (color == Color.BLACK) ? Color.WHITE : Color.BLACK;
-        List<int[]> directions = getMoveDirections(pawn, isKing);
-
-        for (int[] direction : directions) {
-            int deltaRow = direction[0];
-            int deltaCol = direction[1];
-            tryAddTake(possibilitiesOutputMessage, board, row, col, deltaRow, deltaCol, opponentColor);
+        for (int[] direction : getPawnDirections(getOpponentColor(color))) {
+            if (findTargets(board, kings, color, direction, true) != 0) {
+                return true;
+            }
         }
-        return !possibilitiesOutputMessage.getMoves().isEmpty();
+        return false;
     }
 
-    private void tryAddTake(PossibilitiesOutputMessage possibilitiesOutputMessage, Piece[][] board, int row, int col,
-                            int deltaRow, int deltaCol, Color opponentColor) {
-        int middleRow = row + deltaRow;
-        int middleCol = col + deltaCol;
-        int landingRow = row + 2 * deltaRow;
-        int landingCol = col + 2 * deltaCol;
-        if (!isWithinBounds(landingRow, landingCol)) {
-            return;
-        }
-        if (isTakeValid(board, middleRow, middleCol, landingRow, landingCol, opponentColor)) {
-            possibilitiesOutputMessage.getMoves().add(new MoveHelper(landingRow, landingCol));
+    private int findTargets(Board board, int movers, Color color, int[] direction, boolean captures) {
+        int deltaRow = direction[0];
+        int deltaCol = direction[1];
+        int step = Bitboards.shift(movers, deltaRow, deltaCol);
+        if (!captures) {
+            return step & board.getEmpty();
         }
+        int jumped = step & board.getPieces(getOpponentColor(color));
+        return Bitboards.shift(jumped, deltaRow, deltaCol) & board.getEmpty();
     }
 
-    private boolean isTakeValid(Piece[][] board, int middleRow, int middleCol, int landingRow, int landingCol, Color opponentColor) {
-        return board[middleRow][middleCol] != null
-                && board[middleRow][middleCol].getColor() == opponentColor
-                && board[landingRow][landingCol] == null;
+    private Color getOpponentColor(Color color) {
+        return color == Color.BLACK ? Color.WHITE : Color.BLACK;
     }
 
-    private void findOtherMoves(PossibilitiesOutputMessage possibilitiesOutputMessage, Piece[][] board, int row, int col, boolean isKing) {
-        Piece pawn = board[row][col];
-        List<int[]> directions = getMoveDirections(pawn, isKing);
-        for (int[] direction : directions) {
-            int deltaRow = direction[0];
-            int deltaCol = direction[1];
-            tryAddMove(possibilitiesOutputMessage, board, row, col, deltaRow, deltaCol);
-        }
+    private int[][] getPawnDirections(Color color) {
+        return color == Color.BLACK ? PAWN_BLACK : PAWN_WHITE;
     }
 
-    private void tryAddMove(PossibilitiesOutputMessage possibilitiesOutputMessage, Piece[][] board, int row, int col, int deltaRow, int deltaCol) {
-        int landingRow = row + deltaRow;
-        int landingCol = col + deltaCol;
-
-        if (isMoveValid(board, landingRow, landingCol)) {
-            possibilitiesOutputMessage.getMoves().add(new MoveHelper(landingRow, landingCol));
+    private int[][] getMoveDirections(Color color, boolean isKing) {
+        if (isKing) {
+            return KING;
         }
+        return getPawnDirections(color);
     }
 
-    private boolean isMoveValid(Piece[][] board, int landingRow, int landingCol) {
-        return isWithinBounds(landingRow, landingCol) && board[landingRow][landingCol] == null;
+    private boolean isForcedMove(GameState gameState, int row, int col) {
+        return gameState.getLastCaptureRow() != null && gameState.getLastCaptureCol() != null
+                && (row != gameState.getLastCaptureRow() || col != gameState.getLastCaptureCol());
     }
 
     private boolean isPositionRepeatedThreeTimes(GameState gameState) {
-        return gameState.getNumberOfPositions().get(gameState.boardToString()) >= 3;
+        return gameState.getNumberOfPositions().get(gameState.positionKey()) >= 3;
     }
 
     private boolean isFiftyMoveViolation(GameState gameState) {
@@ -160,25 +157,21 @@ public class GameRules {
     }
 
     public boolean playerHasMoves(GameState gameState, Color player) {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int column = (row + 1) % 2; column < BOARD_SIZE; column+=2) {
-                if (gameState.getBoard()[row][column] != null) {
-                    if (gameState.getBoard()[row][column].getColor().equals(player)) {
-                        if (!getPossibleMoves(gameState, row, column).getMoves().isEmpty()) {
-                            return true;
-                        }
-                    }
-                }
-            }
+        Integer forcedRow = gameState.getLastCaptureRow();
+        Integer forcedCol = gameState.getLastCaptureCol();
+        if (forcedRow != null && forcedCol != null) {
+            Piece piece = gameState.getBoard().get(forcedRow, forcedCol);
+            return piece != null && piece.getColor().equals(player)
+                    && !getPossibleMoves(gameState, forcedRow, forcedCol).getMoves().isEmpty();
         }
-        return false;
+        return getLegalMoves(gameState, player).getSize() > 0;
     }
 
     public boolean hasMoreTakes(GameState gameState, Move move) {
-        Piece[][] board = gameState.getBoard();
-        boolean isKing = board[move.getToRow()][move.getToCol()].getType().equals(PieceType.KING);
         if (abs(move.getFromCol() - move.getToCol()) > 1 && abs(move.getFromRow() - move.getToRow()) > 1 ) {
-            return findTakes(new PossibilitiesOutputMessage(), board, move.getToRow(), move.getToCol(), isKing);
+            Piece piece = gameState.getBoard().get(move.getToRow(), move.getToCol());
+            LegalMoves legalMoves = getLegalMoves(gameState, piece.getColor());
+            return legalMoves.isCaptures() && legalMoves.hasMovesFrom(Board.toSquare(move.getToRow(), move.getToCol()));
         }
         return false;
     }
@@ -189,6 +182,11 @@ public class GameRules {
 
         return (!playerHasMoves(gameState, currentPlayer) && !playerHasMoves(gameState, otherPlayer))
                 || isFiftyMoveViolation(gameState)
-                || isPositionRepeatedThreeTimes(gameState);
+                || isPositionRepeatedThreeTimes(gameState)
+                || isDeadDraw(gameState);
+    }
+
+    public boolean isDeadDraw(GameState gameState) {
+        return endgameTablebase.isDeadDraw(gameState.getBoard());
     }
 }
@@ -5,10 +5,16 @@ import pw.checkers.message.Move;
 import pw.checkers.message.MoveOutputMessage;
 import pw.checkers.message.PossibilitiesOutputMessage;
 
+import java.util.List;
+
 public interface GameService {
     GameState createGame();
     void deleteGame(String id);
+    List<String> collectExpiredGames();
+    boolean evictIfExpired(String gameId);
     GameState getGame(String gameId);
+    List<GameState> getGamesInProgress();
     MoveOutputMessage makeMove(String gameId, Move move, String currentTurn);
+    void recordGameEnd(String gameId);
     PossibilitiesOutputMessage getPossibleMoves(GameState gameState, int row, int col);
 }
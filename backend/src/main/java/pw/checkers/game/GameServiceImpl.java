@@ -1,9 +1,14 @@
 package pw.checkers.game;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import pw.checkers.data.GameState;
-import pw.checkers.data.enums.Color;
 import pw.checkers.message.*;
+import pw.checkers.utils.GameSnapshot;
+import pw.checkers.utils.JournaledGame;
+import pw.checkers.utils.PackedMove;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,43 +16,125 @@ import static pw.checkers.utils.Constants.*;
 
 @Service
 public class GameServiceImpl implements GameService{
+    private static final Logger logger = LoggerFactory.getLogger(GameServiceImpl.class);
+
     private final Map<String, GameState> games = new ConcurrentHashMap<>();
     private final BoardManager boardManager;
     private final GameRules gameRules;
     private final MoveValidator moveValidator;
+    private final GameLifecycleManager gameLifecycleManager;
+    private final MoveJournal moveJournal;
+    private final GameSnapshotStore gameSnapshotStore;
 
-    public GameServiceImpl(BoardManager boardManager, GameRules gameRules, MoveValidator moveValidator) {
+    public GameServiceImpl(BoardManager boardManager, GameRules gameRules, MoveValidator moveValidator,
+                           GameLifecycleManager gameLifecycleManager, MoveJournal moveJournal, GameSnapshotStore gameSnapshotStore) {
         this.boardManager = boardManager;
         this.gameRules = gameRules;
         this.moveValidator = moveValidator;
+        this.gameLifecycleManager = gameLifecycleManager;
+        this.moveJournal = moveJournal;
+        this.gameSnapshotStore = gameSnapshotStore;
+    }
+
+    /**
+     * Rebuilds the games that were in progress when the server stopped: each starts from its state in the last
+     * snapshot, or from the initial position if it was created since, and replays the steps journaled after that.
+     */
+    @PostConstruct
+    public void restoreGames() {
+        GameSnapshot snapshot = gameSnapshotStore.load();
+        Map<String, GameState> snapshotted = new HashMap<>();
+        Map<String, Integer> snapshotSteps = new HashMap<>();
+        for (GameState gameState : snapshot.games()) {
+            snapshotted.put(gameState.getGameId(), gameState);
+            snapshotSteps.put(gameState.getGameId(), gameState.getStepsPlayed());
+        }
+        for (JournaledGame journaledGame : moveJournal.recover(snapshot.journalSegment(), snapshotSteps)) {
+            GameState gameState = snapshotted.get(journaledGame.gameId());
+            if (gameState == null) {
+                gameState = newGame(journaledGame.gameId());
+            }
+            if (gameState.getStepsPlayed() != journaledGame.firstStep() || !replay(gameState, journaledGame.steps())) {
+                logger.warn("Dropping journaled game {}: its moves no longer replay", journaledGame.gameId());
+                moveJournal.gameDeleted(journaledGame.gameId());
+                continue;
+            }
+            games.put(gameState.getGameId(), gameState);
+            gameLifecycleManager.register(gameState);
+        }
     }
 
     @Override
     public GameState createGame() {
-        String newGameId = UUID.randomUUID().toString();
-        GameState gameState = new GameState();
-        gameState.setWhitePiecesLeft(AMOUNT_OF_PIECES);
-        gameState.setBlackPiecesLeft(AMOUNT_OF_PIECES);
-        gameState.setNoCapturesCounter(0);
+        GameState gameState = newGame(UUID.randomUUID().toString());
+        games.put(gameState.getGameId(), gameState);
+        gameLifecycleManager.register(gameState);
+        moveJournal.gameCreated(gameState.getGameId());
+        return gameState;
+    }
+
+    private GameState newGame(String newGameId) {
+        GameState gameState = GameState.initial();
         gameState.setGameId(newGameId);
-        gameState.setNumberOfPositions(new HashMap<>());
-        boardManager.initializeBoard(gameState);
-        gameState.setCurrentPlayer(Color.WHITE);
-        gameState.setWinner(null);
-        gameState.setFinished(false);
-        games.put(newGameId, gameState);
         return gameState;
     }
 
+    private boolean replay(GameState gameState, int[] steps) {
+        for (int step : steps) {
+            Move move = PackedMove.toMove(step);
+            if (gameState.isFinished() || !moveValidator.validateMove(gameState, move)) {
+                return false;
+            }
+            MoveOutputMessage response = new MoveOutputMessage();
+            response.setMove(move);
+            boardManager.makeMove(gameState, response);
+        }
+        return !gameState.isFinished();
+    }
+
     @Override
     public void deleteGame(String id) {
-        games.remove(id);
+        if (games.remove(id) != null) {
+            moveJournal.gameDeleted(id);
+        }
+        gameLifecycleManager.forget(id);
+    }
+
+    @Override
+    public List<String> collectExpiredGames() {
+        return gameLifecycleManager.collectExpired();
     }
 
+    @Override
+    public boolean evictIfExpired(String gameId) {
+        if (!gameLifecycleManager.expire(gameId)) {
+            return false;
+        }
+        GameState gameState = games.remove(gameId);
+        if (gameState != null && !gameState.isFinished()) {
+            moveJournal.gameDeleted(gameId);
+        }
+        return true;
+    }
+
+    @Override
+    public List<GameState> getGamesInProgress() {
+        List<GameState> inProgress = new ArrayList<>();
+        for (GameState gameState : games.values()) {
+            if (!gameState.isFinished()) {
+                inProgress.add(gameState);
+            }
+        }
+        return inProgress;
+    }
 
     @Override
     public GameState getGame(String gameId) {
-        return games.get(gameId);
+        GameState gameState = games.get(gameId);
+        if (gameState != null) {
+            gameLifecycleManager.touch(gameId);
+        }
+        return gameState;
     }
 
     @Override
@@ -55,10 +142,26 @@ public class GameServiceImpl implements GameService{
         MoveOutputMessage response = new MoveOutputMessage();
         response.setMove(move);
         GameState gameState = getGame(gameId);
-        if (!moveValidator.validateMove(gameState, move)) {
+        if (gameState == null || !gameState.getCurrentPlayer().getValue().equals(currentTurn)
+                || !moveValidator.validateMove(gameState, move)) {
             return null;
         }
-        return boardManager.makeMove(gameState, response);
+        int step = gameState.getStepsPlayed();
+        MoveOutputMessage result = boardManager.makeMove(gameState, response);
+        moveJournal.movePlayed(gameId, step, gameState.getHistory().get(step));
+        if (gameState.isFinished()) {
+            moveJournal.gameEnded(gameId, gameState.getWinner());
+        }
+        gameLifecycleManager.touch(gameId);
+        return result;
+    }
+
+    @Override
+    public void recordGameEnd(String gameId) {
+        GameState gameState = games.get(gameId);
+        if (gameState != null && gameState.isFinished()) {
+            moveJournal.gameEnded(gameId, gameState.getWinner());
+        }
     }
 
     @Override
@@ -0,0 +1,216 @@
+package pw.checkers.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.JournalProperties;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.GameSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes the snapshot of the games in progress that {@link MoveJournal} recovery starts from. The file
+ * lives next to the journal segments and is replaced atomically, so there is always one complete snapshot.
+ * <p>
+ * Layout: magic, version and the journal segment current when the snapshot was started, then for every game a
+ * marker byte of 1, the game id, the bitboards, side to move, square of a capture still being continued (-1 for
+ * none), piece and no-capture counters, the steps played and the repetition table; a 0 byte ends the games,
+ * followed by a CRC32C of everything before it.
+ */
+@Service
+public class GameSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(GameSnapshotStore.class);
+
+    static final int MAGIC = 0x434B534E;
+    static final int VERSION = 2;
+    private static final int HEADER_BYTES = 12;
+    private static final String FILE = "snapshot.bin";
+
+    private final Path file;
+
+    public GameSnapshotStore() {
+        this((Path) null);
+    }
+
+    @Autowired
+    public GameSnapshotStore(JournalProperties journalProperties) {
+        this(journalProperties.directory().isBlank() ? null : Path.of(journalProperties.directory()));
+    }
+
+    public GameSnapshotStore(Path directory) {
+        this.file = directory == null ? null : directory.resolve(FILE);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Returns the last snapshot written, or an empty one starting at journal segment 0 if there is none.
+     */
+    public GameSnapshot load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return new GameSnapshot(0, List.of());
+        }
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES + 5 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IllegalStateException(file + " is not a game snapshot of version " + VERSION);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        if (in.getInt(bytes.length - 4) != (int) crc.getValue()) {
+            throw new IllegalStateException("Checksum mismatch in game snapshot " + file);
+        }
+        int journalSegment = in.getInt();
+        List<GameState> games = new ArrayList<>();
+        while (in.get() != 0) {
+            games.add(read(in));
+        }
+        logger.info("Loaded snapshot of {} games from {}", games.size(), file);
+        return new GameSnapshot(journalSegment, games);
+    }
+
+    /**
+     * Starts a new snapshot. It replaces the current one only once {@link Writer#commit()} has forced it to disk.
+     */
+    public Writer write(int journalSegment) throws IOException {
+        if (file == null) {
+            throw new IllegalStateException("Game snapshots are disabled");
+        }
+        Files.createDirectories(file.getParent());
+        return new Writer(journalSegment);
+    }
+
+    private static void write(DataOutputStream out, GameState gameState) throws IOException {
+        UUID id = UUID.fromString(gameState.getGameId());
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        Board board = gameState.getBoard();
+        out.writeInt(board.getWhite());
+        out.writeInt(board.getBlack());
+        out.writeInt(board.getKings());
+        out.writeByte(gameState.getCurrentPlayer().ordinal());
+        Integer row = gameState.getLastCaptureRow();
+        Integer col = gameState.getLastCaptureCol();
+        out.writeByte(row == null || col == null ? -1 : Board.toSquare(row, col));
+        out.writeByte(gameState.getWhitePiecesLeft());
+        out.writeByte(gameState.getBlackPiecesLeft());
+        out.writeInt(gameState.getNoCapturesCounter());
+        MoveHistory history = gameState.getHistory();
+        out.writeInt(history.size());
+        for (int i = 0; i < history.size(); i++) {
+            out.writeChar(history.get(i));
+        }
+        PositionCounter positions = gameState.getNumberOfPositions();
+        out.writeInt(positions.getMaxCount());
+        out.writeInt(positions.getSize());
+        positions.<IOException>forEach((key, count) -> {
+            out.writeLong(key);
+            out.writeInt(count);
+        });
+    }
+
+    private static GameState read(ByteBuffer in) {
+        GameState gameState = new GameState();
+        gameState.setGameId(new UUID(in.getLong(), in.getLong()).toString());
+        gameState.setBoard(new Board(in.getInt(), in.getInt(), in.getInt()));
+        gameState.setCurrentPlayer(Color.values()[in.get()]);
+        int forcedSquare = in.get();
+        if (forcedSquare >= 0) {
+            gameState.setLastCaptureRow(Board.toRow(forcedSquare));
+            gameState.setLastCaptureCol(Board.toCol(forcedSquare));
+        }
+        gameState.setWhitePiecesLeft(in.get());
+        gameState.setBlackPiecesLeft(in.get());
+        gameState.setNoCapturesCounter(in.getInt());
+        MoveHistory history = gameState.getHistory();
+        int steps = in.getInt();
+        for (int i = 0; i < steps; i++) {
+            history.add(in.getChar());
+        }
+        int maxCount = in.getInt();
+        int size = in.getInt();
+        PositionCounter positions = new PositionCounter();
+        for (int i = 0; i < size; i++) {
+            positions.put(in.getLong(), in.getInt());
+        }
+        positions.restoreMaxCount(maxCount);
+        gameState.setNumberOfPositions(positions);
+        return gameState;
+    }
+
+    /**
+     * Streams games into a temporary file next to the snapshot.
+     */
+    public final class Writer implements Closeable {
+        private final Path temporary;
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final DataOutputStream out;
+        private int games;
+        private boolean committed;
+
+        private Writer(int journalSegment) throws IOException {
+            temporary = Files.createTempFile(file.getParent(), FILE, ".tmp");
+            channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+            out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(journalSegment);
+        }
+
+        public void add(GameState gameState) throws IOException {
+            out.writeByte(1);
+            write(out, gameState);
+            games++;
+        }
+
+        public void commit() throws IOException {
+            out.writeByte(0);
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+            out.close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            logger.debug("Wrote snapshot of {} games to {}", games, file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
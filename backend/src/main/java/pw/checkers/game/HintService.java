@@ -0,0 +1,127 @@
+package pw.checkers.game;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.HintProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.utils.BookMove;
+import pw.checkers.utils.SearchResult;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Best move for the side to move, answered from the {@link OpeningBook} or by a time-boxed search. Answers are cached
+ * per position in an LRU map, and the map holds the pending future itself, so any number of requests for one
+ * position share a single search. Searches run on their own small pool of low-priority threads with a bounded
+ * queue, so hint load never competes with the game mailboxes or the bot.
+ */
+@Service
+public class HintService {
+    private final AlphaBetaSearch alphaBetaSearch;
+    private final OpeningBook openingBook;
+    private final long moveTimeNanos;
+    private final int maxDepth;
+    private final Map<Long, CompletableFuture<Optional<SearchResult>>> cache;
+    private final ThreadPoolExecutor searchPool;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public HintService(AlphaBetaSearch alphaBetaSearch, OpeningBook openingBook, HintProperties hintProperties, MeterRegistry meterRegistry) {
+        this(alphaBetaSearch, openingBook, hintProperties);
+        FunctionCounter.builder("checkers.hint.requests", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("checkers.hint.requests", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+    }
+
+    public HintService(AlphaBetaSearch alphaBetaSearch, OpeningBook openingBook, HintProperties hintProperties) {
+        this.alphaBetaSearch = alphaBetaSearch;
+        this.openingBook = openingBook;
+        this.moveTimeNanos = hintProperties.moveTime().toNanos();
+        this.maxDepth = hintProperties.maxDepth();
+        int cacheSize = Math.max(hintProperties.cacheSize(), 1);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<Optional<SearchResult>>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        int threads = Math.max(hintProperties.threads(), 1);
+        this.searchPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(hintProperties.queueCapacity(), 1)),
+                Thread.ofPlatform().name("hint-search-", 0).daemon(true).priority(Thread.MIN_PRIORITY).factory());
+    }
+
+    /**
+     * Starts or joins the hint for {@code gameState}, which must be a copy the caller does not change. Completes
+     * empty when the side to move has no move, and exceptionally with {@link RejectedExecutionException} when the
+     * search pool is full.
+     */
+    public CompletableFuture<Optional<SearchResult>> hint(GameState gameState) {
+        if (gameState.isFinished()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        long key = AlphaBetaSearch.searchKey(gameState);
+        CompletableFuture<Optional<SearchResult>> hint;
+        synchronized (cache) {
+            CompletableFuture<Optional<SearchResult>> cached = cache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            hint = new CompletableFuture<>();
+            cache.put(key, hint);
+        }
+        misses.increment();
+        hint.whenComplete((result, error) -> {
+            if (error != null || result.isEmpty()) {
+                evict(key, hint);
+            }
+        });
+        Optional<BookMove> bookMove = openingBook.lookup(gameState).stream().max(Comparator.comparingInt(BookMove::weight));
+        if (bookMove.isPresent()) {
+            hint.complete(Optional.of(new SearchResult(bookMove.get().from(), bookMove.get().to(), 0, 0, 0)));
+            return hint;
+        }
+        try {
+            searchPool.execute(() -> {
+                try {
+                    hint.complete(alphaBetaSearch.search(gameState, moveTimeNanos, maxDepth));
+                } catch (RuntimeException e) {
+                    hint.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            hint.completeExceptionally(e);
+        }
+        return hint;
+    }
+
+    public int getCachedPositions() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    private void evict(long key, CompletableFuture<Optional<SearchResult>> hint) {
+        synchronized (cache) {
+            cache.remove(key, hint);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package pw.checkers.game;
+
+import org.springframework.stereotype.Service;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.Zobrist;
+
+/**
+ * Reversible move application for search. {@link #apply} plays one step or jump with the same effects as
+ * {@link BoardManager#makeMove} on the board, piece counters, no-capture counter, repetition table and
+ * capture-continuation state, but skips the end-of-game bookkeeping and the response message. Everything needed to
+ * take the move back is packed into the returned {@code long}, so an apply/undo pair allocates nothing.
+ */
+@Service
+public class MoveEngine {
+    private static final int SQUARE_MASK = 0x1F;
+    private static final int TO_SHIFT = 5;
+    private static final long CAPTURE_FLAG = 1L << 10;
+    private static final int CAPTURED_SHIFT = 11;
+    private static final long CAPTURED_KING_FLAG = 1L << 16;
+    private static final long PROMOTED_FLAG = 1L << 17;
+    private static final int NO_CAPTURES_SHIFT = 18;
+    private static final long NO_CAPTURES_MASK = 0xFFFF;
+    private static final int LAST_CAPTURE_SHIFT = 34;
+    private static final long LAST_CAPTURE_MASK = 0x3F;
+    private static final long BLACK_MOVED_FLAG = 1L << 40;
+    private static final int MAX_COUNT_SHIFT = 41;
+    private static final long MAX_COUNT_MASK = 0xFF;
+    private static final long TURN_ENDED_FLAG = 1L << 49;
+
+    private final GameRules gameRules;
+
+    public MoveEngine(GameRules gameRules) {
+        this.gameRules = gameRules;
+    }
+
+    public long apply(GameState gameState, int from, int to) {
+        Board board = gameState.getBoard();
+        Color mover = gameState.getCurrentPlayer();
+        PositionCounter positions = gameState.getNumberOfPositions();
+        long undo = from | ((long) to << TO_SHIFT)
+                | ((long) Math.min(gameState.getNoCapturesCounter(), (int) NO_CAPTURES_MASK) << NO_CAPTURES_SHIFT)
+                | ((long) (gameState.forcedSquare() + 1) << LAST_CAPTURE_SHIFT)
+                | ((long) Math.min(positions.getMaxCount(), (int) MAX_COUNT_MASK) << MAX_COUNT_SHIFT);
+        if (mover == Color.BLACK) {
+            undo |= BLACK_MOVED_FLAG;
+        }
+
+        board.move(from, to);
+        gameState.setNoCapturesCounter(gameState.getNoCapturesCounter() + 1);
+        int toRow = Board.toRow(to);
+        if (!board.isKing(to) && ((mover == Color.WHITE && toRow == 0) || (mover == Color.BLACK && toRow == 7))) {
+            board.promote(to);
+            undo |= PROMOTED_FLAG;
+        }
+
+        boolean capture = Math.abs(Board.toRow(from) - toRow) > 1;
+        if (capture) {
+            int captured = Board.toSquare((Board.toRow(from) + toRow) / 2, (Board.toCol(from) + Board.toCol(to)) / 2);
+            undo |= CAPTURE_FLAG | ((long) captured << CAPTURED_SHIFT);
+            if (board.isKing(captured)) {
+                undo |= CAPTURED_KING_FLAG;
+            }
+            board.remove(captured);
+            if (mover == Color.WHITE) {
+                gameState.setBlackPiecesLeft(gameState.getBlackPiecesLeft() - 1);
+            } else {
+                gameState.setWhitePiecesLeft(gameState.getWhitePiecesLeft() - 1);
+            }
+            gameState.setNoCapturesCounter(0);
+        }
+        positions.increment(gameState.positionKey());
+
+        if (capture && hasMoreTakes(gameState, mover, to)) {
+            gameState.setLastCaptureRow(toRow);
+            gameState.setLastCaptureCol(Board.toCol(to));
+            return undo;
+        }
+        gameState.setLastCaptureRow(null);
+        gameState.setLastCaptureCol(null);
+        gameState.setCurrentPlayer(mover == Color.WHITE ? Color.BLACK : Color.WHITE);
+        return undo | TURN_ENDED_FLAG;
+    }
+
+    public void undo(GameState gameState, long undo) {
+        Board board = gameState.getBoard();
+        Color mover = (undo & BLACK_MOVED_FLAG) != 0 ? Color.BLACK : Color.WHITE;
+        int from = (int) (undo & SQUARE_MASK);
+        int to = (int) ((undo >>> TO_SHIFT) & SQUARE_MASK);
+
+        gameState.setCurrentPlayer(mover);
+        PositionCounter positions = gameState.getNumberOfPositions();
+        positions.decrement(gameState.positionKey());
+        positions.restoreMaxCount((int) ((undo >>> MAX_COUNT_SHIFT) & MAX_COUNT_MASK));
+
+        int lastCapture = (int) ((undo >>> LAST_CAPTURE_SHIFT) & LAST_CAPTURE_MASK) - 1;
+        gameState.setLastCaptureRow(lastCapture < 0 ? null : Board.toRow(lastCapture));
+        gameState.setLastCaptureCol(lastCapture < 0 ? null : Board.toCol(lastCapture));
+        gameState.setNoCapturesCounter((int) ((undo >>> NO_CAPTURES_SHIFT) & NO_CAPTURES_MASK));
+
+        if ((undo & CAPTURE_FLAG) != 0) {
+            int captured = (int) ((undo >>> CAPTURED_SHIFT) & SQUARE_MASK);
+            Color capturedColor = mover == Color.WHITE ? Color.BLACK : Color.WHITE;
+            board.put(captured, capturedColor, (undo & CAPTURED_KING_FLAG) != 0);
+            if (mover == Color.WHITE) {
+                gameState.setBlackPiecesLeft(gameState.getBlackPiecesLeft() + 1);
+            } else {
+                gameState.setWhitePiecesLeft(gameState.getWhitePiecesLeft() + 1);
+            }
+        }
+        if ((undo & PROMOTED_FLAG) != 0) {
+            board.demote(to);
+        }
+        board.move(to, from);
+    }
+
+    public static boolean isTurnEnded(long undo) {
+        return (undo & TURN_ENDED_FLAG) != 0;
+    }
+
+    /**
+     * Whether the move behind {@code undo} ended the game by the fifty-move or threefold-repetition rule, which
+     * {@link BoardManager#makeMove} would have recorded as a draw. Other endings leave the side to move without
+     * moves and need no separate check.
+     */
+    public boolean isDrawByRule(GameState gameState, long undo) {
+        if (!isTurnEnded(undo)) {
+            return false;
+        }
+        Color mover = (undo & BLACK_MOVED_FLAG) != 0 ? Color.BLACK : Color.WHITE;
+        long moverKey = gameState.getBoard().getHash() ^ Zobrist.side(mover);
+        return gameState.getNoCapturesCounter() >= 50 || gameState.getNumberOfPositions().get(moverKey) >= 3;
+    }
+
+    private boolean hasMoreTakes(GameState gameState, Color mover, int square) {
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, mover);
+        return legalMoves.isCaptures() && legalMoves.hasMovesFrom(square);
+    }
+}
@@ -0,0 +1,406 @@
+package pw.checkers.game;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.JournalProperties;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.JournaledGame;
+import pw.checkers.utils.PackedMove;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, write-ahead log of game events: creation, every accepted step, resignation and removal. Records are
+ * fixed 32-byte slots written into a memory-mapped segment file, so an append is a short critical section that
+ * copies into the page cache and never waits for the disk; the record survives a crash of the process at once. A
+ * flusher thread forces everything appended since its last pass to disk every {@code flushInterval}, so one fsync
+ * covers all moves of all games made in that window.
+ * <p>
+ * When a segment is full the next one is mapped; segments that only hold games which have since ended, or whose
+ * steps are all covered by a snapshot (see {@link #snapshotTaken(int, Set)}), are deleted. On startup
+ * {@link #recover(int, Map)} replays the segments still on disk, writes what is left of the games still in progress
+ * to a fresh segment and deletes the rest.
+ * <p>
+ * Record layout: game id (16 bytes), type, payload, segment number and a CRC32C of the first 28 bytes (4 bytes
+ * each). The payload of a step is its number within the game followed by the step as a {@link PackedMove}, flags
+ * included, in the low {@value PackedMove#BITS} bits. An all-zero type marks the unwritten tail of a segment; a bad checksum marks a
+ * torn write.
+ */
+@Service
+public class MoveJournal {
+    private static final Logger logger = LoggerFactory.getLogger(MoveJournal.class);
+
+    public static final int RECORD_BYTES = 32;
+    static final int CREATED = 1;
+    static final int MOVED = 2;
+    static final int ENDED = 3;
+    static final int DELETED = 4;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int STEP_BITS = PackedMove.BITS;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalNanos;
+    private final byte[] scratch = new byte[RECORD_BYTES];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+    private final Map<String, Integer> firstSegmentByGame = new HashMap<>();
+    private final List<MappedByteBuffer> retired = new ArrayList<>();
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private int position;
+    private int flushedPosition;
+    private int oldestSegment;
+    private volatile boolean closed;
+    private Thread flusher;
+
+    public MoveJournal() {
+        this(null, 0, Duration.ZERO);
+    }
+
+    @Autowired
+    public MoveJournal(JournalProperties journalProperties) {
+        this(journalProperties.directory().isBlank() ? null : Path.of(journalProperties.directory()),
+                (int) Math.min(journalProperties.segmentSize().toBytes(), Integer.MAX_VALUE), journalProperties.flushInterval());
+    }
+
+    public MoveJournal(Path directory, int segmentBytes, Duration flushInterval) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(segmentBytes / RECORD_BYTES, 1) * RECORD_BYTES;
+        this.flushIntervalNanos = Math.max(flushInterval.toNanos(), 1);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public List<JournaledGame> recover() {
+        return recover(0, Map.of());
+    }
+
+    /**
+     * Replays the journal and returns the games still in progress, then starts a new segment, numbered after
+     * {@code fromSegment} and every segment on disk, holding just what is needed to rebuild them. A game in
+     * {@code snapshotSteps} is rebuilt from its snapshot, so only its steps from the given step number on are
+     * returned and kept; any other game must have been created in the replayed segments. Segments older than
+     * {@code fromSegment}, the segment the snapshot was started in, are replayed too: they are only still there while
+     * a game that the snapshot left out needs them. Must be called once, before the first append.
+     */
+    public synchronized List<JournaledGame> recover(int fromSegment, Map<String, Integer> snapshotSteps) {
+        if (directory == null || segment != null) {
+            return List.of();
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            Map<UUID, GameSteps> games = new LinkedHashMap<>();
+            for (Path file : segments) {
+                replay(file, games);
+            }
+            Map<UUID, Integer> snapshotted = new HashMap<>();
+            snapshotSteps.forEach((gameId, step) -> snapshotted.put(UUID.fromString(gameId), step));
+            for (UUID gameId : snapshotted.keySet()) {
+                games.putIfAbsent(gameId, new GameSteps());
+            }
+            int last = segments.isEmpty() ? fromSegment : Math.max(number(segments.getLast()), fromSegment);
+            openSegment(last + 1);
+            oldestSegment = segmentNumber;
+            List<JournaledGame> recovered = new ArrayList<>(games.size());
+            for (Map.Entry<UUID, GameSteps> game : games.entrySet()) {
+                UUID gameId = game.getKey();
+                GameSteps gameSteps = game.getValue();
+                Integer snapshotStep = snapshotted.get(gameId);
+                if (gameSteps.removed || (snapshotStep == null && !gameSteps.created)) {
+                    if (snapshotStep != null) {
+                        append(DELETED, gameId, 0);
+                    }
+                    continue;
+                }
+                int firstStep = snapshotStep == null ? 0 : snapshotStep;
+                int[] steps = gameSteps.from(firstStep);
+                if (steps == null) {
+                    logger.warn("Journaled steps of game {} do not continue from step {}, dropping it", gameId, firstStep);
+                    if (snapshotStep != null) {
+                        append(DELETED, gameId, 0);
+                    }
+                    continue;
+                }
+                if (snapshotStep == null) {
+                    append(CREATED, gameId, 0);
+                }
+                for (int i = 0; i < steps.length; i++) {
+                    append(MOVED, gameId, ((firstStep + i) << STEP_BITS) | steps[i]);
+                }
+                String id = gameId.toString();
+                firstSegmentByGame.put(id, segmentNumber);
+                recovered.add(new JournaledGame(id, firstStep, steps));
+            }
+            retired.forEach(MappedByteBuffer::force);
+            retired.clear();
+            segment.force();
+            flushedPosition = position;
+            for (Path file : segments) {
+                Files.delete(file);
+            }
+            startFlusher();
+            logger.info("Recovered {} games from {} journal segments in {}", recovered.size(), segments.size(), directory);
+            return recovered;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void gameCreated(String gameId) {
+        write(CREATED, gameId, 0);
+    }
+
+    public void movePlayed(String gameId, int step, int move) {
+        write(MOVED, gameId, (step << STEP_BITS) | move);
+    }
+
+    public void gameEnded(String gameId, Color winner) {
+        write(ENDED, gameId, winner == null ? 0 : winner.ordinal() + 1);
+    }
+
+    public void gameDeleted(String gameId) {
+        write(DELETED, gameId, 0);
+    }
+
+    public synchronized int currentSegment() {
+        return segmentNumber;
+    }
+
+    /**
+     * Tells the journal that a snapshot holding {@code gameIds} has been written, with each game copied after
+     * {@code segment} became the current segment. Records of those games in older segments are no longer needed for
+     * recovery; games left out of the snapshot keep their segments.
+     */
+    public synchronized void snapshotTaken(int segment, Set<String> gameIds) {
+        for (String gameId : gameIds) {
+            firstSegmentByGame.computeIfPresent(gameId, (id, first) -> Math.max(first, segment));
+        }
+    }
+
+    /**
+     * Forces every record appended so far to disk.
+     */
+    public void flush() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        List<MappedByteBuffer> full;
+        synchronized (this) {
+            if (segment == null) {
+                return;
+            }
+            target = segment;
+            from = flushedPosition;
+            to = position;
+            flushedPosition = position;
+            full = new ArrayList<>(retired);
+            retired.clear();
+        }
+        full.forEach(MappedByteBuffer::force);
+        if (to > from) {
+            target.force(from, to - from);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void write(int type, String gameId, int payload) {
+        if (directory == null) {
+            return;
+        }
+        synchronized (this) {
+            if (segment == null) {
+                throw new IllegalStateException("Move journal was not recovered before use");
+            }
+            append(type, UUID.fromString(gameId), payload);
+            if (type == CREATED) {
+                firstSegmentByGame.putIfAbsent(gameId, segmentNumber);
+            } else if (type == ENDED || type == DELETED) {
+                firstSegmentByGame.remove(gameId);
+            }
+        }
+    }
+
+    private void append(int type, UUID id, int payload) {
+        if (position == segmentBytes) {
+            roll();
+        }
+        record.putLong(0, id.getMostSignificantBits());
+        record.putLong(8, id.getLeastSignificantBits());
+        record.putInt(16, type);
+        record.putInt(20, payload);
+        record.putInt(24, segmentNumber);
+        crc.reset();
+        crc.update(scratch, 0, 28);
+        record.putInt(28, (int) crc.getValue());
+        segment.put(position, scratch);
+        position += RECORD_BYTES;
+    }
+
+    private void roll() {
+        retired.add(segment);
+        try {
+            openSegment(segmentNumber + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flushedPosition = 0;
+        int oldestLive = firstSegmentByGame.values().stream().mapToInt(Integer::intValue).min().orElse(segmentNumber);
+        for (; oldestSegment < oldestLive; oldestSegment++) {
+            try {
+                Files.deleteIfExists(segmentPath(oldestSegment));
+            } catch (IOException e) {
+                logger.warn("Could not delete journal segment {}", oldestSegment, e);
+            }
+        }
+    }
+
+    private void openSegment(int number) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segmentNumber = number;
+        position = 0;
+    }
+
+    private void replay(Path file, Map<UUID, GameSteps> games) throws IOException {
+        int number = number(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            for (int offset = 0; offset + RECORD_BYTES <= buffer.limit(); offset += RECORD_BYTES) {
+                buffer.get(offset, scratch);
+                int type = record.getInt(16);
+                if (type == 0) {
+                    break;
+                }
+                crc.reset();
+                crc.update(scratch, 0, 28);
+                if (record.getInt(24) != number || record.getInt(28) != (int) crc.getValue()) {
+                    logger.warn("Journal segment {} is torn at offset {}, ignoring the rest of it", file, offset);
+                    break;
+                }
+                UUID gameId = new UUID(record.getLong(0), record.getLong(8));
+                switch (type) {
+                    case CREATED -> games.computeIfAbsent(gameId, id -> new GameSteps()).created = true;
+                    case MOVED -> {
+                        int payload = record.getInt(20);
+                        games.computeIfAbsent(gameId, id -> new GameSteps()).add(payload >>> STEP_BITS, payload & ((1 << STEP_BITS) - 1));
+                    }
+                    case ENDED, DELETED -> games.computeIfAbsent(gameId, id -> new GameSteps()).removed = true;
+                    default -> logger.warn("Unknown journal record type {} in {}", type, file);
+                }
+            }
+        }
+    }
+
+    private void startFlusher() {
+        flusher = Thread.ofPlatform().name("move-journal-flusher").daemon(true).start(() -> {
+            while (!closed) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    logger.error("Flushing the move journal failed", e);
+                }
+            }
+        });
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Integer.compare(number(a), number(b)))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(PREFIX + "%08d".formatted(number) + SUFFIX);
+    }
+
+    private static int number(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * What replay found out about one game: the packed steps from {@code first} on, in order, and whether its
+     * creation and its end were seen.
+     */
+    private static class GameSteps {
+        private boolean created;
+        private boolean removed;
+        private boolean broken;
+        private int first;
+        private int[] steps = new int[8];
+        private int size;
+
+        private void add(int number, int step) {
+            if (size == 0) {
+                first = number;
+            } else if (number != first + size) {
+                broken = true;
+            }
+            if (size == steps.length) {
+                steps = Arrays.copyOf(steps, size * 2);
+            }
+            steps[size++] = step;
+        }
+
+        /**
+         * Returns the steps numbered {@code number} and up, or {@code null} if some of them are missing.
+         */
+        private int[] from(int number) {
+            if (size == 0) {
+                return new int[0];
+            }
+            if (broken || number < first || (created && first != 0)) {
+                return null;
+            }
+            return Arrays.copyOfRange(steps, Math.min(number - first, size), size);
+        }
+    }
+}
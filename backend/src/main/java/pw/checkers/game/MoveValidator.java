@@ -7,8 +7,6 @@ import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
 import pw.checkers.data.enums.Color;
 import pw.checkers.message.Move;
-import pw.checkers.message.MoveHelper;
-import pw.checkers.message.PossibilitiesOutputMessage;
 
 @Getter
 @Setter
@@ -31,8 +29,7 @@ public class MoveValidator {
             return false;
         }
 
-        Piece[][] board = gameState.getBoard();
-        Piece piece = board[move.getFromRow()][move.getFromCol()];
+        Piece piece = gameState.getBoard().get(move.getFromRow(), move.getFromCol());
 
         if (isPieceNull(piece)) {
             return false;
@@ -45,8 +42,7 @@ public class MoveValidator {
         if (brokenMultipleCaptureSequence(move, gameState)) {
             return false;
         }
-        PossibilitiesOutputMessage possibilitiesOutputMessage = gameRules.getPossibleMoves(gameState, move.getFromRow(), move.getFromCol());
-        return possibilitiesOutputMessage.getMoves().contains(new MoveHelper(move.getToRow(), move.getToCol()));
+        return gameRules.isLegalMove(gameState, move);
 
     }
 
@@ -0,0 +1,147 @@
+package pw.checkers.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.OpeningBookProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.utils.BookMove;
+import pw.checkers.utils.PackedMove;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Read-only view of a book written by {@link OpeningBookBuilder}. The file is a header followed by fixed-size
+ * entries sorted by position key and move, memory-mapped once, so a lookup is a binary search over the mapping
+ * with no locking and no heap beyond the returned moves.
+ * <p>
+ * Entry layout: position key (8 bytes), move as a {@link PackedMove} without flags, wins, draws and losses (2 bytes each).
+ */
+@Service
+public class OpeningBook {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBook.class);
+
+    static final int MAGIC = 0x434B4F42;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private final GameRules gameRules;
+    private final MappedByteBuffer entries;
+    private final int size;
+
+    public OpeningBook(GameRules gameRules) {
+        this(gameRules, (Path) null);
+    }
+
+    @Autowired
+    public OpeningBook(GameRules gameRules, OpeningBookProperties openingBookProperties) {
+        this(gameRules, openingBookProperties.file().isBlank() ? null : Path.of(openingBookProperties.file()));
+    }
+
+    public OpeningBook(GameRules gameRules, Path file) {
+        this.gameRules = gameRules;
+        MappedByteBuffer mapped = null;
+        int count = 0;
+        if (file != null && !Files.isRegularFile(file)) {
+            logger.warn("Opening book {} does not exist, openings are searched normally", file);
+        } else if (file != null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                count = mapped.getInt(8);
+                if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || count > (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES
+                        || channel.size() != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+                    logger.warn("Ignoring {}: not an opening book of version {}", file, VERSION);
+                    mapped = null;
+                    count = 0;
+                } else {
+                    logger.info("Loaded opening book with {} moves from {}", count, file);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.entries = mapped;
+        this.size = count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Book moves for the side to move that are legal in {@code gameState}. Empty outside the book and in the middle
+     * of a multi-jump.
+     */
+    public List<BookMove> lookup(GameState gameState) {
+        if (size == 0 || gameState.getLastCaptureRow() != null) {
+            return List.of();
+        }
+        long key = gameState.positionKey();
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+        List<BookMove> moves = new ArrayList<>();
+        for (int index = firstIndex(key); index < size && keyAt(index) == key; index++) {
+            int offset = HEADER_BYTES + index * ENTRY_BYTES;
+            int move = entries.getChar(offset + 8);
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            if (legalMoves.contains(from, to)) {
+                moves.add(new BookMove(from, to, entries.getChar(offset + 10), entries.getChar(offset + 12), entries.getChar(offset + 14)));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * A book move picked at random in proportion to its {@link BookMove#weight()}, or empty when no book move has
+     * ever scored.
+     */
+    public Optional<BookMove> choose(GameState gameState, RandomGenerator random) {
+        List<BookMove> moves = lookup(gameState);
+        int total = 0;
+        for (BookMove move : moves) {
+            total += move.weight();
+        }
+        if (total == 0) {
+            return Optional.empty();
+        }
+        int pick = random.nextInt(total);
+        for (BookMove move : moves) {
+            pick -= move.weight();
+            if (pick < 0) {
+                return Optional.of(move);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int firstIndex(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return entries.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+}
@@ -0,0 +1,249 @@
+package pw.checkers.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pw.checkers.CheckersApplication;
+import pw.checkers.archive.ArchivedGame;
+import pw.checkers.archive.ArchivedGameRepository;
+import pw.checkers.archive.PdnReader;
+import pw.checkers.archive.PdnReplayer;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.GameRecord;
+import pw.checkers.utils.PackedMove;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static pw.checkers.game.OpeningBook.*;
+
+/**
+ * Builds an {@link OpeningBook} file by replaying finished games and counting, for every position in the first
+ * {@code maxPlies} turns, how each move played there ended for the side that played it. Games are streamed one at a
+ * time; only the counters are kept. Starting from an existing book adds new games to its counters, so the book is
+ * rebuilt incrementally from just the games archived since the last run. The new file replaces the old one
+ * atomically.
+ * <p>
+ * Games come either from the game archive, read through {@link ArchivedGameRepository#streamFinished} in a
+ * non-web application context, or from PDN files, replayed the way {@link pw.checkers.archive.PdnImporter} does.
+ * <p>
+ * Usage: {@code OpeningBookBuilder <book> <maxPlies> archive [<since>] [--spring.datasource.url=...]} or
+ * {@code OpeningBookBuilder <book> <maxPlies> <pdn>...}.
+ */
+public class OpeningBookBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBookBuilder.class);
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private static final String ARCHIVE = "archive";
+
+    private final GameRules gameRules = new GameRules();
+    private final MoveEngine moveEngine = new MoveEngine(gameRules);
+    private final PdnReplayer pdnReplayer;
+    private final int maxPlies;
+    private final Map<Entry, int[]> counts = new HashMap<>();
+    private int games;
+    private int skipped;
+
+    public OpeningBookBuilder(int maxPlies) {
+        this.maxPlies = maxPlies;
+        BoardManager boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        this.pdnReplayer = new PdnReplayer(new MoveValidator(boardManager, gameRules), boardManager, gameRules);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: OpeningBookBuilder <book> <maxPlies> archive [<since>] [--spring.datasource.url=...]");
+            System.err.println("       OpeningBookBuilder <book> <maxPlies> <pdn>...");
+            System.exit(2);
+        }
+        Path book = Path.of(args[0]);
+        OpeningBookBuilder builder = new OpeningBookBuilder(Integer.parseInt(args[1]));
+        if (Files.exists(book)) {
+            builder.merge(book);
+        }
+        if (args[2].equals(ARCHIVE)) {
+            builder.addArchive(Arrays.copyOfRange(args, 3, args.length));
+        } else {
+            for (int i = 2; i < args.length; i++) {
+                // only the ASCII move text matters, and Latin-1 decodes any byte
+                try (Reader input = Files.newBufferedReader(Path.of(args[i]), StandardCharsets.ISO_8859_1)) {
+                    builder.addPdn(input);
+                }
+            }
+        }
+        builder.write(book);
+    }
+
+    private void addArchive(String[] args) {
+        Instant since = args.length > 0 && !args[0].startsWith("--") ? Instant.parse(args[0]) : null;
+        // devtools would otherwise restart the context by calling this class's main without the builder's arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CheckersApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            ArchivedGameRepository repository = context.getBean(ArchivedGameRepository.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> addArchive(repository, since));
+        }
+    }
+
+    /**
+     * Adds the counters of an existing book file.
+     */
+    public void merge(Path book) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(book), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(book + " is not an opening book of version " + VERSION);
+            }
+            int size = in.readInt();
+            in.readInt();
+            for (int i = 0; i < size; i++) {
+                long key = in.readLong();
+                int move = in.readChar();
+                int[] entryCounts = counts.computeIfAbsent(new Entry(key, move), entry -> new int[3]);
+                for (int result = 0; result < 3; result++) {
+                    entryCounts[result] += in.readChar();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the archived games finished since {@code since}, or all of them for {@code null}. Must run inside a
+     * transaction, which keeps the cursor of the stream open.
+     */
+    public void addArchive(ArchivedGameRepository repository, Instant since) {
+        try (Stream<ArchivedGame> archived = repository.streamFinished(null, since, null)) {
+            archived.forEach(this::add);
+        }
+    }
+
+    /**
+     * Adds every game of a PDN stream. Games that cannot be parsed or replayed are skipped.
+     */
+    public void addPdn(Reader input) throws IOException {
+        try (PdnReader reader = new PdnReader(input)) {
+            String text;
+            while ((text = reader.next()) != null) {
+                ArchivedGame game;
+                try {
+                    game = pdnReplayer.replay(PdnReader.parse(text));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    logger.debug("Skipping PDN game: {}", e.getMessage());
+                    continue;
+                }
+                add(game);
+            }
+        }
+    }
+
+    public boolean add(ArchivedGame game) {
+        MoveHistory history = MoveHistory.fromBytes(game.getMoves());
+        int[] steps = new int[history.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = history.get(i);
+        }
+        return add(new GameRecord(game.getWinner(), steps));
+    }
+
+    /**
+     * Replays {@code game} and counts its opening moves. A game with an illegal step is skipped as a whole.
+     */
+    public boolean add(GameRecord game) {
+        GameState gameState = GameState.initial();
+        List<Entry> played = new ArrayList<>();
+        List<Color> movers = new ArrayList<>();
+        int ply = 0;
+        for (int step : game.steps()) {
+            if (ply >= maxPlies) {
+                break;
+            }
+            int from = PackedMove.from(step);
+            int to = PackedMove.to(step);
+            if (!isLegal(gameState, from, to)) {
+                skipped++;
+                return false;
+            }
+            if (gameState.getLastCaptureRow() == null) {
+                played.add(new Entry(gameState.positionKey(), PackedMove.squares(step)));
+                movers.add(gameState.getCurrentPlayer());
+            }
+            if (MoveEngine.isTurnEnded(moveEngine.apply(gameState, from, to))) {
+                ply++;
+            }
+        }
+        for (int i = 0; i < played.size(); i++) {
+            int result = game.winner() == null ? 1 : game.winner() == movers.get(i) ? 0 : 2;
+            counts.computeIfAbsent(played.get(i), entry -> new int[3])[result]++;
+        }
+        games++;
+        return true;
+    }
+
+    public void write(Path book) throws IOException {
+        List<Map.Entry<Entry, int[]>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(Comparator.comparingLong(Entry::key).thenComparingInt(Entry::move)));
+        Path directory = book.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, book.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            out.writeInt(0);
+            for (Map.Entry<Entry, int[]> entry : sorted) {
+                out.writeLong(entry.getKey().key());
+                out.writeChar(entry.getKey().move());
+                for (int count : entry.getValue()) {
+                    out.writeChar(Math.min(count, MAX_COUNT));
+                }
+            }
+        }
+        Files.move(temporary, book, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Wrote {} book moves from {} games to {} ({} games skipped)", sorted.size(), games, book, skipped);
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    private boolean isLegal(GameState gameState, int from, int to) {
+        Integer forcedRow = gameState.getLastCaptureRow();
+        if (forcedRow != null && from != Board.toSquare(forcedRow, gameState.getLastCaptureCol())) {
+            return false;
+        }
+        return gameState.getBoard().colorAt(from) == gameState.getCurrentPlayer()
+                && gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer()).contains(from, to);
+    }
+
+    private record Entry(long key, int move) {}
+}
@@ -0,0 +1,100 @@
+package pw.checkers.game;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.SearchProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.utils.AnalysisResult;
+import pw.checkers.utils.SearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deep analysis with Lazy SMP: the calling thread runs the main {@link AlphaBetaSearch} while helper searches on the
+ * analysis pool work on the same position and share their results through the transposition table. The main
+ * search alone decides the move; helpers are stopped when it returns.
+ * <p>
+ * Every searching thread, the caller included, holds a permit of one global quota, so concurrent analyses together
+ * never use more than the configured number of threads. A request gets fewer threads when the quota is short and
+ * waits only when not a single permit is left.
+ */
+@Service
+public class ParallelSearch {
+    private final AlphaBetaSearch alphaBetaSearch;
+    private final Semaphore quota;
+    private final int threadLimit;
+    private final ExecutorService helperPool;
+
+    @Autowired
+    public ParallelSearch(AlphaBetaSearch alphaBetaSearch, SearchProperties searchProperties) {
+        this(alphaBetaSearch, searchProperties.analysisThreadLimit());
+    }
+
+    public ParallelSearch(AlphaBetaSearch alphaBetaSearch, int threadLimit) {
+        this.alphaBetaSearch = alphaBetaSearch;
+        this.threadLimit = Math.max(threadLimit, 1);
+        this.quota = new Semaphore(this.threadLimit);
+        this.helperPool = Executors.newFixedThreadPool(this.threadLimit, Thread.ofPlatform().name("analysis-search-", 0).daemon(true).factory());
+    }
+
+    public Optional<AnalysisResult> analyze(GameState gameState, long budgetNanos, int maxDepth, int threads) throws InterruptedException {
+        int permits = acquire(Math.clamp(threads, 1, threadLimit));
+        long start = System.nanoTime();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Optional<SearchResult>>> helpers = new ArrayList<>(permits - 1);
+        try {
+            for (int helper = 1; helper < permits; helper++) {
+                int id = helper;
+                helpers.add(helperPool.submit(() -> alphaBetaSearch.search(gameState, budgetNanos, maxDepth, id, stop)));
+            }
+            Optional<SearchResult> main = alphaBetaSearch.search(gameState, budgetNanos, maxDepth, 0, stop);
+            stop.set(true);
+            long helperNodes = 0;
+            for (Future<Optional<SearchResult>> helper : helpers) {
+                helperNodes += helper.get().map(SearchResult::nodes).orElse(0L);
+            }
+            long nodes = helperNodes;
+            return main.map(result -> new AnalysisResult(
+                    new SearchResult(result.from(), result.to(), result.score(), result.depth(), result.nodes() + nodes),
+                    permits, System.nanoTime() - start));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Helper search failed", e.getCause());
+        } finally {
+            stop.set(true);
+            quota.release(permits);
+        }
+    }
+
+    public int getAvailableThreads() {
+        return quota.availablePermits();
+    }
+
+    public int getThreadLimit() {
+        return threadLimit;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        helperPool.shutdownNow();
+    }
+
+    private int acquire(int wanted) throws InterruptedException {
+        synchronized (quota) {
+            int granted = Math.min(wanted, quota.availablePermits());
+            if (granted > 0 && quota.tryAcquire(granted)) {
+                return granted;
+            }
+        }
+        quota.acquire();
+        return 1;
+    }
+}
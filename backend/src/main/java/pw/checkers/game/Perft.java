@@ -0,0 +1,90 @@
+package pw.checkers.game;
+
+import org.springframework.stereotype.Service;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.PerftResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaves of the legal-move tree below a position, walking it with {@link MoveEngine} apply/undo on a
+ * single copy of the state. A ply is a single step or jump: a multi-jump is as many plies as it has jumps, all by
+ * the same player. Positions where {@link BoardManager#makeMove} would end the game have no children. In bulk mode
+ * the last ply is counted from the move list instead of being played.
+ */
+@Service
+public class Perft {
+    private final GameRules gameRules;
+    private final MoveEngine moveEngine;
+
+    public Perft(GameRules gameRules, MoveEngine moveEngine) {
+        this.gameRules = gameRules;
+        this.moveEngine = moveEngine;
+    }
+
+    public PerftResult run(GameState gameState, int depth, boolean bulk) {
+        long start = System.nanoTime();
+        long nodes = gameState.isFinished() && depth > 0 ? 0 : new Walk(gameState.copy(), depth).count(depth, 0, bulk);
+        return new PerftResult(depth, nodes, System.nanoTime() - start);
+    }
+
+    public Map<String, Long> divide(GameState gameState, int depth, boolean bulk) {
+        Map<String, Long> nodesByMove = new LinkedHashMap<>();
+        if (depth < 1 || gameState.isFinished()) {
+            return nodesByMove;
+        }
+        Walk walk = new Walk(gameState.copy(), depth);
+        int count = walk.collectMoves(0);
+        for (int i = 0; i < count; i++) {
+            int from = PackedMove.from(walk.moves[0][i]);
+            int to = PackedMove.to(walk.moves[0][i]);
+            long undo = moveEngine.apply(walk.gameState, from, to);
+            long nodes = depth == 1 ? 1 : moveEngine.isDrawByRule(walk.gameState, undo) ? 0 : walk.count(depth - 1, 1, bulk);
+            moveEngine.undo(walk.gameState, undo);
+            nodesByMove.put(Board.toRow(from) + "," + Board.toCol(from) + "-" + Board.toRow(to) + "," + Board.toCol(to), nodes);
+        }
+        return nodesByMove;
+    }
+
+    private class Walk {
+        private final GameState gameState;
+        private final int[][] moves;
+
+        private Walk(GameState gameState, int depth) {
+            this.gameState = gameState;
+            this.moves = new int[Math.max(depth, 1)][];
+        }
+
+        private long count(int depth, int ply, boolean bulk) {
+            if (depth == 0) {
+                return 1;
+            }
+            int count = collectMoves(ply);
+            if (bulk && depth == 1) {
+                return count;
+            }
+            long nodes = 0;
+            for (int i = 0; i < count; i++) {
+                int move = moves[ply][i];
+                long undo = moveEngine.apply(gameState, PackedMove.from(move), PackedMove.to(move));
+                if (depth == 1 || !moveEngine.isDrawByRule(gameState, undo)) {
+                    nodes += count(depth - 1, ply + 1, bulk);
+                }
+                moveEngine.undo(gameState, undo);
+            }
+            return nodes;
+        }
+
+        private int collectMoves(int ply) {
+            LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+            if (moves[ply] == null || moves[ply].length < legalMoves.getSize()) {
+                moves[ply] = new int[Math.max(legalMoves.getSize(), 16)];
+            }
+            return legalMoves.copyMovesFrom(gameState.forcedSquare(), moves[ply]);
+        }
+    }
+}
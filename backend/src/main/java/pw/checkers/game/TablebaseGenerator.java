@@ -0,0 +1,251 @@
+package pw.checkers.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.Material;
+import pw.checkers.utils.PackedMove;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static pw.checkers.game.EndgameTablebase.*;
+
+/**
+ * Offline solver for all positions with up to {@code maxPieces} pieces. Material classes are solved in an order in
+ * which every capture and promotion leads into an already solved class, so only moves inside the class are open.
+ * Inside a class the solver works backwards from the finished positions: each pass marks a position won when some
+ * turn reaches a position already lost for the opponent, and lost when every turn reaches one already won for the
+ * opponent. A pass reads only the previous pass's values, so positions are evaluated in parallel across cores.
+ * Whatever is still open when a pass changes nothing is a draw. The fifty-move and repetition rules are ignored.
+ * <p>
+ * Usage: {@code TablebaseGenerator <directory> <maxPieces>}.
+ */
+public class TablebaseGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TablebaseGenerator.class);
+    private static final char OPEN = 0xC000;
+    private static final int MAX_JUMPS = 16;
+
+    private final GameRules gameRules = new GameRules();
+    private final MoveEngine moveEngine = new MoveEngine(gameRules);
+    private final int maxPieces;
+    private final Map<Integer, char[]> solved = new HashMap<>();
+
+    public TablebaseGenerator(int maxPieces) {
+        this.maxPieces = maxPieces;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TablebaseGenerator <directory> <maxPieces>");
+            System.exit(2);
+        }
+        new TablebaseGenerator(Integer.parseInt(args[1])).generate(Path.of(args[0]));
+    }
+
+    public void generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Material material : materialsInSolvingOrder(maxPieces)) {
+            long start = System.nanoTime();
+            char[] values = solve(material);
+            solved.put(material.key(), values);
+            write(directory.resolve(material.fileName()), material, values);
+            logger.info("Solved {} ({} positions) in {} ms", material, values.length, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Classes by piece count, then by pawn count: a capture removes a piece and a promotion turns a pawn into a king,
+     * so both lead into a class that comes earlier.
+     */
+    static List<Material> materialsInSolvingOrder(int maxPieces) {
+        List<Material> materials = new ArrayList<>();
+        for (int pieces = 2; pieces <= maxPieces; pieces++) {
+            for (int pawns = 0; pawns <= pieces; pawns++) {
+                for (int whitePawns = 0; whitePawns <= pawns; whitePawns++) {
+                    int blackPawns = pawns - whitePawns;
+                    for (int whiteKings = 0; whiteKings <= pieces - pawns; whiteKings++) {
+                        int blackKings = pieces - pawns - whiteKings;
+                        if (whitePawns + whiteKings > 0 && blackPawns + blackKings > 0
+                                && Math.max(Math.max(whitePawns, blackPawns), Math.max(whiteKings, blackKings)) <= TablebaseIndex.MAX_GROUP) {
+                            materials.add(new Material(whitePawns, whiteKings, blackPawns, blackKings));
+                        }
+                    }
+                }
+            }
+        }
+        return materials;
+    }
+
+    private char[] solve(Material material) {
+        long size = TablebaseIndex.size(material);
+        if (size > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Material " + material + " is too large to index");
+        }
+        char[] values = new char[(int) size];
+        ThreadLocal<Walker> walkers = ThreadLocal.withInitial(Walker::new);
+        IntStream.range(0, values.length).parallel().forEach(index -> values[index] = walkers.get().initial(material, index));
+
+        char[] current = values;
+        for (int pass = 1; ; pass++) {
+            char[] previous = current;
+            char[] next = previous.clone();
+            LongAdder changed = new LongAdder();
+            IntStream.range(0, next.length).parallel().forEach(index -> {
+                if (previous[index] == OPEN) {
+                    char value = walkers.get().resolve(material, index, previous);
+                    if (value != OPEN) {
+                        next[index] = value;
+                        changed.increment();
+                    }
+                }
+            });
+            current = next;
+            if (changed.sum() == 0) {
+                break;
+            }
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == OPEN) {
+                current[i] = DRAW;
+            }
+        }
+        return current;
+    }
+
+    private static void write(Path file, Material material, char[] values) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(material.key());
+            out.writeInt(values.length);
+            for (char value : values) {
+                out.writeChar(value);
+            }
+        }
+    }
+
+    /**
+     * Per-thread scratch state for expanding a position into the positions after each complete turn.
+     */
+    private class Walker {
+        private final int[] decoded = new int[4];
+        private final int[][] moves = new int[MAX_JUMPS][];
+        private final GameState gameState = new GameState();
+        private Material material;
+        private char[] values;
+        private int bestWin;
+        private int longestLoss;
+        private boolean allWon;
+
+        private Walker() {
+            gameState.setNumberOfPositions(new PositionCounter());
+        }
+
+        private char initial(Material material, int index) {
+            if (!load(material, index)) {
+                return DRAW;
+            }
+            Color mover = gameState.getCurrentPlayer();
+            if (gameRules.playerHasMoves(gameState, mover)) {
+                return OPEN;
+            }
+            return gameRules.playerHasMoves(gameState, opponent(mover)) ? (char) LOSS : DRAW;
+        }
+
+        private char resolve(Material material, int index, char[] values) {
+            load(material, index);
+            this.material = material;
+            this.values = values;
+            bestWin = Integer.MAX_VALUE;
+            longestLoss = 0;
+            allWon = true;
+            expand(0);
+            if (bestWin != Integer.MAX_VALUE) {
+                return (char) (WIN | bestWin);
+            }
+            return allWon ? (char) (LOSS | longestLoss) : OPEN;
+        }
+
+        private boolean load(Material material, int index) {
+            if (!TablebaseIndex.decode(material, index, decoded)) {
+                return false;
+            }
+            Board board = new Board(decoded[0], decoded[1], decoded[2]);
+            gameState.setBoard(board);
+            gameState.setCurrentPlayer(decoded[3] == 0 ? Color.WHITE : Color.BLACK);
+            gameState.setWhitePiecesLeft(Integer.bitCount(decoded[0]));
+            gameState.setBlackPiecesLeft(Integer.bitCount(decoded[1]));
+            gameState.setNoCapturesCounter(0);
+            gameState.setLastCaptureRow(null);
+            gameState.setLastCaptureCol(null);
+            return true;
+        }
+
+        private void expand(int jump) {
+            int count = collectMoves(jump);
+            for (int i = 0; i < count; i++) {
+                int move = moves[jump][i];
+                long undo = moveEngine.apply(gameState, PackedMove.from(move), PackedMove.to(move));
+                if (MoveEngine.isTurnEnded(undo)) {
+                    record(successorValue());
+                } else {
+                    expand(jump + 1);
+                }
+                moveEngine.undo(gameState, undo);
+            }
+        }
+
+        private void record(int value) {
+            if (isLoss(value)) {
+                bestWin = Math.min(bestWin, distance(value) + 1);
+            } else if (isWin(value)) {
+                longestLoss = Math.max(longestLoss, distance(value) + 1);
+            } else {
+                allWon = false;
+            }
+        }
+
+        /**
+         * Value for the opponent, who is now to move. A side without pieces has lost.
+         */
+        private int successorValue() {
+            Board board = gameState.getBoard();
+            if (gameState.getWhitePiecesLeft() == 0 || gameState.getBlackPiecesLeft() == 0) {
+                return LOSS;
+            }
+            int key = TablebaseIndex.materialKey(board);
+            char[] table = key == material.key() ? values : solved.get(key);
+            if (table == null) {
+                throw new IllegalStateException("No solved table for " + TablebaseIndex.material(board) + " reached from " + material);
+            }
+            char value = table[(int) TablebaseIndex.index(board, gameState.getCurrentPlayer())];
+            return value == OPEN ? DRAW : value;
+        }
+
+        private int collectMoves(int jump) {
+            LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+            if (moves[jump] == null || moves[jump].length < legalMoves.getSize()) {
+                moves[jump] = new int[Math.max(legalMoves.getSize(), 16)];
+            }
+            return legalMoves.copyMovesFrom(gameState.forcedSquare(), moves[jump]);
+        }
+    }
+
+    private static Color opponent(Color color) {
+        return color == Color.WHITE ? Color.BLACK : Color.WHITE;
+    }
+}
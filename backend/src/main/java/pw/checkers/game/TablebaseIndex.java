@@ -0,0 +1,120 @@
+package pw.checkers.game;
+
+import pw.checkers.data.Board;
+import pw.checkers.data.enums.Color;
+import pw.checkers.utils.Material;
+
+/**
+ * Maps a position of a given {@link Material} to a dense table index and back. Each group of like pieces is
+ * ranked in the combinatorial number system over the squares it may stand on (pawns never stand on their promotion
+ * row), and the side to move takes the lowest bit. Groups are ranked independently, so indices whose groups overlap
+ * on a square decode to no position; they are the price for an index that needs no tables.
+ */
+public class TablebaseIndex {
+    public static final int MAX_GROUP = 12;
+    private static final int SQUARES = 32;
+    private static final int PAWN_SQUARES = 28;
+    private static final int WHITE_PAWN_OFFSET = 4;
+    private static final long[][] BINOMIAL = new long[SQUARES + 1][MAX_GROUP + 1];
+
+    static {
+        for (int n = 0; n <= SQUARES; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_GROUP); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    public static long size(Material material) {
+        return BINOMIAL[PAWN_SQUARES][material.whitePawns()] * BINOMIAL[PAWN_SQUARES][material.blackPawns()]
+                * BINOMIAL[SQUARES][material.whiteKings()] * BINOMIAL[SQUARES][material.blackKings()] * 2;
+    }
+
+    public static int materialKey(Board board) {
+        int kings = board.getKings();
+        return Integer.bitCount(board.getWhite() & ~kings)
+                | Integer.bitCount(board.getWhite() & kings) << 4
+                | Integer.bitCount(board.getBlack() & ~kings) << 8
+                | Integer.bitCount(board.getBlack() & kings) << 12;
+    }
+
+    public static Material material(Board board) {
+        int key = materialKey(board);
+        return new Material(key & 0xF, (key >>> 4) & 0xF, (key >>> 8) & 0xF, (key >>> 12) & 0xF);
+    }
+
+    /**
+     * Index of the position in its material's table. Pawns on their promotion row are not indexed and must not
+     * be passed in.
+     */
+    public static long index(Board board, Color sideToMove) {
+        int kings = board.getKings();
+        int whitePawns = board.getWhite() & ~kings;
+        int blackPawns = board.getBlack() & ~kings;
+        int whiteKings = board.getWhite() & kings;
+        int blackKings = board.getBlack() & kings;
+        long index = rank(whitePawns >>> WHITE_PAWN_OFFSET);
+        index = index * BINOMIAL[PAWN_SQUARES][Integer.bitCount(blackPawns)] + rank(blackPawns);
+        index = index * BINOMIAL[SQUARES][Integer.bitCount(whiteKings)] + rank(whiteKings);
+        index = index * BINOMIAL[SQUARES][Integer.bitCount(blackKings)] + rank(blackKings);
+        return index * 2 + (sideToMove == Color.BLACK ? 1 : 0);
+    }
+
+    /**
+     * Decodes {@code index} into {@code out} as white, black and king masks and the side to move (0 white, 1 black).
+     * Returns false when the index names no position because two pieces share a square.
+     */
+    public static boolean decode(Material material, long index, int[] out) {
+        out[3] = (int) (index & 1);
+        long rest = index >>> 1;
+        long blackKingCount = BINOMIAL[SQUARES][material.blackKings()];
+        int blackKings = unrank(rest % blackKingCount, material.blackKings(), SQUARES);
+        rest /= blackKingCount;
+        long whiteKingCount = BINOMIAL[SQUARES][material.whiteKings()];
+        int whiteKings = unrank(rest % whiteKingCount, material.whiteKings(), SQUARES);
+        rest /= whiteKingCount;
+        long blackPawnCount = BINOMIAL[PAWN_SQUARES][material.blackPawns()];
+        int blackPawns = unrank(rest % blackPawnCount, material.blackPawns(), PAWN_SQUARES);
+        rest /= blackPawnCount;
+        int whitePawns = unrank(rest, material.whitePawns(), PAWN_SQUARES) << WHITE_PAWN_OFFSET;
+
+        int[] groups = {whitePawns, blackPawns, whiteKings, blackKings};
+        int occupied = 0;
+        for (int group : groups) {
+            if ((occupied & group) != 0) {
+                return false;
+            }
+            occupied |= group;
+        }
+        out[0] = whitePawns | whiteKings;
+        out[1] = blackPawns | blackKings;
+        out[2] = whiteKings | blackKings;
+        return true;
+    }
+
+    private static long rank(int mask) {
+        long rank = 0;
+        int k = 0;
+        while (mask != 0) {
+            int square = Integer.numberOfTrailingZeros(mask);
+            rank += BINOMIAL[square][++k];
+            mask &= mask - 1;
+        }
+        return rank;
+    }
+
+    private static int unrank(long rank, int k, int squares) {
+        int mask = 0;
+        int square = squares - 1;
+        for (int i = k; i > 0; i--) {
+            while (BINOMIAL[square][i] > rank) {
+                square--;
+            }
+            mask |= 1 << square;
+            rank -= BINOMIAL[square][i];
+            square--;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,156 @@
+package pw.checkers.game;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.SearchProperties;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.TranspositionStats;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size cache of search results shared by every search thread, without locks. Each entry is two longs: the
+ * packed data and the position key XOR-ed with that data. A reader only trusts an entry whose two halves still XOR
+ * back to the key it probed for, so a write torn by a concurrent writer reads as a miss instead of as wrong data.
+ * <p>
+ * Buckets hold two entries. The first keeps the deepest result, unless it is from an earlier search; the second
+ * always takes the newest one, so shallow results near the leaves still find a place.
+ * <p>
+ * Data layout: best move in bits 0-9 (0 for none), bound in bits 10-11, depth in bits 12-19, search generation in
+ * bits 20-27 and the score in the upper 32 bits.
+ */
+@Service
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final int MOVE_MASK = PackedMove.SQUARES_MASK;
+    private static final int BOUND_SHIFT = 10;
+    private static final int DEPTH_SHIFT = 12;
+    private static final int GENERATION_SHIFT = 20;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    @Autowired
+    public TranspositionTable(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        this(searchProperties.transpositionTableMb());
+        FunctionCounter.builder("checkers.search.tt.probes", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("checkers.search.tt.probes", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("checkers.search.tt.collisions", collisions, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("checkers.search.tt.stores", stores, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("checkers.search.tt.capacity", this, TranspositionTable::capacity).register(meterRegistry);
+    }
+
+    public TranspositionTable(int megabytes) {
+        long entries = Math.max((long) megabytes << 20, ENTRY_BYTES * BUCKET_ENTRIES) / ENTRY_BYTES;
+        int buckets = Integer.highestOneBit((int) Math.min(entries / BUCKET_ENTRIES, 1 << 26));
+        this.table = new AtomicLongArray(buckets * BUCKET_ENTRIES * 2);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Starts a new search generation, so entries written by earlier searches give way to new ones.
+     */
+    public void newSearch() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Returns the packed data stored for {@code key}, or 0 when the table has no entry for it.
+     */
+    public long probe(long key) {
+        int base = bucketIndex(key);
+        boolean occupied = false;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int slot = base + i * 2;
+            long data = table.getOpaque(slot + 1);
+            if (data == 0) {
+                continue;
+            }
+            if ((table.getOpaque(slot) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+            occupied = true;
+        }
+        misses.increment();
+        if (occupied) {
+            collisions.increment();
+        }
+        return 0;
+    }
+
+    public void store(long key, int move, int bound, int depth, int score) {
+        int current = generation.get() & BYTE_MASK;
+        long data = (move & MOVE_MASK)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) Math.clamp(depth, 0, BYTE_MASK) << DEPTH_SHIFT)
+                | ((long) current << GENERATION_SHIFT)
+                | ((long) score << 32);
+        int base = bucketIndex(key);
+        int slot = base + 2;
+        long deepData = table.getOpaque(base + 1);
+        if (deepData == 0
+                || (table.getOpaque(base) ^ deepData) == key
+                || generation(deepData) != current
+                || depth(deepData) <= depth) {
+            slot = base;
+        }
+        table.setOpaque(slot + 1, data);
+        table.setOpaque(slot, key ^ data);
+        stores.increment();
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.setOpaque(i, 0);
+        }
+    }
+
+    public int capacity() {
+        return table.length() / 2;
+    }
+
+    public TranspositionStats getStatistics() {
+        return new TranspositionStats(hits.sum(), misses.sum(), collisions.sum(), stores.sum(), capacity());
+    }
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 3);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    public static int score(long data) {
+        return (int) (data >> 32);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & BYTE_MASK);
+    }
+
+    private int bucketIndex(long key) {
+        return (int) ((key ^ (key >>> 32)) & bucketMask) * BUCKET_ENTRIES * 2;
+    }
+}
@@ -0,0 +1,25 @@
+package pw.checkers.message;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.data.enums.MessageType;
+import pw.checkers.sockets.MessageVisitor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class HintInputMessage extends Message implements MessageAccept {
+    private String gameId;
+
+    public HintInputMessage(String gameId) {
+        super(MessageType.HINT.getValue());
+        this.gameId = gameId;
+    }
+
+    @Override
+    public void accept(MessageVisitor visitor, WebSocketSession session) throws Exception {
+        visitor.visit(this, session);
+    }
+}
@@ -0,0 +1,26 @@
+package pw.checkers.message;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import pw.checkers.data.Board;
+import pw.checkers.data.enums.MessageType;
+import pw.checkers.utils.SearchResult;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class HintOutputMessage extends Message {
+    private String gameId;
+    private Move move;
+    private int score;
+    private int depth;
+
+    public HintOutputMessage(String gameId, SearchResult result) {
+        super(MessageType.HINT.getValue());
+        this.gameId = gameId;
+        this.move = new Move(Board.toRow(result.from()), Board.toCol(result.from()), Board.toRow(result.to()), Board.toCol(result.to()));
+        this.score = result.score();
+        this.depth = result.depth();
+    }
+}
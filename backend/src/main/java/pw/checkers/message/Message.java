@@ -22,6 +22,7 @@ import lombok.*;
         @JsonSubTypes.Type(value = LeaveQueueMessage.class, name = "leaveQueue"),
         @JsonSubTypes.Type(value = MoveInputMessage.class, name = "move"),
         @JsonSubTypes.Type(value = PossibilitiesInputMessage.class, name = "possibilities"),
+        @JsonSubTypes.Type(value = HintInputMessage.class, name = "hint"),
         @JsonSubTypes.Type(value = RematchRequestMessage.class, name = "rematchRequest"),
         @JsonSubTypes.Type(value = AcceptRematchMessage.class, name = "acceptRematch"),
         @JsonSubTypes.Type(value = DeclineRematchMessage.class, name = "declineRematch"),
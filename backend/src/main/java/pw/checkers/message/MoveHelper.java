@@ -2,13 +2,29 @@ package pw.checkers.message;
 
 
 import lombok.*;
+import pw.checkers.data.Board;
 
+/**
+ * A square in outgoing messages. Immutable, so the one instance per playable square from {@link #ofSquare} is
+ * shared by every message instead of allocating one per possible move.
+ */
 @Getter
-@Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode
 public class MoveHelper {
+    private static final MoveHelper[] SQUARES = new MoveHelper[32];
+
+    static {
+        for (int square = 0; square < SQUARES.length; square++) {
+            SQUARES[square] = new MoveHelper(Board.toRow(square), Board.toCol(square));
+        }
+    }
+
     private int row;
     private int col;
+
+    public static MoveHelper ofSquare(int square) {
+        return SQUARES[square];
+    }
 }
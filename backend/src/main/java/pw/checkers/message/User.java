@@ -1,5 +1,6 @@
 package pw.checkers.message;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 @Getter
@@ -9,4 +10,11 @@ import lombok.*;
 @EqualsAndHashCode
 public class User {
     private String username;
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer rating;
+
+    public User(String username) {
+        this.username = username;
+    }
 }
@@ -22,6 +22,7 @@ public class CheckersWebSocketHandler extends TextWebSocketHandler implements Me
     private final LeaveQueueHandler leaveQueueHandler;
     private final MoveHandler moveHandler;
     private final PossibilitiesHandler possibilitiesHandler;
+    private final HintHandler hintHandler;
     private final AcceptRematchHandler acceptRematchHandler;
     private final LeaveHandler leaveHandler;
     private final DeclineRematchHandler declineRematchHandler;
@@ -30,12 +31,13 @@ public class CheckersWebSocketHandler extends TextWebSocketHandler implements Me
     private final MessageMapper messageMapper;
 
 
-    public CheckersWebSocketHandler(SessionManager sessionManager, JoinQueueHandler joinQueueHandler, LeaveQueueHandler leaveQueueHandler, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, AcceptRematchHandler acceptRematchHandler, LeaveHandler leaveHandler, DeclineRematchHandler declineRematchHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler, MessageMapper messageMapper) {
+    public CheckersWebSocketHandler(SessionManager sessionManager, JoinQueueHandler joinQueueHandler, LeaveQueueHandler leaveQueueHandler, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, HintHandler hintHandler, AcceptRematchHandler acceptRematchHandler, LeaveHandler leaveHandler, DeclineRematchHandler declineRematchHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler, MessageMapper messageMapper) {
         this.sessionManager = sessionManager;
         this.joinQueueHandler = joinQueueHandler;
         this.leaveQueueHandler = leaveQueueHandler;
         this.moveHandler = moveHandler;
         this.possibilitiesHandler = possibilitiesHandler;
+        this.hintHandler = hintHandler;
         this.acceptRematchHandler = acceptRematchHandler;
         this.leaveHandler = leaveHandler;
         this.declineRematchHandler = declineRematchHandler;
@@ -83,6 +85,11 @@ public class CheckersWebSocketHandler extends TextWebSocketHandler implements Me
         possibilitiesHandler.handlePossibilities(session, message);
     }
 
+    @Override
+    public void visit(HintInputMessage message, WebSocketSession session) throws IOException {
+        hintHandler.handleHint(session, message);
+    }
+
     @Override
     public void visit(AcceptRematchMessage message, WebSocketSession session) throws IOException {
         acceptRematchHandler.handleAcceptRematch(session, message);
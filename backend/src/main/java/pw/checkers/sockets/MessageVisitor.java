@@ -10,6 +10,7 @@ public interface MessageVisitor {
     void visit(LeaveQueueMessage message, WebSocketSession session);
     void visit(MoveInputMessage message, WebSocketSession session) throws IOException;
     void visit(PossibilitiesInputMessage message, WebSocketSession session) throws IOException;
+    void visit(HintInputMessage message, WebSocketSession session) throws IOException;
     void visit(RematchRequestMessage message, WebSocketSession session) throws IOException;
     void visit(AcceptRematchMessage message, WebSocketSession session) throws IOException;
     void visit(DeclineRematchMessage message, WebSocketSession session) throws IOException;
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.message.AcceptRematchMessage;
 import pw.checkers.message.GameIdMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.RematchService;
 
 import java.io.IOException;
@@ -11,13 +12,15 @@ import java.io.IOException;
 @Service
 public class AcceptRematchHandler {
     private final RematchService rematchService;
+    private final GameExecutor gameExecutor;
 
-    public AcceptRematchHandler(RematchService rematchService) {
+    public AcceptRematchHandler(RematchService rematchService, GameExecutor gameExecutor) {
         this.rematchService = rematchService;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handleAcceptRematch(WebSocketSession session, AcceptRematchMessage acceptRematchMessage) throws IOException {
-        startRematch(session, acceptRematchMessage);
+        gameExecutor.submit(acceptRematchMessage.getGameId(), () -> startRematch(session, acceptRematchMessage));
     }
 
     private void startRematch(WebSocketSession session, GameIdMessage gameIdMessage) throws IOException {
@@ -6,6 +6,7 @@ import pw.checkers.message.DeclineRematchMessage;
 import pw.checkers.message.GameIdMessage;
 import pw.checkers.message.Message;
 import pw.checkers.message.PromptMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.RematchService;
@@ -24,15 +25,21 @@ public class DeclineRematchHandler {
     private final RematchService rematchService;
     private final SessionManager sessionManager;
     private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
 
-    public DeclineRematchHandler(GameManager gameManager, RematchService rematchService, SessionManager sessionManager, MessageSender messageSender) {
+    public DeclineRematchHandler(GameManager gameManager, RematchService rematchService, SessionManager sessionManager, MessageSender messageSender, GameExecutor gameExecutor) {
         this.gameManager = gameManager;
         this.rematchService = rematchService;
         this.sessionManager = sessionManager;
         this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handleDeclineRematch(WebSocketSession session, DeclineRematchMessage declineRematchMessage) throws IOException {
+        gameExecutor.submit(declineRematchMessage.getGameId(), () -> declineRematch(session, declineRematchMessage));
+    }
+
+    private void declineRematch(WebSocketSession session, DeclineRematchMessage declineRematchMessage) throws IOException {
         sendRejection(session, declineRematchMessage);
         gameManager.cleanGameHistory(declineRematchMessage);
         rematchService.removeFromRematchRequests(declineRematchMessage.getGameId());
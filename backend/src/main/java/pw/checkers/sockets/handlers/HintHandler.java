@@ -0,0 +1,69 @@
+package pw.checkers.sockets.handlers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.data.GameState;
+import pw.checkers.game.HintService;
+import pw.checkers.message.HintInputMessage;
+import pw.checkers.message.HintOutputMessage;
+import pw.checkers.sockets.services.GameExecutor;
+import pw.checkers.sockets.services.GameManager;
+import pw.checkers.sockets.services.MessageSender;
+import pw.checkers.sockets.services.SessionManager;
+import pw.checkers.utils.SearchResult;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@Service
+public class HintHandler {
+    private static final Logger logger = LoggerFactory.getLogger(HintHandler.class);
+
+    private final GameManager gameManager;
+    private final SessionManager sessionManager;
+    private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
+    private final HintService hintService;
+
+    public HintHandler(GameManager gameManager, SessionManager sessionManager, MessageSender messageSender,
+                       GameExecutor gameExecutor, HintService hintService) {
+        this.gameManager = gameManager;
+        this.sessionManager = sessionManager;
+        this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
+        this.hintService = hintService;
+    }
+
+    public void handleHint(WebSocketSession session, HintInputMessage hintInputMessage) throws IOException {
+        gameExecutor.submit(hintInputMessage.getGameId(), () -> requestHint(session, hintInputMessage.getGameId()));
+    }
+
+    private void requestHint(WebSocketSession session, String gameId) throws IOException {
+        Optional<String> maybeColor = sessionManager.getAssignedColor(gameId, session);
+        if (maybeColor.isEmpty()) return;
+        GameState gameState = gameManager.getGame(gameId);
+        if (gameState == null || gameState.isFinished()) {
+            messageSender.sendError(session, "No hint available");
+            return;
+        }
+        if (!gameState.getCurrentPlayer().getValue().equals(maybeColor.get())) {
+            messageSender.sendError(session, "It is not your turn");
+            return;
+        }
+        hintService.hint(gameState.copy()).whenComplete((result, error) -> sendHint(session, gameId, result, error));
+    }
+
+    private void sendHint(WebSocketSession session, String gameId, Optional<SearchResult> result, Throwable error) {
+        try {
+            if (error != null || result.isEmpty()) {
+                messageSender.sendError(session, "No hint available");
+                return;
+            }
+            messageSender.sendMessage(session, new HintOutputMessage(gameId, result.get()));
+        } catch (IOException e) {
+            logger.warn("Could not send hint for game {}", gameId, e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package pw.checkers.sockets.handlers;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.message.LeaveMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.SessionManager;
 
@@ -12,13 +13,19 @@ import java.io.IOException;
 public class LeaveHandler {
     private final GameManager gameManager;
     private final SessionManager sessionManager;
+    private final GameExecutor gameExecutor;
 
-    public LeaveHandler(GameManager gameManager, SessionManager sessionManager) {
+    public LeaveHandler(GameManager gameManager, SessionManager sessionManager, GameExecutor gameExecutor) {
         this.gameManager = gameManager;
         this.sessionManager = sessionManager;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handleLeave(WebSocketSession session, LeaveMessage leaveMessage) throws IOException {
+        gameExecutor.submit(leaveMessage.getGameId(), () -> leave(session, leaveMessage));
+    }
+
+    private void leave(WebSocketSession session, LeaveMessage leaveMessage) {
         gameManager.cleanGameHistory(leaveMessage);
         sessionManager.removeUsersBySessionEntry(session);
     }
@@ -3,17 +3,17 @@ package pw.checkers.sockets.handlers;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.message.User;
-import pw.checkers.sockets.services.SessionManager;
+import pw.checkers.sockets.services.MatchmakingQueue;
 
 @Service
 public class LeaveQueueHandler {
-    private final SessionManager sessionManager;
+    private final MatchmakingQueue matchmakingQueue;
 
-    public LeaveQueueHandler(SessionManager sessionManager) {
-        this.sessionManager = sessionManager;
+    public LeaveQueueHandler(MatchmakingQueue matchmakingQueue) {
+        this.matchmakingQueue = matchmakingQueue;
     }
 
     public void handleLeaveQueue(WebSocketSession session, User user) {
-        sessionManager.removeWaitingPlayerFromQueue(session, user);
+        matchmakingQueue.remove(session, user);
     }
 }
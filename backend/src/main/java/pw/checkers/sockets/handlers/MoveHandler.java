@@ -7,6 +7,8 @@ import pw.checkers.message.MoveInputMessage;
 import pw.checkers.message.MoveOutputMessage;
 import pw.checkers.message.PossibilitiesInputMessage;
 import pw.checkers.message.PossibilitiesOutputMessage;
+import pw.checkers.sockets.services.BotPlayer;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.SessionManager;
@@ -19,18 +21,30 @@ public class MoveHandler {
     private final SessionManager sessionManager;
     private final GameManager gameManager;
     private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
+    private final BotPlayer botPlayer;
 
-    public MoveHandler(SessionManager sessionManager, GameManager gameManager, MessageSender messageSender) {
+    public MoveHandler(SessionManager sessionManager, GameManager gameManager, MessageSender messageSender, GameExecutor gameExecutor, BotPlayer botPlayer) {
         this.sessionManager = sessionManager;
         this.gameManager = gameManager;
         this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
+        this.botPlayer = botPlayer;
     }
 
     public void handleMove(WebSocketSession session, MoveInputMessage moveInputMessage) throws IOException {
+        gameExecutor.submit(moveInputMessage.getGameId(), () -> processMove(session, moveInputMessage));
+    }
+
+    private void processMove(WebSocketSession session, MoveInputMessage moveInputMessage) throws IOException {
         String gameId = moveInputMessage.getGameId();
         Optional<String> maybeColor = sessionManager.getAssignedColor(gameId, session);
         if (maybeColor.isEmpty()) return;
         String assignedColor = maybeColor.get();
+        if (!isPlayersTurn(gameId, assignedColor)) {
+            messageSender.sendError(session, "It is not your turn");
+            return;
+        }
         MoveOutputMessage moveOutputMessage = gameManager.makeMove(gameId, moveInputMessage.getMove(), assignedColor);
         GameState updatedState = gameManager.getGame(gameId);
 
@@ -38,13 +52,21 @@ public class MoveHandler {
 
         if (updatedState.isFinished()) {
             handleGameEnd(gameId, updatedState);
+            gameManager.archiveGame(gameId);
         }
 
         if (moveOutputMessage != null && moveOutputMessage.isHasMoreTakes()) {
             handleMoreTakes(gameId, moveOutputMessage, session, assignedColor);
+        } else if (moveOutputMessage != null) {
+            botPlayer.onMovePlayed(gameId);
         }
     }
 
+    private boolean isPlayersTurn(String gameId, String assignedColor) {
+        GameState gameState = gameManager.getGame(gameId);
+        return gameState != null && gameState.getCurrentPlayer().getValue().equals(assignedColor);
+    }
+
     private void handleGameEnd(String gameId, GameState gameState) throws IOException {
         gameManager.setGameEndReason(gameId, false);
         messageSender.broadcastGameEnd(sessionManager.getSessionsByGameId(gameId),
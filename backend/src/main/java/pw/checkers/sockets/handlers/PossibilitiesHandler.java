@@ -4,6 +4,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.message.PossibilitiesInputMessage;
 import pw.checkers.message.PossibilitiesOutputMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.SessionManager;
@@ -16,14 +17,20 @@ public class PossibilitiesHandler {
     private final GameManager gameManager;
     private final SessionManager sessionManager;
     private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
 
-    public PossibilitiesHandler(GameManager gameManager, SessionManager sessionManager, MessageSender messageSender) {
+    public PossibilitiesHandler(GameManager gameManager, SessionManager sessionManager, MessageSender messageSender, GameExecutor gameExecutor) {
         this.gameManager = gameManager;
         this.sessionManager = sessionManager;
         this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handlePossibilities(WebSocketSession session, PossibilitiesInputMessage possibilitiesInputMessage) throws IOException {
+        gameExecutor.submit(possibilitiesInputMessage.getGameId(), () -> sendPossibilities(session, possibilitiesInputMessage));
+    }
+
+    private void sendPossibilities(WebSocketSession session, PossibilitiesInputMessage possibilitiesInputMessage) throws IOException {
         PossibilitiesOutputMessage moves = gameManager.getPossibleMoves(possibilitiesInputMessage, session);
         if (moves == null) return;
         Optional<String> maybeColor = sessionManager.getAssignedColor(possibilitiesInputMessage.getGameId(), session);
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.message.GameIdMessage;
 import pw.checkers.message.RematchRequestMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.RematchService;
 
 import java.io.IOException;
@@ -11,13 +12,15 @@ import java.io.IOException;
 @Service
 public class RematchRequestHandler {
     private final RematchService rematchService;
+    private final GameExecutor gameExecutor;
 
-    public RematchRequestHandler(RematchService rematchService) {
+    public RematchRequestHandler(RematchService rematchService, GameExecutor gameExecutor) {
         this.rematchService = rematchService;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handleRematchRequest(WebSocketSession session, RematchRequestMessage rematchRequestMessage) throws IOException {
-        proposeRematch(session, rematchRequestMessage);
+        gameExecutor.submit(rematchRequestMessage.getGameId(), () -> proposeRematch(session, rematchRequestMessage));
     }
 
     private void proposeRematch(WebSocketSession session, GameIdMessage gameIdMessage) throws IOException {
@@ -5,6 +5,7 @@ import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.data.GameState;
 import pw.checkers.data.enums.GameEndReason;
 import pw.checkers.message.ResignMessage;
+import pw.checkers.sockets.services.GameExecutor;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.SessionManager;
@@ -18,14 +19,20 @@ public class ResignHandler {
     private final SessionManager sessionManager;
     private final GameManager gameManager;
     private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
 
-    public ResignHandler(SessionManager sessionManager, GameManager gameManager, MessageSender messageSender) {
+    public ResignHandler(SessionManager sessionManager, GameManager gameManager, MessageSender messageSender, GameExecutor gameExecutor) {
         this.sessionManager = sessionManager;
         this.gameManager = gameManager;
         this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
     }
 
     public void handleResign(WebSocketSession session, ResignMessage resignMessage) throws IOException {
+        gameExecutor.submit(resignMessage.getGameId(), () -> resign(session, resignMessage));
+    }
+
+    private void resign(WebSocketSession session, ResignMessage resignMessage) throws IOException {
         Map<WebSocketSession, String> colorsBySession = sessionManager.getColorAssignments(resignMessage.getGameId());
         String assignedColor = sessionManager.getAssignedColorByGameIdAndSession(resignMessage.getGameId(), session);
         String opponentColor = assignedColor.equals("white") ? "black" : "white";
@@ -33,5 +40,6 @@ public class ResignHandler {
         GameState updatedState = gameManager.setGameEnd(resignMessage, opponentColor);
         updatedState.setGameEndReason(GameEndReason.RESIGNATION);
         messageSender.broadcastGameEnd(sessions, updatedState, colorsBySession);
+        gameManager.archiveGame(resignMessage.getGameId());
     }
 }
@@ -0,0 +1,164 @@
+package pw.checkers.sockets.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.config.BotProperties;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.AlphaBetaSearch;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.OpeningBook;
+import pw.checkers.message.JoinMessage;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.message.User;
+import pw.checkers.utils.BookMove;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.SearchResult;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static pw.checkers.utils.Constants.BOT_USERNAME;
+
+/**
+ * Plays the bot's side of bot games. Searches run on a small pool of low-priority platform threads with a bounded
+ * queue, away from the WebSocket and game mailbox threads; each search works on a copy of the game and its result
+ * is played back through the game's mailbox, and only if the position is still the one that was searched.
+ * Positions in the {@link OpeningBook} are answered from it on the mailbox without a search, and so is every position
+ * while the search queue is full: the bot then plays its first legal move rather than search on the mailbox.
+ */
+@Service
+public class BotPlayer {
+    private static final Logger logger = LoggerFactory.getLogger(BotPlayer.class);
+
+    private final AlphaBetaSearch alphaBetaSearch;
+    private final GameRules gameRules;
+    private final OpeningBook openingBook;
+    private final GameManager gameManager;
+    private final SessionManager sessionManager;
+    private final MessageSender messageSender;
+    private final GameExecutor gameExecutor;
+    private final long moveTimeNanos;
+    private final int maxDepth;
+    private final ThreadPoolExecutor searchPool;
+
+    public BotPlayer(AlphaBetaSearch alphaBetaSearch, GameRules gameRules, OpeningBook openingBook, GameManager gameManager,
+                     SessionManager sessionManager, MessageSender messageSender, GameExecutor gameExecutor, BotProperties botProperties) {
+        this.alphaBetaSearch = alphaBetaSearch;
+        this.gameRules = gameRules;
+        this.openingBook = openingBook;
+        this.gameManager = gameManager;
+        this.sessionManager = sessionManager;
+        this.messageSender = messageSender;
+        this.gameExecutor = gameExecutor;
+        this.moveTimeNanos = botProperties.moveTime().toNanos();
+        this.maxDepth = botProperties.maxDepth();
+        int threads = Math.max(botProperties.threads(), 1);
+        this.searchPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                botProperties.queueCapacity() > 0 ? new ArrayBlockingQueue<>(botProperties.queueCapacity()) : new SynchronousQueue<>(),
+                Thread.ofPlatform().name("bot-search-", 0).daemon(true).priority(Thread.MIN_PRIORITY).factory());
+    }
+
+    public String startGame(WebSocketSession session, User user, Color color) throws IOException {
+        String gameId = gameManager.createGame();
+        sessionManager.addBotGame(gameId, session, user, color);
+        messageSender.sendMessage(session, color.getValue(), new JoinMessage(gameId, color.getValue(), new User(BOT_USERNAME)));
+        gameExecutor.submit(gameId, () -> onMovePlayed(gameId));
+        return gameId;
+    }
+
+    public boolean isBotGame(String gameId) {
+        return sessionManager.getBotColor(gameId).isPresent();
+    }
+
+    /**
+     * Starts the bot's reply if it is the bot's turn in {@code gameId}. Must run on the game's mailbox.
+     */
+    public void onMovePlayed(String gameId) {
+        Optional<String> botColor = sessionManager.getBotColor(gameId);
+        GameState gameState = gameManager.getGame(gameId);
+        if (botColor.isEmpty() || gameState == null || gameState.isFinished()
+                || !gameState.getCurrentPlayer().getValue().equals(botColor.get())) {
+            return;
+        }
+        long positionKey = gameState.positionKey();
+        Optional<BookMove> bookMove = openingBook.choose(gameState, ThreadLocalRandom.current());
+        if (bookMove.isPresent()) {
+            try {
+                play(gameId, positionKey, bookMove.get().from(), bookMove.get().to());
+            } catch (IOException e) {
+                logger.warn("Could not play book move in game {}", gameId, e);
+            }
+            return;
+        }
+        GameState snapshot = gameState.copy();
+        try {
+            searchPool.execute(() -> think(gameId, snapshot, positionKey, moveTimeNanos, maxDepth));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Bot search pool is full, game {} gets its first legal move", gameId);
+            LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+            int[] playable = new int[legalMoves.getSize()];
+            if (legalMoves.copyMovesFrom(gameState.forcedSquare(), playable) == 0) {
+                return;
+            }
+            try {
+                play(gameId, positionKey, PackedMove.from(playable[0]), PackedMove.to(playable[0]));
+            } catch (IOException ioException) {
+                logger.warn("Could not play fallback move in game {}", gameId, ioException);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    private void think(String gameId, GameState snapshot, long positionKey, long budgetNanos, int depth) {
+        Optional<SearchResult> result = alphaBetaSearch.search(snapshot, budgetNanos, depth);
+        if (result.isEmpty()) {
+            return;
+        }
+        try {
+            gameExecutor.submit(gameId, () -> play(gameId, positionKey, result.get().from(), result.get().to()));
+        } catch (IOException e) {
+            logger.warn("Could not play bot move in game {}", gameId, e);
+        }
+    }
+
+    private void play(String gameId, long positionKey, int from, int to) throws IOException {
+        Optional<String> botColor = sessionManager.getBotColor(gameId);
+        GameState gameState = gameManager.getGame(gameId);
+        if (botColor.isEmpty() || gameState == null || gameState.isFinished() || gameState.positionKey() != positionKey) {
+            return;
+        }
+        Move move = new Move(Board.toRow(from), Board.toCol(from), Board.toRow(to), Board.toCol(to));
+        MoveOutputMessage moveOutputMessage = gameManager.makeMove(gameId, move, botColor.get());
+        if (moveOutputMessage == null) {
+            logger.warn("Bot move {}-{} was rejected in game {}", from, to, gameId);
+            return;
+        }
+        messageSender.broadcastToGame(sessionManager.getSessionsByGameId(gameId), moveOutputMessage, sessionManager.getColorAssignments(gameId));
+        if (gameState.isFinished()) {
+            gameManager.setGameEndReason(gameId, false);
+            messageSender.broadcastGameEnd(sessionManager.getSessionsByGameId(gameId), gameState, sessionManager.getColorAssignments(gameId));
+            gameManager.archiveGame(gameId);
+            return;
+        }
+        if (moveOutputMessage.isHasMoreTakes()) {
+            onMovePlayed(gameId);
+        }
+    }
+}
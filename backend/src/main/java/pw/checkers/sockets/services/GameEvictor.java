@@ -0,0 +1,45 @@
+package pw.checkers.sockets.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Drops games whose time is up. The timer only collects candidates; each removal runs on the game's own mailbox,
+ * after any command already queued for it, and checks the deadline again there.
+ */
+@Service
+public class GameEvictor {
+    private static final Logger logger = LoggerFactory.getLogger(GameEvictor.class);
+
+    private final GameManager gameManager;
+    private final RematchService rematchService;
+    private final GameExecutor gameExecutor;
+
+    public GameEvictor(GameManager gameManager, RematchService rematchService, GameExecutor gameExecutor) {
+        this.gameManager = gameManager;
+        this.rematchService = rematchService;
+        this.gameExecutor = gameExecutor;
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void evictExpiredGames() {
+        for (String gameId : gameManager.collectExpiredGames()) {
+            try {
+                gameExecutor.submit(gameId, () -> evict(gameId));
+            } catch (IOException e) {
+                logger.warn("Could not evict game {}", gameId, e);
+            }
+        }
+    }
+
+    private void evict(String gameId) {
+        if (gameManager.evictIfExpired(gameId)) {
+            // pending rematch requests would otherwise keep the sessions of the evicted game
+            rematchService.removeFromRematchRequests(gameId);
+        }
+    }
+}
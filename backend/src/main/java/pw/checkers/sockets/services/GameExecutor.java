@@ -0,0 +1,83 @@
+package pw.checkers.sockets.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every command for a game on that game's mailbox, one at a time and in arrival order, so a game
+ * has a single writer without any lock shared between games. A mailbox lives in the map only while it has
+ * work: it is created by the first submit and removed by its drainer once it runs empty.
+ */
+@Service
+public class GameExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(GameExecutor.class);
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public void submit(String gameId, GameCommand command) throws IOException {
+        if (gameId == null) {
+            command.execute();
+            return;
+        }
+        mailboxes.compute(gameId, (id, mailbox) -> {
+            Mailbox target = mailbox == null ? new Mailbox(id) : mailbox;
+            target.commands.add(command);
+            if (mailbox == null) {
+                executor.execute(target);
+            }
+            return target;
+        });
+    }
+
+    public int getActiveMailboxes() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface GameCommand {
+        void execute() throws IOException;
+    }
+
+    private class Mailbox implements Runnable {
+        private final String gameId;
+        private final Queue<GameCommand> commands = new ConcurrentLinkedQueue<>();
+
+        private Mailbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                GameCommand command = commands.poll();
+                if (command == null) {
+                    if (mailboxes.computeIfPresent(gameId, (id, mailbox) -> mailbox.commands.isEmpty() ? null : mailbox) == null) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    command.execute();
+                } catch (Exception e) {
+                    logger.error("Command for game {} failed", gameId, e);
+                }
+            }
+        }
+    }
+}
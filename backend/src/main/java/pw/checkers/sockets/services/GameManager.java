@@ -2,6 +2,7 @@ package pw.checkers.sockets.services;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.archive.GameArchive;
 import pw.checkers.data.GameState;
 import pw.checkers.data.enums.Color;
 import pw.checkers.game.GameEndManager;
@@ -9,18 +10,24 @@ import pw.checkers.game.GameService;
 import pw.checkers.message.*;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static pw.checkers.utils.Constants.BOT_USERNAME;
+
 @Service
 public class GameManager {
     private final GameService gameService;
     private final SessionManager sessionManager;
     private final GameEndManager gameEndManager;
+    private final GameArchive gameArchive;
 
-    public GameManager(GameService gameService, SessionManager sessionManager, GameEndManager gameEndManager) {
+    public GameManager(GameService gameService, SessionManager sessionManager, GameEndManager gameEndManager, GameArchive gameArchive) {
         this.gameService = gameService;
         this.sessionManager = sessionManager;
         this.gameEndManager = gameEndManager;
+        this.gameArchive = gameArchive;
     }
 
     public void cleanGameHistory(GameIdMessage gameIdMessage){
@@ -29,6 +36,22 @@ public class GameManager {
         gameService.deleteGame(gameId);
     }
 
+    public List<String> collectExpiredGames() {
+        return gameService.collectExpiredGames();
+    }
+
+    /**
+     * Drops a collected game from the game service and the session maps if its time is still up. Call it on the
+     * game's mailbox, so no command of that game is running while its maps go away.
+     */
+    public boolean evictIfExpired(String gameId) {
+        if (!gameService.evictIfExpired(gameId)) {
+            return false;
+        }
+        sessionManager.removeGameFromMaps(gameId);
+        return true;
+    }
+
     public String createGame() {
         GameState newGame = gameService.createGame();
         return newGame.getGameId();
@@ -60,10 +83,41 @@ public class GameManager {
         gameState.setFinished(true);
         Color player = winner.equals("white") ? Color.WHITE : Color.BLACK;
         gameState.setWinner(player);
+        gameService.recordGameEnd(gameId);
         return gameState;
     }
 
     public void setGameEndReason(String gameId, boolean resigned) {
         gameEndManager.setGameEndReason(getGame(gameId), resigned);
     }
+
+    /**
+     * Hands a game that has just finished to the archive, once. Call it on the game's mailbox after the end of the
+     * game has been broadcast.
+     */
+    public void archiveGame(String gameId) {
+        GameState gameState = gameService.getGame(gameId);
+        if (gameState == null || !gameState.isFinished() || gameState.isArchived()) {
+            return;
+        }
+        gameState.setArchived(true);
+        gameArchive.archive(gameState, playerName(gameId, Color.WHITE), playerName(gameId, Color.BLACK));
+    }
+
+    private String playerName(String gameId, Color color) {
+        if (sessionManager.getBotColor(gameId).filter(color.getValue()::equals).isPresent()) {
+            return BOT_USERNAME;
+        }
+        Map<WebSocketSession, String> colors = sessionManager.getColorAssignments(gameId);
+        if (colors == null) {
+            return null;
+        }
+        for (Map.Entry<WebSocketSession, String> entry : colors.entrySet()) {
+            if (entry.getValue().equals(color.getValue())) {
+                User user = sessionManager.getUserBySession(entry.getKey());
+                return user == null ? null : user.getUsername();
+            }
+        }
+        return null;
+    }
 }
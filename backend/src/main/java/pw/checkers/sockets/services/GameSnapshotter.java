@@ -0,0 +1,127 @@
+package pw.checkers.sockets.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import pw.checkers.config.JournalProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.game.GameService;
+import pw.checkers.game.GameSnapshotStore;
+import pw.checkers.game.MoveJournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Periodically writes every game in progress to a {@link GameSnapshotStore} so that journal recovery only has to
+ * replay the steps played since. Each game is copied on its own mailbox, which holds it up no longer than a move
+ * would, and encoded and written on the snapshot thread; games are copied in batches to bound the memory held. A game
+ * that fails to copy is left out without holding up the snapshot; the journal keeps all of its records, so it is
+ * rebuilt from them after a restart.
+ */
+@Service
+public class GameSnapshotter {
+    private static final Logger logger = LoggerFactory.getLogger(GameSnapshotter.class);
+    private static final int BATCH_SIZE = 1024;
+
+    private final GameService gameService;
+    private final GameExecutor gameExecutor;
+    private final MoveJournal moveJournal;
+    private final GameSnapshotStore gameSnapshotStore;
+    private final long intervalNanos;
+    private volatile boolean closed;
+    private Thread snapshotter;
+
+    public GameSnapshotter(GameService gameService, GameExecutor gameExecutor, MoveJournal moveJournal,
+                           GameSnapshotStore gameSnapshotStore, JournalProperties journalProperties) {
+        this.gameService = gameService;
+        this.gameExecutor = gameExecutor;
+        this.moveJournal = moveJournal;
+        this.gameSnapshotStore = gameSnapshotStore;
+        this.intervalNanos = journalProperties.snapshotInterval().toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!gameSnapshotStore.isEnabled() || intervalNanos <= 0) {
+            return;
+        }
+        snapshotter = Thread.ofPlatform().name("game-snapshotter").daemon(true).start(() -> {
+            while (true) {
+                LockSupport.parkNanos(intervalNanos);
+                if (closed) {
+                    return;
+                }
+                try {
+                    snapshot();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Writing the game snapshot failed", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a snapshot of the games in progress and returns how many it holds.
+     */
+    public int snapshot() throws IOException {
+        long start = System.nanoTime();
+        int segment = moveJournal.currentSegment();
+        List<GameState> games = gameService.getGamesInProgress();
+        Set<String> written = new HashSet<>();
+        try (GameSnapshotStore.Writer writer = gameSnapshotStore.write(segment)) {
+            for (int from = 0; from < games.size(); from += BATCH_SIZE) {
+                List<CompletableFuture<GameState>> copies = new ArrayList<>(BATCH_SIZE);
+                for (GameState gameState : games.subList(from, Math.min(from + BATCH_SIZE, games.size()))) {
+                    CompletableFuture<GameState> copy = new CompletableFuture<>();
+                    gameExecutor.submit(gameState.getGameId(), () -> {
+                        try {
+                            copy.complete(gameState.isFinished() ? null : gameState.copy());
+                        } catch (RuntimeException e) {
+                            copy.completeExceptionally(e);
+                        }
+                    });
+                    copies.add(copy);
+                }
+                for (CompletableFuture<GameState> copy : copies) {
+                    GameState gameState;
+                    try {
+                        gameState = copy.join();
+                    } catch (CompletionException e) {
+                        logger.warn("Leaving a game out of the snapshot, it could not be copied", e.getCause());
+                        continue;
+                    }
+                    if (gameState != null) {
+                        writer.add(gameState);
+                        written.add(gameState.getGameId());
+                    }
+                }
+            }
+            writer.commit();
+        }
+        moveJournal.snapshotTaken(segment, written);
+        logger.debug("Snapshot of {} games took {} ms", written.size(), (System.nanoTime() - start) / 1_000_000);
+        return written.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (snapshotter != null) {
+            LockSupport.unpark(snapshotter);
+            try {
+                snapshotter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
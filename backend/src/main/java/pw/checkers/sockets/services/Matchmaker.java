@@ -0,0 +1,82 @@
+package pw.checkers.sockets.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.config.BotProperties;
+import pw.checkers.data.enums.Color;
+import pw.checkers.message.JoinMessage;
+import pw.checkers.message.Message;
+import pw.checkers.message.User;
+import pw.checkers.utils.MatchedPair;
+import pw.checkers.utils.WaitingPlayer;
+
+import java.io.IOException;
+import java.util.List;
+
+@Service
+public class Matchmaker {
+    private static final Logger logger = LoggerFactory.getLogger(Matchmaker.class);
+
+    private final MatchmakingQueue matchmakingQueue;
+    private final SessionManager sessionManager;
+    private final MessageSender messageSender;
+    private final GameManager gameManager;
+    private final BotPlayer botPlayer;
+    private final BotProperties botProperties;
+
+    public Matchmaker(MatchmakingQueue matchmakingQueue, SessionManager sessionManager, MessageSender messageSender,
+                      GameManager gameManager, BotPlayer botPlayer, BotProperties botProperties) {
+        this.matchmakingQueue = matchmakingQueue;
+        this.sessionManager = sessionManager;
+        this.messageSender = messageSender;
+        this.gameManager = gameManager;
+        this.botPlayer = botPlayer;
+        this.botProperties = botProperties;
+    }
+
+    @Scheduled(fixedDelay = 100)
+    public void runPairingTick() {
+        List<MatchedPair> pairs = matchmakingQueue.pairWaitingPlayers();
+        for (MatchedPair pair : pairs) {
+            try {
+                createAndAssignGame(pair);
+            } catch (IOException e) {
+                logger.warn("Could not start game for {} and {}", pair.white().session().getId(), pair.black().session().getId(), e);
+            }
+        }
+        if (botProperties.enabled()) {
+            pairWithBot(matchmakingQueue.removeWaitingLongerThan(botProperties.queueTimeout().toNanos()));
+        }
+    }
+
+    private void pairWithBot(List<WaitingPlayer> players) {
+        for (WaitingPlayer player : players) {
+            try {
+                botPlayer.startGame(player.session(), player.user(), Color.WHITE);
+            } catch (IOException e) {
+                logger.warn("Could not start bot game for {}", player.session().getId(), e);
+            }
+        }
+    }
+
+    private void createAndAssignGame(MatchedPair pair) throws IOException {
+        WaitingPlayer white = pair.white();
+        WaitingPlayer black = pair.black();
+        String newGameId = gameManager.createGame();
+
+        sessionManager.addToSessionsByGame(newGameId, white.session(), black.session());
+        sessionManager.addToColorAssignments(newGameId, white.session(), black.session());
+        sessionManager.addToUserBySessions(white.session(), white.user(), black.session(), black.user());
+
+        sendJoinMessage(white.session(), newGameId, Color.WHITE, black.user());
+        sendJoinMessage(black.session(), newGameId, Color.BLACK, white.user());
+    }
+
+    private void sendJoinMessage(WebSocketSession session, String gameId, Color color, User opponent) throws IOException {
+        Message message = new JoinMessage(gameId, color.getValue(), new User(opponent.getUsername()));
+        messageSender.sendMessage(session, color.getValue(), message);
+    }
+}
@@ -0,0 +1,154 @@
+package pw.checkers.sockets.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.message.User;
+import pw.checkers.utils.MatchedPair;
+import pw.checkers.utils.WaitingPlayer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Players waiting for an opponent, indexed by session and grouped into rating buckets. Joining and leaving
+ * are constant-time; pairing happens in batches through {@link #pairWaitingPlayers()}, which walks the buckets
+ * in rating order and matches neighbours whose rating gap fits the window both of them accept. The window
+ * widens the longer a player waits, so nobody is stuck in a sparse rating range. The session index keeps enqueue
+ * order, so players who waited past a timeout are taken from its head.
+ */
+@Service
+public class MatchmakingQueue {
+    public static final int DEFAULT_RATING = 1200;
+    private static final int MAX_RATING = 4000;
+    private static final int BUCKET_WIDTH = 50;
+    private static final int INITIAL_WINDOW = 100;
+    private static final int WINDOW_GROWTH_PER_SECOND = 50;
+    private static final int MAX_WINDOW = MAX_RATING;
+
+    private final Map<WebSocketSession, Entry> entriesBySession = new LinkedHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final LinkedHashMap<WebSocketSession, Entry>[] buckets = new LinkedHashMap[MAX_RATING / BUCKET_WIDTH + 1];
+    private final LongSupplier clock;
+
+    public MatchmakingQueue() {
+        this(System::nanoTime);
+    }
+
+    public MatchmakingQueue(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LinkedHashMap<>();
+        }
+    }
+
+    public synchronized void enqueue(WebSocketSession session, User user) {
+        removeEntry(session);
+        Entry entry = new Entry(new WaitingPlayer(session, user), ratingOf(user), clock.getAsLong());
+        entriesBySession.put(session, entry);
+        buckets[entry.rating / BUCKET_WIDTH].put(session, entry);
+    }
+
+    public synchronized List<MatchedPair> pairWaitingPlayers() {
+        List<MatchedPair> pairs = new ArrayList<>();
+        if (entriesBySession.size() < 2) {
+            return pairs;
+        }
+        long now = clock.getAsLong();
+        List<Entry> sorted = new ArrayList<>(entriesBySession.size());
+        List<Entry> bucket = new ArrayList<>();
+        for (LinkedHashMap<WebSocketSession, Entry> entries : buckets) {
+            if (entries.isEmpty()) {
+                continue;
+            }
+            bucket.clear();
+            bucket.addAll(entries.values());
+            bucket.sort(Comparator.comparingInt((Entry entry) -> entry.rating).thenComparingLong(entry -> entry.enqueuedAt));
+            sorted.addAll(bucket);
+        }
+
+        int i = 0;
+        while (i + 1 < sorted.size()) {
+            Entry first = sorted.get(i);
+            Entry second = sorted.get(i + 1);
+            int window = Math.min(window(first, now), window(second, now));
+            if (second.rating - first.rating <= window) {
+                removeEntry(first.player.session());
+                removeEntry(second.player.session());
+                pairs.add(first.enqueuedAt <= second.enqueuedAt
+                        ? new MatchedPair(first.player, second.player)
+                        : new MatchedPair(second.player, first.player));
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        return pairs;
+    }
+
+    public synchronized List<WaitingPlayer> removeWaitingLongerThan(long timeoutNanos) {
+        List<WaitingPlayer> expired = new ArrayList<>();
+        long now = clock.getAsLong();
+        Iterator<Entry> oldestFirst = entriesBySession.values().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry entry = oldestFirst.next();
+            if (now - entry.enqueuedAt < timeoutNanos) {
+                break;
+            }
+            oldestFirst.remove();
+            buckets[entry.rating / BUCKET_WIDTH].remove(entry.player.session());
+            expired.add(entry.player);
+        }
+        return expired;
+    }
+
+    public synchronized boolean remove(WebSocketSession session, User user) {
+        Entry entry = entriesBySession.get(session);
+        if (entry == null || !entry.player.user().equals(user)) {
+            return false;
+        }
+        removeEntry(session);
+        return true;
+    }
+
+    public synchronized boolean remove(WebSocketSession session) {
+        return removeEntry(session);
+    }
+
+    public synchronized boolean contains(WebSocketSession session) {
+        return entriesBySession.containsKey(session);
+    }
+
+    public synchronized int size() {
+        return entriesBySession.size();
+    }
+
+    private boolean removeEntry(WebSocketSession session) {
+        Entry entry = entriesBySession.remove(session);
+        if (entry == null) {
+            return false;
+        }
+        buckets[entry.rating / BUCKET_WIDTH].remove(session);
+        return true;
+    }
+
+    private static int ratingOf(User user) {
+        Integer rating = user == null ? null : user.getRating();
+        if (rating == null) {
+            return DEFAULT_RATING;
+        }
+        return Math.clamp(rating, 0, MAX_RATING);
+    }
+
+    private static int window(Entry entry, long now) {
+        long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(now - entry.enqueuedAt);
+        return (int) Math.min(MAX_WINDOW, INITIAL_WINDOW + waitedSeconds * WINDOW_GROWTH_PER_SECOND);
+    }
+
+    private record Entry(WaitingPlayer player, int rating, long enqueuedAt) {}
+}
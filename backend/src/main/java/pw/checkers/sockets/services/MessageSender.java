@@ -6,6 +6,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 import pw.checkers.data.GameState;
 import pw.checkers.message.GameEndMessage;
 import pw.checkers.message.Message;
@@ -14,54 +16,89 @@ import pw.checkers.message.PromptMessage;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static pw.checkers.data.enums.MessageType.ERROR;
 
+/**
+ * Sends frames through a per-session {@link ConcurrentWebSocketSessionDecorator}, so writes to different
+ * sessions never wait on each other and a session that cannot keep up with its send time or buffer limit
+ * is closed instead of holding back the rest of the server.
+ */
 @Service
 public class MessageSender {
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int BUFFER_SIZE_LIMIT_BYTES = 512 * 1024;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ConcurrentWebSocketSessionDecorator> outboundSessions = new ConcurrentHashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(MessageSender.class);
 
 
-    public synchronized void sendError(WebSocketSession session, String error) throws IOException {
+    public void sendError(WebSocketSession session, String error) throws IOException {
         Message errorMessage = new PromptMessage(ERROR.getValue(), error);
         sendMessage(session, errorMessage);
     }
 
-    public synchronized void sendMessage(WebSocketSession session, Message message) throws IOException {
+    public void sendMessage(WebSocketSession session, Message message) throws IOException {
         String messageJson = objectMapper.writeValueAsString(message);
         logger.debug("Message sent to session {}: {}", session.getId(), messageJson);
-        session.sendMessage(new TextMessage(messageJson));
+        send(session, new TextMessage(messageJson));
     }
 
-    public synchronized void sendMessage(WebSocketSession session, String color, Message message) throws IOException {
+    public void sendMessage(WebSocketSession session, String color, Message message) throws IOException {
         String messageJson = objectMapper.writeValueAsString(message);
         logger.debug("Message sent to color {} (session {}): {}", color, session.getId(), messageJson);
-        session.sendMessage(new TextMessage(messageJson));
+        send(session, new TextMessage(messageJson));
     }
 
-    public synchronized void broadcastToGame(Set<WebSocketSession> sessions, Message message, Map<WebSocketSession, String> colorByPlayer) throws IOException {
+    public void broadcastToGame(Set<WebSocketSession> sessions, Message message, Map<WebSocketSession, String> colorByPlayer) throws IOException {
+        String messageJson = objectMapper.writeValueAsString(message);
+        TextMessage frame = new TextMessage(messageJson);
+        logger.debug("Message broadcast to {} sessions: {}", sessions.size(), messageJson);
         for (WebSocketSession ws : sessions) {
             if (ws.isOpen()) {
-                String wsColor = colorByPlayer.get(ws);
-                sendMessage(ws, wsColor, message);
+                logger.debug("Broadcast delivered to color {} (session {})", colorByPlayer.get(ws), ws.getId());
+                send(ws, frame);
             }
         }
     }
 
-    public synchronized void broadcastGameEnd(Set<WebSocketSession> sessions, GameState updatedState, Map<WebSocketSession, String> colorByPlayer) throws IOException {
-        for (WebSocketSession ws : sessions) {
-            if (ws.isOpen()) {
-                String wsColor = colorByPlayer.get(ws);
-                GameEndMessage gameEndMessageMsg;
-                if (updatedState.getWinner() == null) {
-                    gameEndMessageMsg = new GameEndMessage("draw");
-                    gameEndMessageMsg.setDetails(updatedState.getGameEndReason().getValue());
-                } else {
-                    gameEndMessageMsg = new GameEndMessage(updatedState.getWinner().toString().toLowerCase());
-                    gameEndMessageMsg.setDetails(updatedState.getGameEndReason().getValue());
-                }
-                sendMessage(ws, wsColor, gameEndMessageMsg);
+    public void broadcastGameEnd(Set<WebSocketSession> sessions, GameState updatedState, Map<WebSocketSession, String> colorByPlayer) throws IOException {
+        String result = updatedState.getWinner() == null ? "draw" : updatedState.getWinner().toString().toLowerCase();
+        GameEndMessage gameEndMessage = new GameEndMessage(result);
+        gameEndMessage.setDetails(updatedState.getGameEndReason().getValue());
+        broadcastToGame(sessions, gameEndMessage, colorByPlayer);
+    }
+
+    public void release(WebSocketSession session) {
+        outboundSessions.remove(session.getId());
+    }
+
+    public int getOutboundSessions() {
+        return outboundSessions.size();
+    }
+
+    /**
+     * Sends through the session's outbound buffer. Closed sessions are skipped before the buffer is looked up, and a
+     * buffer created while the session was being closed is dropped again, so nothing is left behind after
+     * {@link #release(WebSocketSession)}.
+     */
+    private void send(WebSocketSession session, TextMessage message) throws IOException {
+        if (!session.isOpen()) {
+            logger.debug("Not sending to closed session {}", session.getId());
+            return;
+        }
+        ConcurrentWebSocketSessionDecorator outbound = outboundSessions.computeIfAbsent(session.getId(),
+                id -> new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT_BYTES));
+        try {
+            outbound.sendMessage(message);
+        } catch (SessionLimitExceededException e) {
+            logger.warn("Dropping session {}: {}", session.getId(), e.getMessage());
+            outbound.close(e.getStatus());
+        } finally {
+            if (!session.isOpen()) {
+                outboundSessions.remove(session.getId(), outbound);
             }
         }
     }
@@ -22,11 +22,13 @@ public class RematchService {
     private final SessionManager sessionManager;
     private final MessageSender messageSender;
     private final GameManager gameManager;
+    private final BotPlayer botPlayer;
 
-    public RematchService(SessionManager sessionManager, MessageSender messageSender, GameManager gameManager) {
+    public RematchService(SessionManager sessionManager, MessageSender messageSender, GameManager gameManager, BotPlayer botPlayer) {
         this.sessionManager = sessionManager;
         this.messageSender = messageSender;
         this.gameManager = gameManager;
+        this.botPlayer = botPlayer;
     }
 
     public void proposeRematch(WebSocketSession session, GameIdMessage gameIdMessage) throws IOException {
@@ -84,6 +86,14 @@ public class RematchService {
             messageSender.sendMessage(session, message);
             return;
         }
+        Optional<String> botColor = sessionManager.getBotColor(gameId);
+        if (botColor.isPresent()) {
+            gameManager.cleanGameHistory(gameIdMessage);
+            // the player takes the color the bot had
+            Color color = botColor.get().equals(Color.WHITE.getValue()) ? Color.WHITE : Color.BLACK;
+            botPlayer.startGame(session, sessionManager.getUserBySession(session), color);
+            return;
+        }
         Map<String, WebSocketSession> playersByColor = sessionManager.getSessionByColorMap(gameId);
         gameManager.cleanGameHistory(gameIdMessage);
         String newGameId = gameManager.createGame();
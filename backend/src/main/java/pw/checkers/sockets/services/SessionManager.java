@@ -4,15 +4,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.data.enums.Color;
 import pw.checkers.message.User;
-import pw.checkers.utils.WaitingPlayer;
+import pw.checkers.utils.PlayerSeat;
 
 import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,15 +18,15 @@ public class SessionManager {
     private final Map<String, Set<WebSocketSession>> sessionsByGame = new ConcurrentHashMap<>();
     private final Map<String, Map<WebSocketSession, String>> colorAssignmentsByGame = new ConcurrentHashMap<>();
     private final Map<WebSocketSession, User> usersBySessions = new ConcurrentHashMap<>();
-    private final Queue<WaitingPlayer> waitingQueue = new ConcurrentLinkedQueue<>();
+    private final Map<WebSocketSession, PlayerSeat> seatsBySession = new ConcurrentHashMap<>();
+    private final Map<String, String> botColorsByGame = new ConcurrentHashMap<>();
+    private final Object gameIndexLock = new Object();
     private final MessageSender messageSender;
+    private final MatchmakingQueue matchmakingQueue;
 
-    public SessionManager(MessageSender messageSender) {
+    public SessionManager(MessageSender messageSender, MatchmakingQueue matchmakingQueue) {
         this.messageSender = messageSender;
-    }
-
-    public void removeWaitingPlayerFromQueue(WebSocketSession session, User user) {
-        waitingQueue.removeIf(waitingPlayer -> waitingPlayer.session().equals(session) && waitingPlayer.user().equals(user));
+        this.matchmakingQueue = matchmakingQueue;
     }
 
     public Optional<WebSocketSession> getOpponent(String gameId, WebSocketSession session) throws IOException {
@@ -42,8 +40,17 @@ public class SessionManager {
     }
 
     public void removeGameFromMaps(String gameId) {
-        colorAssignmentsByGame.remove(gameId);
-        sessionsByGame.remove(gameId);
+        synchronized (gameIndexLock) {
+            Map<WebSocketSession, String> colors = colorAssignmentsByGame.remove(gameId);
+            Set<WebSocketSession> sessions = sessionsByGame.remove(gameId);
+            botColorsByGame.remove(gameId);
+            if (colors != null) {
+                colors.keySet().forEach(session -> releaseSeat(session, gameId));
+            }
+            if (sessions != null) {
+                sessions.forEach(session -> releaseSeat(session, gameId));
+            }
+        }
     }
 
     public Set<WebSocketSession> getSessionsByGameId(String gameId){
@@ -51,15 +58,42 @@ public class SessionManager {
     }
 
     public void addToSessionsByGame (String newGameId, WebSocketSession session1, WebSocketSession session2) {
-        sessionsByGame.putIfAbsent(newGameId, ConcurrentHashMap.newKeySet());
-        sessionsByGame.get(newGameId).add(session1);
-        sessionsByGame.get(newGameId).add(session2);
+        synchronized (gameIndexLock) {
+            Set<WebSocketSession> sessions = sessionsByGame.computeIfAbsent(newGameId, id -> ConcurrentHashMap.newKeySet());
+            sessions.add(session1);
+            sessions.add(session2);
+            takeSeat(session1, newGameId, null);
+            takeSeat(session2, newGameId, null);
+        }
     }
 
     public void addToColorAssignments (String newGameId, WebSocketSession white, WebSocketSession black) {
-        colorAssignmentsByGame.putIfAbsent(newGameId, new ConcurrentHashMap<>());
-        colorAssignmentsByGame.get(newGameId).put(white, Color.WHITE.getValue());
-        colorAssignmentsByGame.get(newGameId).put(black, Color.BLACK.getValue());
+        synchronized (gameIndexLock) {
+            Map<WebSocketSession, String> colors = colorAssignmentsByGame.computeIfAbsent(newGameId, id -> new ConcurrentHashMap<>());
+            colors.put(white, Color.WHITE.getValue());
+            colors.put(black, Color.BLACK.getValue());
+            takeSeat(white, newGameId, Color.WHITE.getValue());
+            takeSeat(black, newGameId, Color.BLACK.getValue());
+        }
+    }
+
+    public void addBotGame(String newGameId, WebSocketSession session, User user, Color color) {
+        synchronized (gameIndexLock) {
+            Set<WebSocketSession> sessions = sessionsByGame.computeIfAbsent(newGameId, id -> ConcurrentHashMap.newKeySet());
+            sessions.add(session);
+            colorAssignmentsByGame.computeIfAbsent(newGameId, id -> new ConcurrentHashMap<>()).put(session, color.getValue());
+            takeSeat(session, newGameId, color.getValue());
+            botColorsByGame.put(newGameId, color == Color.WHITE ? Color.BLACK.getValue() : Color.WHITE.getValue());
+        }
+        usersBySessions.put(session, user);
+    }
+
+    public Optional<String> getBotColor(String gameId) {
+        return Optional.ofNullable(botColorsByGame.get(gameId));
+    }
+
+    public Optional<PlayerSeat> getSeat(WebSocketSession session) {
+        return Optional.ofNullable(seatsBySession.get(session));
     }
 
     public void addToUserBySessions(WebSocketSession session1, User user1, WebSocketSession session2, User user2) {
@@ -80,26 +114,23 @@ public class SessionManager {
         return usersBySessions.get(session);
     }
 
-    public WaitingPlayer pollFromPlayerQueue() {
-        return waitingQueue.poll();
-    }
-
-    public void addPlayerToQueue(WebSocketSession session, User user) {
-        waitingQueue.add(new WaitingPlayer(session, user));
-    }
-
     public boolean isGameIdInvalid(String gameId) {
         return !sessionsByGame.containsKey(gameId);
     }
 
     public String getAssignedColorByGameIdAndSession(String gameId, WebSocketSession session) {
-        return colorAssignmentsByGame.get(gameId).get(session);
+        PlayerSeat seat = seatsBySession.get(session);
+        if (seat != null && gameId.equals(seat.gameId()) && seat.color() != null) {
+            return seat.color();
+        }
+        Map<WebSocketSession, String> colors = colorAssignmentsByGame.get(gameId);
+        return colors == null ? null : colors.get(session);
     }
 
     public void handleSessionClose(WebSocketSession session) {
-        waitingQueue.removeIf(waitingPlayer -> waitingPlayer.session().equals(session));
-        sessionsByGame.entrySet().removeIf(entry -> entry.getValue().contains(session));
-        colorAssignmentsByGame.entrySet().removeIf(entry -> entry.getValue().containsKey(session));
+        matchmakingQueue.remove(session);
+        findGameIdBySession(session).ifPresent(this::removeGameFromMaps);
+        messageSender.release(session);
     }
 
     public void removeUsersBySessionEntry(WebSocketSession session) {
@@ -108,17 +139,22 @@ public class SessionManager {
 
     public void cleanJoinQueue(WebSocketSession session, User user) {
         removeUsersBySessionEntry(session);
-        removeWaitingPlayerFromQueue(session, user);
+        matchmakingQueue.remove(session, user);
         Optional<String> gameId = findGameIdBySession(session);
         gameId.ifPresent(this::removeGameFromMaps);
     }
 
     private Optional<String> findGameIdBySession(WebSocketSession session) {
-        return (sessionsByGame.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().contains(session))
-                .map(Map.Entry::getKey)
-                .findFirst());
+        return getSeat(session).map(PlayerSeat::gameId);
+    }
+
+    private void takeSeat(WebSocketSession session, String gameId, String color) {
+        seatsBySession.merge(session, new PlayerSeat(gameId, color), (current, requested) ->
+                requested.color() == null && current.gameId().equals(gameId) ? current : requested);
+    }
+
+    private void releaseSeat(WebSocketSession session, String gameId) {
+        seatsBySession.computeIfPresent(session, (s, seat) -> seat.gameId().equals(gameId) ? null : seat);
     }
 
     public Optional<String> getAssignedColor(String gameId, WebSocketSession session) throws IOException {
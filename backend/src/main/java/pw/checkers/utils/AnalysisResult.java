@@ -0,0 +1,8 @@
+package pw.checkers.utils;
+
+
+public record AnalysisResult(SearchResult result, int threads, long nanos) {
+    public double nodesPerSecond() {
+        return nanos == 0 ? 0 : result.nodes() * 1_000_000_000.0 / nanos;
+    }
+}
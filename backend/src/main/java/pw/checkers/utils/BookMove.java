@@ -0,0 +1,16 @@
+package pw.checkers.utils;
+
+/**
+ * One move of an {@link pw.checkers.game.OpeningBook} position with the results of the archived games that played
+ * it, counted for the side making the move.
+ */
+public record BookMove(int from, int to, int wins, int draws, int losses) {
+
+    public int games() {
+        return wins + draws + losses;
+    }
+
+    public int weight() {
+        return 2 * wins + draws;
+    }
+}
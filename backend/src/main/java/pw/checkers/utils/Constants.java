@@ -12,4 +12,5 @@ public class Constants {
     public static final String OPPONENT_LEFT = "Opponent has already left the game";
     public static final String OPPONENT_REJECTED = "Your opponent reject your rematch request";
     public static final String WAITING_MESSAGE = "Waiting for an opponent...";
+    public static final String BOT_USERNAME = "Bot";
 }
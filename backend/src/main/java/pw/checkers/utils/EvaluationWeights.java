@@ -0,0 +1,6 @@
+package pw.checkers.utils;
+
+
+public record EvaluationWeights(int pawn, int king, int advancement, int center, int backRank) {
+    public static final EvaluationWeights DEFAULTS = new EvaluationWeights(100, 160, 3, 6, 12);
+}
@@ -0,0 +1,9 @@
+package pw.checkers.utils;
+
+import pw.checkers.data.enums.Color;
+
+/**
+ * A finished game as the steps played from the initial position, each a {@link PackedMove}, and the winner, or
+ * {@code null} for a draw.
+ */
+public record GameRecord(Color winner, int[] steps) {}
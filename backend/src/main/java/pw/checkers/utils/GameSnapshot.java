@@ -0,0 +1,10 @@
+package pw.checkers.utils;
+
+import pw.checkers.data.GameState;
+
+import java.util.List;
+
+/**
+ * The games in progress as of the last snapshot, and the journal segment that was current when it was started.
+ */
+public record GameSnapshot(int journalSegment, List<GameState> games) {}
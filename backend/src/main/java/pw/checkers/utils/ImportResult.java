@@ -0,0 +1,6 @@
+package pw.checkers.utils;
+
+/**
+ * Outcome of a PDN import: games read, archived, rejected as unreadable or illegal, and lost to failed inserts.
+ */
+public record ImportResult(long games, long imported, long rejected, long failed, long millis, double gamesPerSecond) {}
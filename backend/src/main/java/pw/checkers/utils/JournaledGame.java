@@ -0,0 +1,7 @@
+package pw.checkers.utils;
+
+/**
+ * A game recovered from the move journal: its id and the steps played from step number {@code firstStep} on, each a
+ * {@link PackedMove}. {@code firstStep} is zero unless the game is rebuilt from a snapshot.
+ */
+public record JournaledGame(String gameId, int firstStep, int[] steps) {}
@@ -0,0 +1,4 @@
+package pw.checkers.utils;
+
+
+public record MatchedPair(WaitingPlayer white, WaitingPlayer black) {}
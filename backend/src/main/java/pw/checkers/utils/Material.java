@@ -0,0 +1,16 @@
+package pw.checkers.utils;
+
+
+public record Material(int whitePawns, int whiteKings, int blackPawns, int blackKings) {
+    public int pieces() {
+        return whitePawns + whiteKings + blackPawns + blackKings;
+    }
+
+    public int key() {
+        return whitePawns | whiteKings << 4 | blackPawns << 8 | blackKings << 12;
+    }
+
+    public String fileName() {
+        return "tb-" + whitePawns + whiteKings + blackPawns + blackKings + ".ctb";
+    }
+}
@@ -0,0 +1,58 @@
+package pw.checkers.utils;
+
+import pw.checkers.data.Board;
+import pw.checkers.message.Move;
+
+/**
+ * One step packed into the low {@value #BITS} bits of an int: the destination {@link Board} square in bits 0-4,
+ * the origin square in bits 5-9, then a capture and a promotion flag. The engine works on the squares alone
+ * ({@link #squares}); the flags are only recorded for steps actually played, so stored games can be read back
+ * without replaying the rules. It fits a {@code char}, which is how histories, the journal and the archive keep it.
+ */
+public class PackedMove {
+    public static final int BITS = 12;
+    public static final int SQUARES_MASK = 0x3FF;
+    public static final int CAPTURE = 1 << 10;
+    public static final int PROMOTION = 1 << 11;
+
+    private static final int SQUARE_BITS = 5;
+    private static final int SQUARE_MASK = 31;
+
+    public static int pack(int from, int to) {
+        return (from << SQUARE_BITS) | to;
+    }
+
+    public static int pack(int from, int to, int flags) {
+        return (from << SQUARE_BITS) | to | flags;
+    }
+
+    public static int from(int move) {
+        return (move >>> SQUARE_BITS) & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int squares(int move) {
+        return move & SQUARES_MASK;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & PROMOTION) != 0;
+    }
+
+    public static int ofMove(Move move) {
+        return pack(Board.toSquare(move.getFromRow(), move.getFromCol()), Board.toSquare(move.getToRow(), move.getToCol()));
+    }
+
+    public static Move toMove(int move) {
+        int from = from(move);
+        int to = to(move);
+        return new Move(Board.toRow(from), Board.toCol(from), Board.toRow(to), Board.toCol(to));
+    }
+}
@@ -0,0 +1,10 @@
+package pw.checkers.utils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game as read from a PDN file: its tags, its moves as written ({@code 22-18}, {@code 23x14x5}) and the result
+ * token ending the move text, or {@code null} if there was none.
+ */
+public record PdnGame(Map<String, String> tags, List<String> moves, String result) {}
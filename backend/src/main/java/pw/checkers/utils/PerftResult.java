@@ -0,0 +1,8 @@
+package pw.checkers.utils;
+
+
+public record PerftResult(int depth, long nodes, long nanos) {
+    public double nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000.0 / nanos;
+    }
+}
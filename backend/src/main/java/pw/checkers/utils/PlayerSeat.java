@@ -0,0 +1,4 @@
+package pw.checkers.utils;
+
+
+public record PlayerSeat(String gameId, String color) {}
@@ -0,0 +1,4 @@
+package pw.checkers.utils;
+
+
+public record SearchResult(int from, int to, int score, int depth, long nodes) {}
@@ -0,0 +1,55 @@
+package pw.checkers.utils;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: keys are dropped into the slot of their deadline tick and handed back once the wheel
+ * turns past that slot. Deadlines further away than one revolution come back early, so the owner is expected
+ * to check the real deadline and reschedule. Not thread-safe.
+ */
+public class TimerWheel<K> {
+    private final long tickNanos;
+    private final ArrayDeque<K>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickNanos, int slotCount, long nowNanos) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.tickNanos = tickNanos;
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.mask = slotCount - 1;
+        this.currentTick = nowNanos / tickNanos;
+    }
+
+    public void schedule(K key, long deadlineNanos) {
+        long tick = Math.max(deadlineNanos / tickNanos, currentTick);
+        slots[(int) (tick & mask)].add(key);
+        size++;
+    }
+
+    public void advance(long nowNanos, Consumer<K> due) {
+        long targetTick = nowNanos / tickNanos;
+        long fromTick = Math.max(currentTick, targetTick - mask);
+        currentTick = targetTick + 1;
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            ArrayDeque<K> slot = slots[(int) (tick & mask)];
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                size--;
+                due.accept(slot.poll());
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,9 @@
+package pw.checkers.utils;
+
+
+public record TranspositionStats(long hits, long misses, long collisions, long stores, int capacity) {
+    public double hitRate() {
+        long probes = hits + misses;
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
@@ -0,0 +1,64 @@
+package pw.checkers.utils;
+
+import pw.checkers.data.enums.Color;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-seed Zobrist keys, so a position hashes to the same value on every server and after a restart.
+ */
+public class Zobrist {
+    private static final long SEED = 0x5EED_C0FF_EE15_600DL;
+    private static final int SQUARES = 32;
+    private static final long[] WHITE_PAWN = new long[SQUARES];
+    private static final long[] WHITE_KING = new long[SQUARES];
+    private static final long[] BLACK_PAWN = new long[SQUARES];
+    private static final long[] BLACK_KING = new long[SQUARES];
+    public static final long BLACK_TO_MOVE;
+    private static final long[] CONTINUATION = new long[SQUARES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int square = 0; square < SQUARES; square++) {
+            WHITE_PAWN[square] = random.nextLong();
+            WHITE_KING[square] = random.nextLong();
+            BLACK_PAWN[square] = random.nextLong();
+            BLACK_KING[square] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        for (int square = 0; square < SQUARES; square++) {
+            CONTINUATION[square] = random.nextLong();
+        }
+    }
+
+    public static long key(Color color, boolean king, int square) {
+        if (color == Color.WHITE) {
+            return king ? WHITE_KING[square] : WHITE_PAWN[square];
+        }
+        return king ? BLACK_KING[square] : BLACK_PAWN[square];
+    }
+
+    public static long hash(int white, int black, int kings) {
+        long hash = 0;
+        for (int square = 0; square < SQUARES; square++) {
+            int bit = 1 << square;
+            if ((white & bit) != 0) {
+                hash ^= key(Color.WHITE, (kings & bit) != 0, square);
+            } else if ((black & bit) != 0) {
+                hash ^= key(Color.BLACK, (kings & bit) != 0, square);
+            }
+        }
+        return hash;
+    }
+
+    public static long side(Color currentPlayer) {
+        return currentPlayer == Color.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    /**
+     * Key of a multi-jump in progress that must continue from {@code square}, or 0 when the turn is open.
+     */
+    public static long continuation(int square) {
+        return square < 0 ? 0L : CONTINUATION[square];
+    }
+}
@@ -0,0 +1,69 @@
+package pw.checkers.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pw.checkers.archive.PdnExporter;
+import pw.checkers.archive.PdnImporter;
+import pw.checkers.utils.ImportResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/archive")
+@Tag(name="ArchiveController", description = "Controller to export and import finished games")
+public class ArchiveController {
+    private final PdnExporter pdnExporter;
+    private final PdnImporter pdnImporter;
+    public ArchiveController(PdnExporter pdnExporter, PdnImporter pdnImporter) {
+        this.pdnExporter = pdnExporter;
+        this.pdnImporter = pdnImporter;
+    }
+
+    @GetMapping(value = "/games.pdn", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Stream finished games of a player or a time range as PDN")
+    @ApiResponse(responseCode = "200", description = "Games are streamed as they are read, oldest first")
+    @ApiResponse(responseCode = "400", description = "Neither a player nor a time range was given")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(required = false) String player,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (player == null && from == null && to == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> pdnExporter.export(player, from, to, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("games.pdn").build().toString())
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    @PostMapping(value = "/games.pdn", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import PDN games into the archive")
+    @ApiResponse(responseCode = "200", description = "Games were read, replayed and the legal ones archived",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResult.class)))
+    @ApiResponse(responseCode = "503", description = "The game archive is disabled")
+    public ResponseEntity<ImportResult> importGames(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(pdnImporter.importGames(request.getReader()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> archiveUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage());
+    }
+}
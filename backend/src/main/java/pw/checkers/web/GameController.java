@@ -9,14 +9,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pw.checkers.data.GameState;
 import pw.checkers.game.GameService;
+import pw.checkers.game.HintService;
+import pw.checkers.message.HintOutputMessage;
+import pw.checkers.sockets.services.GameExecutor;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/game")
 @Tag(name="GameController", description = "Controller to create and retrieve games")
 public class GameController {
     private final GameService gameService;
-    public GameController(GameService gameService) {
+    private final GameExecutor gameExecutor;
+    private final HintService hintService;
+    public GameController(GameService gameService, GameExecutor gameExecutor, HintService hintService) {
         this.gameService = gameService;
+        this.gameExecutor = gameExecutor;
+        this.hintService = hintService;
     }
 
     @PostMapping("")
@@ -39,4 +49,25 @@ public class GameController {
         }
         return ResponseEntity.ok(gameState);
     }
+
+    @GetMapping("/{gameId}/hint")
+    @Operation(summary = "Best move for the side to move")
+    @ApiResponse(responseCode = "200", description = "Hint successfully computed",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = HintOutputMessage.class)))
+    @ApiResponse(responseCode = "204", description = "Game is over or no hint could be computed")
+    public CompletableFuture<ResponseEntity<HintOutputMessage>> getHint(@PathVariable String gameId) throws IOException {
+        CompletableFuture<GameState> snapshot = new CompletableFuture<>();
+        gameExecutor.submit(gameId, () -> {
+            GameState gameState = gameService.getGame(gameId);
+            snapshot.complete(gameState == null ? null : gameState.copy());
+        });
+        return snapshot.thenCompose(gameState -> {
+            if (gameState == null) {
+                return CompletableFuture.completedFuture(ResponseEntity.<HintOutputMessage>notFound().build());
+            }
+            return hintService.hint(gameState).handle((result, error) -> error != null || result.isEmpty()
+                    ? ResponseEntity.<HintOutputMessage>noContent().build()
+                    : ResponseEntity.ok(new HintOutputMessage(gameId, result.get())));
+        });
+    }
 }
@@ -0,0 +1,129 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.AlphaBetaSearch;
+import pw.checkers.game.EndgameTablebase;
+import pw.checkers.game.Evaluator;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveEngine;
+import pw.checkers.game.TranspositionTable;
+import pw.checkers.utils.EvaluationWeights;
+import pw.checkers.utils.SearchResult;
+
+import java.util.concurrent.TimeUnit;
+
+class AlphaBetaSearchTest {
+
+    private GameRules gameRules;
+    private AlphaBetaSearch search;
+
+    @BeforeEach
+    void setUp() {
+        gameRules = new GameRules();
+        search = new AlphaBetaSearch(gameRules, new MoveEngine(gameRules), new Evaluator(EvaluationWeights.DEFAULTS), new TranspositionTable(1), new EndgameTablebase());
+    }
+
+    @Test
+    void testFindsDoubleJumpThatWinsTheGame() {
+        GameState gameState = position(Color.WHITE);
+        gameState.getBoard().set(5, 0, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(4, 1, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.getBoard().set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.setWhitePiecesLeft(1);
+        gameState.setBlackPiecesLeft(2);
+
+        SearchResult result = search.search(gameState, TimeUnit.SECONDS.toNanos(5), 6).orElseThrow();
+
+        assertEquals(Board.toSquare(5, 0), result.from());
+        assertEquals(Board.toSquare(3, 2), result.to());
+        assertTrue(result.score() > AlphaBetaSearch.WIN - 100, "Should see the win, got " + result.score());
+    }
+
+    @Test
+    void testDoesNotHangItsOnlyPiece() {
+        GameState gameState = position(Color.WHITE);
+        gameState.getBoard().set(4, 1, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.getBoard().set(0, 7, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.setWhitePiecesLeft(1);
+        gameState.setBlackPiecesLeft(2);
+
+        SearchResult result = search.search(gameState, TimeUnit.SECONDS.toNanos(5), 4).orElseThrow();
+
+        assertEquals(Board.toSquare(4, 1), result.from());
+        assertEquals(Board.toSquare(3, 0), result.to());
+    }
+
+    @Test
+    void testStopsAtTimeBudgetWithCompletedIteration() {
+        GameState gameState = position(Color.WHITE);
+        gameState.setBoard(Board.initial());
+        gameState.setWhitePiecesLeft(12);
+        gameState.setBlackPiecesLeft(12);
+
+        long start = System.nanoTime();
+        SearchResult result = search.search(gameState, TimeUnit.MILLISECONDS.toNanos(50), 64).orElseThrow();
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "Search overran its budget: " + elapsed + " ns");
+        assertTrue(result.depth() >= 1 && result.depth() < 64);
+        assertTrue(gameRules.getLegalMoves(gameState, Color.WHITE).contains(result.from(), result.to()));
+    }
+
+    @Test
+    void testFollowsForcedContinuationSquare() {
+        GameState gameState = position(Color.WHITE);
+        gameState.getBoard().set(3, 2, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(5, 6, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.getBoard().set(4, 5, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.setLastCaptureRow(3);
+        gameState.setLastCaptureCol(2);
+        gameState.setWhitePiecesLeft(2);
+        gameState.setBlackPiecesLeft(2);
+
+        SearchResult result = search.search(gameState, TimeUnit.SECONDS.toNanos(1), 4).orElseThrow();
+
+        assertEquals(Board.toSquare(3, 2), result.from());
+        assertEquals(Board.toSquare(1, 4), result.to());
+    }
+
+    @Test
+    void testRepeatedSearchReusesTranspositionTable() {
+        GameState gameState = position(Color.WHITE);
+        gameState.setBoard(Board.initial());
+        gameState.setWhitePiecesLeft(12);
+        gameState.setBlackPiecesLeft(12);
+
+        SearchResult first = search.search(gameState, TimeUnit.SECONDS.toNanos(30), 6).orElseThrow();
+        SearchResult second = search.search(gameState, TimeUnit.SECONDS.toNanos(30), 6).orElseThrow();
+
+        assertEquals(6, second.depth());
+        assertEquals(first.score(), second.score());
+        assertTrue(second.nodes() < first.nodes() / 2, "Second search visited " + second.nodes() + " of " + first.nodes());
+    }
+
+    @Test
+    void testNoMoveWhenGameIsFinished() {
+        GameState gameState = position(Color.WHITE);
+        gameState.setFinished(true);
+        assertTrue(search.search(gameState, TimeUnit.SECONDS.toNanos(1), 4).isEmpty());
+    }
+
+    private static GameState position(Color toMove) {
+        GameState gameState = new GameState();
+        gameState.setBoard(new Board());
+        gameState.setCurrentPlayer(toMove);
+        gameState.setNumberOfPositions(new PositionCounter());
+        return gameState;
+    }
+}
@@ -3,7 +3,6 @@ package pw.checkers;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.util.HashMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,8 +10,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
 import pw.checkers.data.enums.Color;
 import pw.checkers.data.enums.PieceType;
 import pw.checkers.game.BoardManager;
@@ -20,6 +21,7 @@ import pw.checkers.game.GameEndManager;
 import pw.checkers.game.GameRules;
 import pw.checkers.message.Move;
 import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.utils.PackedMove;
 
 @ExtendWith(MockitoExtension.class)
 public class BoardManagerTest {
@@ -42,7 +44,7 @@ public class BoardManagerTest {
      */
     private GameState createGameState() {
         GameState state = new GameState();
-        Piece[][] board = new Piece[8][8];
+        Board board = new Board();
         state.setBoard(board);
         state.setFinished(false);
         state.setCurrentPlayer(Color.WHITE);
@@ -50,7 +52,7 @@ public class BoardManagerTest {
         state.setBlackPiecesLeft(12);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
-        state.setNumberOfPositions(new HashMap<>());
+        state.setNumberOfPositions(new PositionCounter());
         return state;
     }
 
@@ -58,16 +60,16 @@ public class BoardManagerTest {
     public void testInitializeBoard() {
         GameState state = createGameState();
         boardManager.initializeBoard(state);
-        Piece[][] board = state.getBoard();
+        Board board = state.getBoard();
         // Check first three rows for black pawns on playable squares.
         for (int row = 0; row < 3; row++) {
             for (int col = 0; col < 8; col++) {
                 if ((row + col) % 2 == 1) {
-                    assertNotNull(board[row][col], "Playable square at (" + row + "," + col + ") should have a piece");
-                    assertEquals(PieceType.PAWN, board[row][col].getType());
-                    assertEquals(Color.BLACK, board[row][col].getColor());
+                    assertNotNull(board.get(row, col), "Playable square at (" + row + "," + col + ") should have a piece");
+                    assertEquals(PieceType.PAWN, board.get(row, col).getType());
+                    assertEquals(Color.BLACK, board.get(row, col).getColor());
                 } else {
-                    assertNull(board[row][col], "Non-playable square at (" + row + "," + col + ") should be null");
+                    assertNull(board.get(row, col), "Non-playable square at (" + row + "," + col + ") should be null");
                 }
             }
         }
@@ -75,11 +77,11 @@ public class BoardManagerTest {
         for (int row = 5; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
                 if ((row + col) % 2 == 1) {
-                    assertNotNull(board[row][col], "Playable square at (" + row + "," + col + ") should have a piece");
-                    assertEquals(PieceType.PAWN, board[row][col].getType());
-                    assertEquals(Color.WHITE, board[row][col].getColor());
+                    assertNotNull(board.get(row, col), "Playable square at (" + row + "," + col + ") should have a piece");
+                    assertEquals(PieceType.PAWN, board.get(row, col).getType());
+                    assertEquals(Color.WHITE, board.get(row, col).getColor());
                 } else {
-                    assertNull(board[row][col], "Non-playable square at (" + row + "," + col + ") should be null");
+                    assertNull(board.get(row, col), "Non-playable square at (" + row + "," + col + ") should be null");
                 }
             }
         }
@@ -89,10 +91,10 @@ public class BoardManagerTest {
     public void testMakeMove_NormalMove() {
         // Set up a normal move (non-capture) for a white pawn.
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
+        Board board = state.getBoard();
         // Place white pawn at (5,2)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        board[5][2] = whitePawn;
+        board.set(5, 2, whitePawn);
         // Ensure no forced capture is active.
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
@@ -111,25 +113,27 @@ public class BoardManagerTest {
         MoveOutputMessage result = boardManager.makeMove(state, output);
 
         // Validate board update.
-        assertNull(board[5][2], "Source cell should be cleared");
-        assertEquals(whitePawn, board[4][3], "Pawn should be moved to destination");
+        assertNull(board.get(5, 2), "Source cell should be cleared");
+        assertEquals(whitePawn, board.get(4, 3), "Pawn should be moved to destination");
 
         // Validate turn switching.
         assertEquals(Color.BLACK, state.getCurrentPlayer(), "Turn should switch to black");
         assertEquals("black", result.getCurrentTurn());
         assertEquals("white", result.getPreviousTurn());
+        // The step is recorded without flags.
+        assertEquals(PackedMove.pack(Board.toSquare(5, 2), Board.toSquare(4, 3)), state.getHistory().get(0));
     }
 
     @Test
     public void testMakeMove_CaptureMove() {
         // Set up a capture move for a white pawn.
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
+        Board board = state.getBoard();
         // Place white pawn at (5,2) and black pawn at (4,3)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
         Piece blackPawn = new Piece(Color.BLACK, PieceType.PAWN);
-        board[5][2] = whitePawn;
-        board[4][3] = blackPawn;
+        board.set(5, 2, whitePawn);
+        board.set(4, 3, blackPawn);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
         // Create a move from (5,2) to (3,4) (a jump capture)
@@ -144,14 +148,16 @@ public class BoardManagerTest {
         MoveOutputMessage result = boardManager.makeMove(state, output);
 
         // Verify that the black pawn is captured.
-        assertNull(board[4][3], "Captured piece should be removed from the board");
+        assertNull(board.get(4, 3), "Captured piece should be removed from the board");
         // Verify that white pawn moved to destination.
-        assertEquals(whitePawn, board[3][4], "White pawn should move to landing square");
+        assertEquals(whitePawn, board.get(3, 4), "White pawn should move to landing square");
         // Verify that moveOutput indicates a capture.
         assertTrue(result.isCaptured(), "MoveOutput should indicate a capture");
         // Verify captured piece coordinates.
         assertEquals(4, result.getCapturedPiece().getRow());
         assertEquals(3, result.getCapturedPiece().getCol());
+        // The step is recorded as a capture.
+        assertTrue(PackedMove.isCapture(state.getHistory().get(0)));
         // Because hasMoreTakes is true, turn should not switch.
         assertEquals("white", result.getCurrentTurn());
         assertEquals("white", result.getPreviousTurn());
@@ -164,10 +170,10 @@ public class BoardManagerTest {
     public void testMakeMove_Promotion() {
         // Set up promotion: white pawn moves to row 0.
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
+        Board board = state.getBoard();
         // Place white pawn at (1,2)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        board[1][2] = whitePawn;
+        board.set(1, 2, whitePawn);
         state.setCurrentPlayer(Color.WHITE);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
@@ -186,9 +192,10 @@ public class BoardManagerTest {
         boardManager.makeMove(state, output);
 
         // Verify that the white pawn is promoted to KING.
-        assertEquals(PieceType.KING, board[0][3].getType(), "Pawn should be promoted to KING");
+        assertEquals(PieceType.KING, board.get(0, 3).getType(), "Pawn should be promoted to KING");
+        assertTrue(PackedMove.isPromotion(state.getHistory().get(0)), "The step should be recorded as a promotion");
         // Verify source cell is cleared.
-        assertNull(board[1][2]);
+        assertNull(board.get(1, 2));
         // Turn switching should occur.
         assertEquals(Color.BLACK, state.getCurrentPlayer());
     }
@@ -197,10 +204,10 @@ public class BoardManagerTest {
     public void testMakeMove_GameEnd() {
         // Set up a move that triggers a win/draw condition.
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
+        Board board = state.getBoard();
         // Place white pawn at (5,2)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        board[5][2] = whitePawn;
+        board.set(5, 2, whitePawn);
         state.setCurrentPlayer(Color.WHITE);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
@@ -0,0 +1,96 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import pw.checkers.data.Board;
+import pw.checkers.data.Piece;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.Bitboards;
+import pw.checkers.utils.Zobrist;
+
+public class BoardTest {
+
+    @Test
+    public void testSquareIndexRoundTrip() {
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                int square = Board.toSquare(row, col);
+                if ((row + col) % 2 == 0) {
+                    assertEquals(-1, square, "Light square (" + row + "," + col + ") should not be playable");
+                } else {
+                    assertEquals(row, Board.toRow(square));
+                    assertEquals(col, Board.toCol(square));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInitialBoardMatchesStartingPosition() {
+        Board board = Board.initial();
+        assertEquals(new Piece(Color.BLACK, PieceType.PAWN), board.get(0, 1));
+        assertEquals(new Piece(Color.BLACK, PieceType.PAWN), board.get(2, 7));
+        assertEquals(new Piece(Color.WHITE, PieceType.PAWN), board.get(5, 0));
+        assertEquals(new Piece(Color.WHITE, PieceType.PAWN), board.get(7, 6));
+        assertNull(board.get(3, 2));
+        assertNull(board.get(4, 5));
+        assertEquals(12, Integer.bitCount(board.getWhite()));
+        assertEquals(12, Integer.bitCount(board.getBlack()));
+    }
+
+    @Test
+    public void testMoveKeepsKingFlag() {
+        Board board = new Board();
+        board.set(4, 3, new Piece(Color.WHITE, PieceType.KING));
+        board.move(Board.toSquare(4, 3), Board.toSquare(5, 4));
+        assertNull(board.get(4, 3));
+        assertEquals(new Piece(Color.WHITE, PieceType.KING), board.get(5, 4));
+    }
+
+    @Test
+    public void testSetOnLightSquareThrows() {
+        Board board = new Board();
+        assertThrows(IllegalArgumentException.class, () -> board.set(0, 0, new Piece(Color.WHITE, PieceType.PAWN)));
+    }
+
+    @Test
+    public void testShiftsMatchDiagonalNeighbours() {
+        int[][] directions = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+        for (int square = 0; square < 32; square++) {
+            int row = Board.toRow(square);
+            int col = Board.toCol(square);
+            for (int[] direction : directions) {
+                int expected = Board.toSquare(row + direction[0], col + direction[1]);
+                int shifted = Bitboards.shift(1 << square, direction[0], direction[1]);
+                if (expected < 0) {
+                    assertEquals(0, shifted, "Shift off the board from square " + square + " should be empty");
+                } else {
+                    assertEquals(1 << expected, shifted, "Wrong neighbour of square " + square);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalHashMatchesFullRecompute() {
+        Board board = Board.initial();
+        board.move(Board.toSquare(5, 2), Board.toSquare(4, 3));
+        board.set(2, 1, null);
+        board.set(1, 0, new Piece(Color.WHITE, PieceType.PAWN));
+        board.promote(Board.toSquare(1, 0));
+        assertEquals(Zobrist.hash(board.getWhite(), board.getBlack(), board.getKings()), board.getHash());
+    }
+
+    @Test
+    public void testHashReturnsAfterMovingBack() {
+        Board board = Board.initial();
+        long start = board.getHash();
+        board.move(Board.toSquare(5, 2), Board.toSquare(4, 3));
+        assertNotEquals(start, board.getHash());
+        board.move(Board.toSquare(4, 3), Board.toSquare(5, 2));
+        assertEquals(start, board.getHash());
+    }
+}
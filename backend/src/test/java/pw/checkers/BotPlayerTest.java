@@ -0,0 +1,230 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.archive.GameArchive;
+import pw.checkers.config.BotProperties;
+import pw.checkers.config.LifecycleProperties;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.Piece;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.*;
+import pw.checkers.message.JoinMessage;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.message.User;
+import pw.checkers.sockets.services.BotPlayer;
+import pw.checkers.sockets.services.GameExecutor;
+import pw.checkers.sockets.services.GameManager;
+import pw.checkers.sockets.services.MessageSender;
+import pw.checkers.sockets.services.SessionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BotPlayerTest {
+
+    private final BotProperties botProperties = new BotProperties(true, Duration.ofSeconds(30), Duration.ofMillis(50), 6, 1, 4, null);
+    private SessionManager sessionManager;
+    private MessageSender messageSender;
+    private GameExecutor gameExecutor;
+    private GameManager gameManager;
+    private AlphaBetaSearch alphaBetaSearch;
+    private BotPlayer botPlayer;
+    private GameRules gameRules;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        gameRules = new GameRules();
+        GameEndManager gameEndManager = new GameEndManager(gameRules);
+        BoardManager boardManager = new BoardManager(gameEndManager, gameRules);
+        GameService gameService = new GameServiceImpl(boardManager, gameRules, new MoveValidator(boardManager, gameRules),
+                new GameLifecycleManager(new SimpleMeterRegistry(), new LifecycleProperties(Duration.ofMinutes(30), Duration.ofMinutes(5))),
+                new MoveJournal(), new GameSnapshotStore());
+        sessionManager = mock(SessionManager.class);
+        messageSender = mock(MessageSender.class);
+        session = mock(WebSocketSession.class);
+        gameExecutor = new GameExecutor();
+        gameManager = new GameManager(gameService, sessionManager, gameEndManager, mock(GameArchive.class));
+        alphaBetaSearch = new AlphaBetaSearch(gameRules, new MoveEngine(gameRules), new Evaluator(botProperties), new TranspositionTable(1), new EndgameTablebase());
+        botPlayer = new BotPlayer(alphaBetaSearch, gameRules, new OpeningBook(gameRules), gameManager, sessionManager, messageSender, gameExecutor, botProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        botPlayer.shutdown();
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testBotRepliesAfterPlayerMove() throws Exception {
+        when(sessionManager.getBotColor(anyString())).thenReturn(Optional.of(Color.BLACK.getValue()));
+        String gameId = botPlayer.startGame(session, new User("Alice"), Color.WHITE);
+
+        assertNotNull(gameManager.makeMove(gameId, new Move(5, 0, 4, 1), Color.WHITE.getValue()));
+        gameExecutor.submit(gameId, () -> botPlayer.onMovePlayed(gameId));
+
+        awaitTurn(gameId, Color.WHITE);
+        verify(sessionManager).addBotGame(gameId, session, new User("Alice"), Color.WHITE);
+        verify(messageSender).sendMessage(eq(session), eq("white"), any(JoinMessage.class));
+        verify(messageSender, timeout(5000)).broadcastToGame(any(), argThat(message ->
+                message instanceof MoveOutputMessage output && output.getPreviousTurn().equals("black")), any());
+    }
+
+    @Test
+    void testBotOpensWhenItPlaysWhite() throws Exception {
+        String gameId = gameManager.createGame();
+        when(sessionManager.getBotColor(gameId)).thenReturn(Optional.of(Color.WHITE.getValue()));
+
+        gameExecutor.submit(gameId, () -> botPlayer.onMovePlayed(gameId));
+
+        awaitTurn(gameId, Color.BLACK);
+        verify(messageSender, timeout(5000)).broadcastToGame(any(), any(MoveOutputMessage.class), any());
+    }
+
+    @Test
+    void testSearchRunsOnBotPool() throws Exception {
+        AlphaBetaSearch recordingSearch = mock(AlphaBetaSearch.class);
+        CompletableFuture<String> searchThread = new CompletableFuture<>();
+        when(recordingSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            searchThread.complete(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+        botPlayer.shutdown();
+        botPlayer = new BotPlayer(recordingSearch, gameRules, new OpeningBook(gameRules), gameManager, sessionManager, messageSender, gameExecutor, botProperties);
+        String gameId = gameManager.createGame();
+        when(sessionManager.getBotColor(gameId)).thenReturn(Optional.of(Color.WHITE.getValue()));
+
+        gameExecutor.submit(gameId, () -> botPlayer.onMovePlayed(gameId));
+
+        assertTrue(searchThread.get(5, TimeUnit.SECONDS).startsWith("bot-search-"));
+    }
+
+    @Test
+    void testBotPlaysBookMoveWithoutSearching(@TempDir Path directory) throws Exception {
+        Path book = directory.resolve("book.ckob");
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        builder.add(OpeningBookTest.game("white 22-17 9-13"));
+        builder.write(book);
+        AlphaBetaSearch failingSearch = mock(AlphaBetaSearch.class);
+        botPlayer.shutdown();
+        botPlayer = new BotPlayer(failingSearch, gameRules, new OpeningBook(gameRules, book), gameManager, sessionManager, messageSender, gameExecutor, botProperties);
+        String gameId = gameManager.createGame();
+        when(sessionManager.getBotColor(gameId)).thenReturn(Optional.of(Color.WHITE.getValue()));
+
+        gameExecutor.submit(gameId, () -> botPlayer.onMovePlayed(gameId));
+
+        awaitTurn(gameId, Color.BLACK);
+        assertNotNull(gameManager.getGame(gameId).getBoard().get(17));
+        verifyNoInteractions(failingSearch);
+    }
+
+    @Test
+    void testPlaysFirstLegalMoveWhenSearchPoolIsFull() throws Exception {
+        AlphaBetaSearch blockingSearch = mock(AlphaBetaSearch.class);
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            searching.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        botPlayer.shutdown();
+        BotProperties oneSearch = new BotProperties(true, Duration.ofSeconds(30), Duration.ofMillis(50), 6, 1, 1, null);
+        botPlayer = new BotPlayer(blockingSearch, gameRules, new OpeningBook(gameRules), gameManager, sessionManager, messageSender, gameExecutor, oneSearch);
+        when(sessionManager.getBotColor(anyString())).thenReturn(Optional.of(Color.WHITE.getValue()));
+        String running = gameManager.createGame();
+        String queued = gameManager.createGame();
+        String rejected = gameManager.createGame();
+
+        try {
+            gameExecutor.submit(running, () -> botPlayer.onMovePlayed(running));
+            assertTrue(searching.await(5, TimeUnit.SECONDS));
+            gameExecutor.submit(queued, () -> botPlayer.onMovePlayed(queued));
+            gameExecutor.submit(queued, () -> gameExecutor.submit(rejected, () -> botPlayer.onMovePlayed(rejected)));
+
+            awaitTurn(rejected, Color.BLACK);
+            assertEquals(Color.WHITE, gameManager.getGame(running).getCurrentPlayer());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testFallbackContinuesTheMultiJump() throws Exception {
+        AlphaBetaSearch blockingSearch = mock(AlphaBetaSearch.class);
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            searching.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        botPlayer.shutdown();
+        BotProperties noQueue = new BotProperties(true, Duration.ofSeconds(30), Duration.ofMillis(50), 6, 1, 0, null);
+        botPlayer = new BotPlayer(blockingSearch, gameRules, new OpeningBook(gameRules), gameManager, sessionManager, messageSender, gameExecutor, noQueue);
+        when(sessionManager.getBotColor(anyString())).thenReturn(Optional.of(Color.WHITE.getValue()));
+        String running = gameManager.createGame();
+        String jumping = gameManager.createGame();
+        GameState gameState = gameManager.getGame(jumping);
+        gameState.setBoard(new Board());
+        gameState.getBoard().set(3, 2, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.getBoard().set(5, 4, new Piece(Color.WHITE, PieceType.PAWN));
+        gameState.getBoard().set(4, 5, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.setWhitePiecesLeft(2);
+        gameState.setBlackPiecesLeft(2);
+        gameState.setLastCaptureRow(5);
+        gameState.setLastCaptureCol(4);
+        assertNotEquals(Board.toSquare(5, 4), gameRules.getLegalMoves(gameState, Color.WHITE).getFrom(0),
+                "The first legal move should belong to the piece that is not jumping");
+
+        try {
+            gameExecutor.submit(running, () -> botPlayer.onMovePlayed(running));
+            assertTrue(searching.await(5, TimeUnit.SECONDS));
+            gameExecutor.submit(jumping, () -> botPlayer.onMovePlayed(jumping));
+
+            awaitTurn(jumping, Color.BLACK);
+            assertNotNull(gameState.getBoard().get(3, 6));
+            assertNull(gameState.getBoard().get(4, 5));
+            assertNotNull(gameState.getBoard().get(3, 2));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testIgnoresHumanGames() throws IOException {
+        String gameId = gameManager.createGame();
+        when(sessionManager.getBotColor(gameId)).thenReturn(Optional.empty());
+
+        botPlayer.onMovePlayed(gameId);
+
+        assertFalse(botPlayer.isBotGame(gameId));
+        verifyNoInteractions(messageSender);
+    }
+
+    private void awaitTurn(String gameId, Color color) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameManager.getGame(gameId).getCurrentPlayer() != color && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(color, gameManager.getGame(gameId).getCurrentPlayer());
+    }
+}
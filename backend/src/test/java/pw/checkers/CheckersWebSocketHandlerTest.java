@@ -29,6 +29,8 @@ public class CheckersWebSocketHandlerTest {
     @Mock
     private PossibilitiesHandler possibilitiesHandler;
     @Mock
+    private HintHandler hintHandler;
+    @Mock
     private AcceptRematchHandler acceptRematchHandler;
     @Mock
     private LeaveHandler leaveHandler;
@@ -53,6 +55,7 @@ public class CheckersWebSocketHandlerTest {
                 leaveQueueHandler,
                 moveHandler,
                 possibilitiesHandler,
+                hintHandler,
                 acceptRematchHandler,
                 leaveHandler,
                 declineRematchHandler,
@@ -124,6 +127,19 @@ public class CheckersWebSocketHandlerTest {
         verify(possibilitiesHandler, times(1)).handlePossibilities(session, possibilitiesInputMessage);
     }
 
+    @Test
+    public void testHandleHint() throws Exception {
+        String jsonPayload = "{\"type\":\"hint\",\"gameId\":\"game123\"}";
+        HintInputMessage hintInputMessage = new HintInputMessage("game123");
+
+        when(messageMapper.toMessageAccept(eq(session), any(TextMessage.class)))
+                .thenReturn(hintInputMessage);
+
+        handler.handleTextMessage(session, new TextMessage(jsonPayload));
+
+        verify(hintHandler, times(1)).handleHint(session, hintInputMessage);
+    }
+
     @Test
     public void testHandleLeaveQueue() throws Exception {
         // Simulate a leaveQueue JSON message.
@@ -0,0 +1,134 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.*;
+import pw.checkers.utils.EvaluationWeights;
+import pw.checkers.utils.SearchResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+class EndgameTablebaseTest {
+
+    @TempDir
+    static Path directory;
+    private static EndgameTablebase tablebase;
+
+    @BeforeAll
+    static void generate() throws IOException {
+        new TablebaseGenerator(3).generate(directory);
+        tablebase = new EndgameTablebase(directory, true);
+    }
+
+    @Test
+    void testWritesOneFilePerMaterial() throws IOException {
+        try (var files = Files.list(directory)) {
+            assertEquals(4 + 12, files.count());
+        }
+        assertEquals(3, tablebase.getMaxPieces());
+    }
+
+    @Test
+    void testKingInDoubleCornerHoldsTheDraw() {
+        GameState gameState = position(Color.WHITE);
+        place(gameState, 5, 4, Color.WHITE, PieceType.KING);
+        place(gameState, 0, 1, Color.BLACK, PieceType.KING);
+        assertEquals(EndgameTablebase.DRAW, tablebase.probe(gameState));
+    }
+
+    @Test
+    void testImmediateCaptureOfLastPieceWinsInOne() {
+        GameState gameState = position(Color.WHITE);
+        place(gameState, 4, 3, Color.WHITE, PieceType.KING);
+        place(gameState, 3, 4, Color.BLACK, PieceType.KING);
+        int value = tablebase.probe(gameState);
+        assertTrue(EndgameTablebase.isWin(value));
+        assertEquals(1, EndgameTablebase.distance(value));
+    }
+
+    @Test
+    void testTwoKingsBeatOneWhoeverMoves() {
+        for (Color side : Color.values()) {
+            GameState gameState = position(side);
+            place(gameState, 7, 0, Color.WHITE, PieceType.KING);
+            place(gameState, 7, 2, Color.WHITE, PieceType.KING);
+            place(gameState, 0, 5, Color.BLACK, PieceType.KING);
+            int value = tablebase.probe(gameState);
+            assertTrue(side == Color.WHITE ? EndgameTablebase.isWin(value) : EndgameTablebase.isLoss(value),
+                    side + " to move got " + Integer.toHexString(value));
+        }
+    }
+
+    @Test
+    void testSearchPlaysTowardsTheFastestWin() {
+        GameState gameState = position(Color.WHITE);
+        place(gameState, 7, 0, Color.WHITE, PieceType.KING);
+        place(gameState, 7, 2, Color.WHITE, PieceType.KING);
+        place(gameState, 0, 5, Color.BLACK, PieceType.KING);
+        int distance = EndgameTablebase.distance(tablebase.probe(gameState));
+        GameRules gameRules = new GameRules();
+        AlphaBetaSearch search = new AlphaBetaSearch(gameRules, new MoveEngine(gameRules),
+                new Evaluator(EvaluationWeights.DEFAULTS), new TranspositionTable(1), tablebase);
+
+        SearchResult shallow = search.search(gameState, TimeUnit.SECONDS.toNanos(5), 2).orElseThrow();
+        SearchResult deep = search.search(gameState, TimeUnit.SECONDS.toNanos(5), 6).orElseThrow();
+
+        assertEquals(AlphaBetaSearch.TABLEBASE_WIN - distance, shallow.score());
+        assertEquals(shallow.score(), deep.score(), "Wins found at different plies must score alike");
+    }
+
+    @Test
+    void testProbeSkipsUncoveredPositions() {
+        GameState gameState = position(Color.WHITE);
+        gameState.setBoard(Board.initial());
+        assertEquals(EndgameTablebase.NOT_FOUND, tablebase.probe(gameState));
+
+        GameState midJump = position(Color.WHITE);
+        place(midJump, 4, 3, Color.WHITE, PieceType.KING);
+        place(midJump, 0, 7, Color.BLACK, PieceType.KING);
+        midJump.setLastCaptureRow(4);
+        midJump.setLastCaptureCol(3);
+        assertEquals(EndgameTablebase.NOT_FOUND, tablebase.probe(midJump));
+        assertEquals(EndgameTablebase.NOT_FOUND, new EndgameTablebase(directory.resolve("missing"), false).probe(gameState));
+    }
+
+    @Test
+    void testDeadDrawIsAdjudicatedOnlyWhenEnabled() {
+        GameState gameState = position(Color.WHITE);
+        place(gameState, 5, 4, Color.WHITE, PieceType.KING);
+        place(gameState, 0, 1, Color.BLACK, PieceType.KING);
+
+        assertTrue(new GameRules(tablebase).isDraw(gameState));
+        assertFalse(new GameRules(new EndgameTablebase(directory, false)).isDraw(gameState));
+        assertFalse(new GameRules().isDraw(gameState));
+    }
+
+    private static GameState position(Color toMove) {
+        GameState gameState = new GameState();
+        gameState.setBoard(new Board());
+        gameState.setCurrentPlayer(toMove);
+        gameState.setNumberOfPositions(new PositionCounter());
+        return gameState;
+    }
+
+    private static void place(GameState gameState, int row, int col, Color color, PieceType type) {
+        gameState.getBoard().set(row, col, new Piece(color, type));
+        if (color == Color.WHITE) {
+            gameState.setWhitePiecesLeft(gameState.getWhitePiecesLeft() + 1);
+        } else {
+            gameState.setBlackPiecesLeft(gameState.getBlackPiecesLeft() + 1);
+        }
+    }
+}
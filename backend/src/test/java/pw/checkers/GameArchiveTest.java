@@ -0,0 +1,93 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pw.checkers.archive.ArchivedGame;
+import pw.checkers.archive.ArchivedGameRepository;
+import pw.checkers.archive.GameArchive;
+import pw.checkers.config.ArchiveProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.GameEndReason;
+import pw.checkers.utils.PackedMove;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GameArchiveTest {
+
+    @Autowired
+    private ArchivedGameRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void testWritesQueuedGames() {
+        GameArchive archive = new GameArchive(repository, new ArchiveProperties(true, 50, 1000, 0));
+        for (int i = 0; i < 120; i++) {
+            assertTrue(archive.archive(finishedGame(i), "Alice", "Bob"));
+        }
+        archive.start();
+        archive.shutdown();
+
+        assertEquals(120, archive.getWritten());
+        assertEquals(0, archive.getFailed());
+        List<ArchivedGame> games = repository.findAll();
+        assertEquals(120, games.size());
+        Set<Long> ids = new HashSet<>();
+        games.forEach(game -> ids.add(game.getId()));
+        assertEquals(120, ids.size());
+        ArchivedGame game = games.stream().filter(archived -> archived.getMoves().length == 6).findFirst().orElseThrow();
+        assertEquals("Alice", game.getWhitePlayer());
+        assertEquals("Bob", game.getBlackPlayer());
+        assertEquals(Color.WHITE, game.getWinner());
+        assertEquals(GameEndReason.RESIGNATION, game.getEndReason());
+        assertArrayEquals(finishedGame(3).getHistory().toBytes(), game.getMoves());
+        assertNotNull(game.getFinishedAt());
+    }
+
+    @Test
+    void testDropsGamesWhenQueueIsFull() {
+        GameArchive archive = new GameArchive(repository, new ArchiveProperties(true, 50, 2, 0));
+        assertTrue(archive.archive(finishedGame(1), "Alice", "Bob"));
+        assertTrue(archive.archive(finishedGame(2), "Alice", "Bob"));
+        assertFalse(archive.archive(finishedGame(3), "Alice", "Bob"));
+        assertEquals(1, archive.getDropped());
+        assertEquals(2, archive.getPending());
+    }
+
+    @Test
+    void testDisabledArchiveIgnoresGames() {
+        GameArchive archive = new GameArchive(repository, new ArchiveProperties(false, 50, 10, 0));
+        archive.start();
+        assertFalse(archive.isEnabled());
+        assertFalse(archive.archive(finishedGame(1), "Alice", "Bob"));
+        archive.shutdown();
+        assertEquals(0, repository.count());
+    }
+
+    private static GameState finishedGame(int steps) {
+        GameState gameState = new GameState();
+        gameState.setGameId(UUID.randomUUID().toString());
+        gameState.setFinished(true);
+        gameState.setWinner(Color.WHITE);
+        gameState.setGameEndReason(GameEndReason.RESIGNATION);
+        for (int i = 0; i < steps; i++) {
+            gameState.getHistory().add(PackedMove.pack(20 + i, 16 + i));
+        }
+        return gameState;
+    }
+}
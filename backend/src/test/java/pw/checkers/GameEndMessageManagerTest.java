@@ -4,15 +4,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
 import pw.checkers.data.enums.Color;
 import pw.checkers.data.enums.GameEndReason;
 import pw.checkers.game.GameEndManager;
 import pw.checkers.game.GameRules;
 
-import java.util.HashMap;
-
 public class GameEndMessageManagerTest {
 
     private GameEndManager gameEndManager;
@@ -35,11 +35,11 @@ public class GameEndMessageManagerTest {
      */
     private GameState createGameState() {
         GameState state = new GameState();
-        state.setBoard(new Piece[8][8]);
+        state.setBoard(new Board());
         state.setCurrentPlayer(Color.WHITE);
         state.setWhitePiecesLeft(12);
         state.setBlackPiecesLeft(12);
-        state.setNumberOfPositions(new HashMap<>());
+        state.setNumberOfPositions(new PositionCounter());
         state.setFinished(false);
         state.setWinner(null);
         return state;
@@ -167,7 +167,7 @@ public class GameEndMessageManagerTest {
     @Test
     public void testSetGameEndReason3FoldRepetition() {
         GameState state = createGameState();
-        state.getNumberOfPositions().put("aaa", 3);
+        state.getNumberOfPositions().put(42L, 3);
         gameEndManager.setGameEndReason(state, false);
         assertEquals(GameEndReason.THREEFOLD_REPETITION, state.getGameEndReason(), "Game end reason should be THREEFOLD_REPETITION.");
     }
@@ -0,0 +1,72 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.sockets.services.GameEvictor;
+import pw.checkers.sockets.services.GameExecutor;
+import pw.checkers.sockets.services.GameManager;
+import pw.checkers.sockets.services.RematchService;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class GameEvictorTest {
+
+    private GameManager gameManager;
+    private RematchService rematchService;
+    private GameExecutor gameExecutor;
+    private GameEvictor gameEvictor;
+
+    @BeforeEach
+    void setUp() {
+        gameManager = mock(GameManager.class);
+        rematchService = mock(RematchService.class);
+        gameExecutor = new GameExecutor();
+        gameEvictor = new GameEvictor(gameManager, rematchService, gameExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testEvictionWaitsForRunningCommandOfTheGame() throws Exception {
+        CountDownLatch commandStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommand = new CountDownLatch(1);
+        gameExecutor.submit("old", () -> {
+            commandStarted.countDown();
+            try {
+                releaseCommand.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(commandStarted.await(5, TimeUnit.SECONDS));
+        when(gameManager.collectExpiredGames()).thenReturn(List.of("old"));
+        when(gameManager.evictIfExpired("old")).thenReturn(true);
+
+        gameEvictor.evictExpiredGames();
+        verify(gameManager, after(100).never()).evictIfExpired("old");
+
+        releaseCommand.countDown();
+        verify(gameManager, timeout(5000)).evictIfExpired("old");
+        verify(rematchService, timeout(5000)).removeFromRematchRequests("old");
+    }
+
+    @Test
+    void testRevivedGameKeepsRematchRequests() {
+        when(gameManager.collectExpiredGames()).thenReturn(List.of("revived"));
+        when(gameManager.evictIfExpired("revived")).thenReturn(false);
+
+        gameEvictor.evictExpiredGames();
+
+        verify(gameManager, timeout(5000)).evictIfExpired("revived");
+        verify(rematchService, after(100).never()).removeFromRematchRequests(any());
+    }
+}
@@ -0,0 +1,106 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.sockets.services.GameExecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GameExecutorTest {
+
+    private GameExecutor gameExecutor;
+
+    @BeforeEach
+    void setUp() {
+        gameExecutor = new GameExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testCommandsForOneGameRunInOrderAndNeverOverlap() throws Exception {
+        int commands = 1000;
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(commands);
+
+        for (int i = 0; i < commands; i++) {
+            int index = i;
+            gameExecutor.submit("game1", () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                executed.add(index);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS), "All commands should run");
+        assertEquals(0, overlaps.get(), "Commands for one game must not run concurrently");
+        for (int i = 0; i < commands; i++) {
+            assertEquals(i, executed.get(i), "Commands should run in submission order");
+        }
+    }
+
+    @Test
+    void testBlockedGameDoesNotBlockOtherGames() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherGameDone = new CountDownLatch(1);
+
+        gameExecutor.submit("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        gameExecutor.submit("fast", otherGameDone::countDown);
+
+        assertTrue(otherGameDone.await(5, TimeUnit.SECONDS), "Other game should progress while one game is busy");
+        release.countDown();
+    }
+
+    @Test
+    void testFailingCommandDoesNotStopMailbox() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        gameExecutor.submit("game1", () -> {
+            throw new IOException("boom");
+        });
+        gameExecutor.submit("game1", done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMailboxIsRemovedWhenDrained() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        gameExecutor.submit("game1", done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameExecutor.getActiveMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, gameExecutor.getActiveMailboxes());
+    }
+
+    @Test
+    void testNullGameIdRunsInline() throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        gameExecutor.submit(null, counter::incrementAndGet);
+        assertEquals(1, counter.get());
+    }
+}
@@ -0,0 +1,121 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.GameState;
+import pw.checkers.game.GameLifecycleManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class GameLifecycleManagerTest {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+    private static final Duration FINISHED_GRACE = Duration.ofMinutes(5);
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toNanos());
+    private SimpleMeterRegistry meterRegistry;
+    private GameLifecycleManager gameLifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameLifecycleManager = new GameLifecycleManager(meterRegistry, IDLE_TTL, FINISHED_GRACE, clock::get);
+    }
+
+    @Test
+    void testIdleGameIsEvictedAfterTtl() {
+        gameLifecycleManager.register(game("idle"));
+
+        advance(IDLE_TTL.minusSeconds(2));
+        assertTrue(gameLifecycleManager.collectExpired().isEmpty());
+
+        advance(Duration.ofSeconds(3));
+        assertEquals(List.of("idle"), gameLifecycleManager.collectExpired());
+        assertTrue(gameLifecycleManager.expire("idle"));
+        assertEquals(0, gameLifecycleManager.getTrackedGames());
+        assertEquals(1.0, meterRegistry.get("checkers.games.evicted").tag("reason", "idle").counter().count());
+    }
+
+    @Test
+    void testActivityPostponesEviction() {
+        gameLifecycleManager.register(game("active"));
+
+        advance(Duration.ofMinutes(20));
+        gameLifecycleManager.touch("active");
+        advance(Duration.ofMinutes(20));
+        assertTrue(gameLifecycleManager.collectExpired().isEmpty());
+
+        advance(Duration.ofMinutes(11));
+        assertEquals(List.of("active"), gameLifecycleManager.collectExpired());
+    }
+
+    @Test
+    void testFinishedGameIsEvictedAfterGracePeriod() {
+        GameState gameState = game("finished");
+        gameLifecycleManager.register(gameState);
+        assertEquals(1.0, meterRegistry.get("checkers.games.live").gauge().value());
+
+        gameState.setFinished(true);
+        gameLifecycleManager.touch("finished");
+        assertEquals(1.0, meterRegistry.get("checkers.games.finished").gauge().value());
+        assertEquals(0.0, meterRegistry.get("checkers.games.live").gauge().value());
+
+        advance(FINISHED_GRACE.plusSeconds(2));
+        assertEquals(List.of("finished"), gameLifecycleManager.collectExpired());
+        assertTrue(gameLifecycleManager.expire("finished"));
+        assertEquals(1.0, meterRegistry.get("checkers.games.evicted").tag("reason", "finished").counter().count());
+    }
+
+    @Test
+    void testActivityAfterCollectionKeepsGame() {
+        gameLifecycleManager.register(game("revived"));
+
+        advance(IDLE_TTL.plusSeconds(2));
+        assertEquals(List.of("revived"), gameLifecycleManager.collectExpired());
+        gameLifecycleManager.touch("revived");
+        assertFalse(gameLifecycleManager.expire("revived"));
+        assertEquals(1, gameLifecycleManager.getTrackedGames());
+
+        advance(IDLE_TTL.plusSeconds(2));
+        assertEquals(List.of("revived"), gameLifecycleManager.collectExpired());
+        assertTrue(gameLifecycleManager.expire("revived"));
+    }
+
+    @Test
+    void testForgottenGameIsNotReportedAgain() {
+        gameLifecycleManager.register(game("deleted"));
+        gameLifecycleManager.forget("deleted");
+
+        advance(IDLE_TTL.plusMinutes(1));
+        assertTrue(gameLifecycleManager.collectExpired().isEmpty());
+    }
+
+    @Test
+    void testManyGamesExpireAcrossWheelRevolutions() {
+        for (int i = 0; i < 1000; i++) {
+            gameLifecycleManager.register(game("game" + i));
+            advance(Duration.ofSeconds(1));
+        }
+        int evicted = 0;
+        for (int minute = 0; minute < 60; minute++) {
+            advance(Duration.ofMinutes(1));
+            evicted += gameLifecycleManager.collectExpired().size();
+        }
+        assertEquals(1000, evicted);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static GameState game(String gameId) {
+        GameState gameState = new GameState();
+        gameState.setGameId(gameId);
+        return gameState;
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.socket.WebSocketSession;
 
+import pw.checkers.archive.GameArchive;
 import pw.checkers.data.GameState;
 import pw.checkers.data.enums.Color;
 import pw.checkers.game.GameEndManager;
@@ -36,11 +38,48 @@ public class GameManagerTest {
     @Mock
     private WebSocketSession session;
 
+    @Mock
+    private GameArchive gameArchive;
+
     private GameManager gameManager;
 
     @BeforeEach
     public void setUp() {
-        gameManager = new GameManager(gameService, sessionManager, gameEndManager);
+        gameManager = new GameManager(gameService, sessionManager, gameEndManager, gameArchive);
+    }
+
+    @Test
+    public void testEvictIfExpiredClearsSessionMaps() {
+        when(gameService.evictIfExpired("old")).thenReturn(true);
+
+        assertTrue(gameManager.evictIfExpired("old"));
+
+        verify(sessionManager).removeGameFromMaps("old");
+    }
+
+    @Test
+    public void testEvictIfExpiredKeepsRevivedGame() {
+        when(gameService.evictIfExpired("revived")).thenReturn(false);
+
+        assertFalse(gameManager.evictIfExpired("revived"));
+
+        verify(sessionManager, never()).removeGameFromMaps(any());
+    }
+
+    @Test
+    public void testArchiveGameOnceWithPlayerNames() {
+        GameState gameState = new GameState();
+        gameState.setGameId("game123");
+        gameState.setFinished(true);
+        when(gameService.getGame("game123")).thenReturn(gameState);
+        when(sessionManager.getBotColor("game123")).thenReturn(Optional.of("black"));
+        when(sessionManager.getColorAssignments("game123")).thenReturn(Map.of(session, "white"));
+        when(sessionManager.getUserBySession(session)).thenReturn(new User("Alice"));
+
+        gameManager.archiveGame("game123");
+        gameManager.archiveGame("game123");
+
+        verify(gameArchive, times(1)).archive(gameState, "Alice", "Bot");
     }
 
     @Test
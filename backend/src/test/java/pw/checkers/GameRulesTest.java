@@ -2,14 +2,14 @@ package pw.checkers;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
 import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
 import pw.checkers.data.enums.Color;
 import pw.checkers.data.enums.PieceType;
 import pw.checkers.game.GameRules;
@@ -30,12 +30,12 @@ public class GameRulesTest {
      */
     private GameState createEmptyGameState() {
         GameState state = new GameState();
-        Piece[][] board = new Piece[8][8];
+        Board board = new Board();
         state.setBoard(board);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
         state.setNoCapturesCounter(0);
-        state.setNumberOfPositions(new HashMap<>());
+        state.setNumberOfPositions(new PositionCounter());
         state.setCurrentPlayer(Color.WHITE);
         state.setWhitePiecesLeft(12);
         state.setBlackPiecesLeft(12);
@@ -54,7 +54,7 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         // Place a white pawn (non-king) at (5,2)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
 
         // Expect two normal moves (diagonally down-left and down-right) if within bounds.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -76,7 +76,7 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         // Place a black pawn (non-king) at (5,2)
         Piece whitePawn = new Piece(Color.BLACK, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
 
         // Expect two normal moves (diagonally up-left and upright) if within bounds.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -99,8 +99,8 @@ public class GameRulesTest {
         // Place a white pawn at (5,2) and a black pawn at (4,3) to be captured.
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
         Piece blackPawn = new Piece(Color.BLACK, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
-        state.getBoard()[4][3] = blackPawn;
+        state.getBoard().set(5, 2, whitePawn);
+        state.getBoard().set(4, 3, blackPawn);
 
         // The landing square (3,4) should be empty.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -119,8 +119,8 @@ public class GameRulesTest {
         // Place a black pawn at (4,3) and a white pawn at (5,2) to be captured.
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
         Piece blackPawn = new Piece(Color.BLACK, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
-        state.getBoard()[4][3] = blackPawn;
+        state.getBoard().set(5, 2, whitePawn);
+        state.getBoard().set(4, 3, blackPawn);
 
         // The landing square (6,1) should be empty.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 4, 3);
@@ -138,7 +138,7 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         // Place a white king at (5,2)
         Piece whitePawn = new Piece(Color.WHITE, PieceType.KING);
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
 
         // Expect four normal moves (diagonally left and right) if within bounds.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -160,7 +160,7 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         // Place a black king at (5,2)
         Piece whitePawn = new Piece(Color.BLACK, PieceType.KING);
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
 
         // Expect four normal moves (diagonally left and right) if within bounds.
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -184,9 +184,9 @@ public class GameRulesTest {
         Piece whiteKing = new Piece(Color.WHITE, PieceType.KING);
         Piece blackPawn1 = new Piece(Color.BLACK, PieceType.PAWN);
         Piece blackPawn2 = new Piece(Color.BLACK, PieceType.KING);
-        state.getBoard()[5][2] = whiteKing;
-        state.getBoard()[4][3] = blackPawn1;
-        state.getBoard()[6][1] = blackPawn2;
+        state.getBoard().set(5, 2, whiteKing);
+        state.getBoard().set(4, 3, blackPawn1);
+        state.getBoard().set(6, 1, blackPawn2);
 
         // Expect two captures - the king can go backwards
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -210,9 +210,9 @@ public class GameRulesTest {
         Piece blackKing = new Piece(Color.BLACK, PieceType.KING);
         Piece whitePawn1 = new Piece(Color.WHITE, PieceType.PAWN);
         Piece whitePawn2 = new Piece(Color.WHITE, PieceType.KING);
-        state.getBoard()[5][2] = blackKing;
-        state.getBoard()[4][3] = whitePawn1;
-        state.getBoard()[6][1] = whitePawn2;
+        state.getBoard().set(5, 2, blackKing);
+        state.getBoard().set(4, 3, whitePawn1);
+        state.getBoard().set(6, 1, whitePawn2);
 
         // Expect two captures - the king can go backwards
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 5, 2);
@@ -236,9 +236,9 @@ public class GameRulesTest {
         Piece whitePawn1 = new Piece(Color.WHITE, PieceType.PAWN);
         Piece whitePawn2 = new Piece(Color.WHITE, PieceType.PAWN);
         Piece whitePawn3 = new Piece(Color.WHITE, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn1;
-        state.getBoard()[6][3] = whitePawn2;
-        state.getBoard()[5][4] = whitePawn3;
+        state.getBoard().set(5, 2, whitePawn1);
+        state.getBoard().set(6, 3, whitePawn2);
+        state.getBoard().set(5, 4, whitePawn3);
 
         // Expect no moves - pawn is blocked by his allies
         PossibilitiesOutputMessage moves = gameRules.getPossibleMoves(state, 6, 3);
@@ -250,7 +250,7 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         // Place a white pawn so that white has available moves.
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
         assertTrue(gameRules.playerHasMoves(state, Color.WHITE), "White should have moves");
     }
 
@@ -262,13 +262,13 @@ public class GameRulesTest {
         Piece blackPawn1 = new Piece(Color.BLACK, PieceType.PAWN);
         Piece blackPawn2 = new Piece(Color.BLACK, PieceType.PAWN);
         // Place white pawn at (5,2)
-        state.getBoard()[5][2] = whitePawn;
+        state.getBoard().set(5, 2, whitePawn);
         // Place a first opponent piece to capture: at (4,3)
-        state.getBoard()[4][3] = blackPawn1;
+        state.getBoard().set(4, 3, blackPawn1);
         // Place a second opponent piece so that after capturing to (3,4) another capture is available
-        state.getBoard()[2][5] = blackPawn2;
+        state.getBoard().set(2, 5, blackPawn2);
         // Place white pawn at (3,4) - simulating real move
-        state.getBoard()[3][4] = whitePawn;
+        state.getBoard().set(3, 4, whitePawn);
         // Test hasMoreTakes from first capture move.
         Move firstCapture = new Move(5, 2, 3, 4);
 
@@ -287,8 +287,8 @@ public class GameRulesTest {
         GameState state = createEmptyGameState();
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
         Piece blackPawn = new Piece(Color.BLACK, PieceType.PAWN);
-        state.getBoard()[0][1] = whitePawn;
-        state.getBoard()[7][0] = blackPawn;
+        state.getBoard().set(0, 1, whitePawn);
+        state.getBoard().set(7, 0, blackPawn);
         assertTrue(gameRules.isDraw(state), "Game should be a draw due to no moves available");
     }
 
@@ -296,15 +296,13 @@ public class GameRulesTest {
     public void testIsDrawThreefoldRepetition() {
         GameState state = createEmptyGameState();
         // Simulate threefold repetition by setting numberOfPositions.
-        Map<String, Integer> positions = new HashMap<>();
+        PositionCounter positions = new PositionCounter();
 
         // Place a piece so that moves exist (so only the repetition is the draw trigger).
         Piece whitePawn = new Piece(Color.WHITE, PieceType.PAWN);
-        state.getBoard()[5][2] = whitePawn;
-        positions.put(state.boardToString(), 3);
+        state.getBoard().set(5, 2, whitePawn);
+        positions.put(state.positionKey(), 3);
         state.setNumberOfPositions(positions);
-        // For this test, assume boardToString returns "testBoard"
-        // You might need to override or simulate this in your test environment.
         assertTrue(gameRules.isDraw(state), "Game should be a draw due to threefold repetition");
     }
 
@@ -326,10 +324,38 @@ public class GameRulesTest {
         Piece whitePawn1 = new Piece(Color.WHITE, PieceType.PAWN);
         Piece whitePawn2 = new Piece(Color.WHITE, PieceType.PAWN);
         Piece whitePawn3 = new Piece(Color.WHITE, PieceType.PAWN);
-        state.getBoard()[0][1] = blackPawn;
-        state.getBoard()[1][0] = whitePawn1;
-        state.getBoard()[1][2] = whitePawn2;
-        state.getBoard()[2][3] = whitePawn3;
+        state.getBoard().set(0, 1, blackPawn);
+        state.getBoard().set(1, 0, whitePawn1);
+        state.getBoard().set(1, 2, whitePawn2);
+        state.getBoard().set(2, 3, whitePawn3);
         assertTrue(gameRules.hasSomebodyWon(state), "Game should be won if black is blocked");
     }
+
+    @Test
+    public void testLegalMovesOnlyContainCapturesWhenCaptureExists() {
+        GameState state = createEmptyGameState();
+        state.getBoard().set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
+        state.getBoard().set(4, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        state.getBoard().set(5, 6, new Piece(Color.WHITE, PieceType.PAWN));
+
+        LegalMoves legalMoves = gameRules.getLegalMoves(state, Color.WHITE);
+        assertTrue(legalMoves.isCaptures(), "Capture should be mandatory");
+        assertEquals(1, legalMoves.getSize(), "Only the capture should be legal");
+        assertTrue(gameRules.isLegalMove(state, new Move(5, 2, 3, 4)));
+        assertFalse(gameRules.isLegalMove(state, new Move(5, 6, 4, 5)), "Quiet move is illegal while a capture exists");
+    }
+
+    @Test
+    public void testLegalMovesAreCachedUntilBoardChanges() {
+        GameState state = createEmptyGameState();
+        state.getBoard().set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
+
+        LegalMoves first = gameRules.getLegalMoves(state, Color.WHITE);
+        assertEquals(2, first.getSize());
+        assertSame(first, gameRules.getLegalMoves(state, Color.WHITE));
+        assertTrue(gameRules.playerHasMoves(state, Color.WHITE));
+
+        state.getBoard().set(4, 1, new Piece(Color.WHITE, PieceType.PAWN));
+        assertEquals(3, gameRules.getLegalMoves(state, Color.WHITE).getSize(), "Board change should regenerate the list");
+    }
 }
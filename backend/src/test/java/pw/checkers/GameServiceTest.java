@@ -1,11 +1,14 @@
 package pw.checkers;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import pw.checkers.config.LifecycleProperties;
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
 import pw.checkers.data.enums.Color;
@@ -13,7 +16,7 @@ import pw.checkers.data.enums.PieceType;
 import pw.checkers.game.*;
 import pw.checkers.message.*;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +35,15 @@ public class GameServiceTest {
     @Spy
     private MoveValidator moveValidator = new MoveValidator(boardManager, gameRules);
 
+    @Spy
+    private GameLifecycleManager gameLifecycleManager = new GameLifecycleManager(new SimpleMeterRegistry(), new LifecycleProperties(Duration.ofMinutes(30), Duration.ofMinutes(5)));
+
+    @Spy
+    private MoveJournal moveJournal = new MoveJournal();
+
+    @Spy
+    private GameSnapshotStore gameSnapshotStore = new GameSnapshotStore();
+
     @InjectMocks
     private GameServiceImpl gameService;
 
@@ -56,15 +68,15 @@ public class GameServiceTest {
         assertFalse(gameState.isFinished());
         assertNull(gameState.getWinner());
         assertNotNull(gameState.getBoard());
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
         assertNotNull(board);
 
         int boardSize = 8;
-        assertEquals(boardSize, board.length);
+        assertEquals(boardSize, board.toArray().length);
 
         for (int row = 0; row < boardSize; row++) {
             for (int col = 0; col < boardSize; col++) {
-                Piece piece = board[row][col];
+                Piece piece = board.get(row, col);
 
                 if (row < 3) {
                     if ((row + col) % 2 == 1) {
@@ -160,10 +172,10 @@ public class GameServiceTest {
     void makeMove_ShouldHandleSingleCaptureCorrectly() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
 
-        board[4][3] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[5][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.set(4, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
 
         Move captureMove = new Move(5, 2, 3, 4);
         MoveOutputMessage result = gameService.makeMove(gameId, captureMove, "white");
@@ -177,7 +189,7 @@ public class GameServiceTest {
         assertEquals(result.getCapturedPiece().getCol(), 3);
         assertFalse(result.isHasMoreTakes());
         assertTrue(result.isCaptured());
-        assertNull(board[4][3]);
+        assertNull(board.get(4, 3));
         assertEquals(result.getPreviousTurn(), "white");
         assertEquals(result.getCurrentTurn(), "black");
     }
@@ -186,16 +198,12 @@ public class GameServiceTest {
     void makeMove_ShouldHandleMultipleCaptureCorrectly() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board.length; col++) {
-                board[row][col] = null;
-            }
-        }
+        Board board = gameState.getBoard();
+        board.clear();
 
-        board[4][3] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[2][3] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[5][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.set(4, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
 
         Move captureMove = new Move(5, 2, 3, 4);
         MoveOutputMessage result = gameService.makeMove(gameId, captureMove, "white");
@@ -209,7 +217,7 @@ public class GameServiceTest {
         assertEquals(result.getCapturedPiece().getCol(), 3);
         assertTrue(result.isHasMoreTakes());
         assertTrue(result.isCaptured());
-        assertNull(board[4][3]);
+        assertNull(board.get(4, 3));
         assertEquals(result.getPreviousTurn(), "white");
         assertEquals(result.getCurrentTurn(), "white");
     }
@@ -218,15 +226,15 @@ public class GameServiceTest {
     void makeMove_ShouldPromotePawnToKing() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
-        board[0][3] = null;
+        Board board = gameState.getBoard();
+        board.set(0, 3, null);
 
-        board[1][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.set(1, 2, new Piece(Color.WHITE, PieceType.PAWN));
         Move promotionMove = new Move(1, 2, 0, 3);
 
         gameService.makeMove(gameId, promotionMove, "white");
 
-        assertEquals(PieceType.KING, board[0][3].getType());
+        assertEquals(PieceType.KING, board.get(0, 3).getType());
     }
 
     @Test
@@ -240,6 +248,18 @@ public class GameServiceTest {
         assertNull(result);
     }
 
+    @Test
+    void makeMove_ShouldReturnNull_WhenItIsNotThePlayersTurn() {
+        GameState gameState = gameService.createGame();
+        String gameId = gameState.getGameId();
+
+        MoveOutputMessage result = gameService.makeMove(gameId, new Move(5, 2, 4, 3), "black");
+
+        assertNull(result);
+        assertEquals(0, gameState.getStepsPlayed());
+        assertEquals(Color.WHITE, gameState.getCurrentPlayer());
+    }
+
     @Test
     void makeMove_ShouldReturnNull_WhenFromFieldIsEmpty() {
         GameState gameState = gameService.createGame();
@@ -266,13 +286,11 @@ public class GameServiceTest {
     @Test
     void getPossibleMoves_ShouldReturnOnlyCaptureMoves_IfCaptureExists() {
         GameState gameState = gameService.createGame();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
 
-        for (Piece[] pieces : board) {
-            Arrays.fill(pieces, null);
-        }
-        board[4][3] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[5][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.clear();
+        board.set(4, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
 
 
         PossibilitiesOutputMessage pm = gameService.getPossibleMoves(gameState, 5, 2);
@@ -286,25 +304,23 @@ public class GameServiceTest {
     @Test
     void getPossibleMoves_ShouldReturnAllDirectionsForKing() {
         GameState gameState = gameService.createGame();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
 
-        for (Piece[] pieces : board) {
-            Arrays.fill(pieces, null);
-        }
-        board[4][4] = new Piece(Color.WHITE, PieceType.KING);
+        board.clear();
+        board.set(4, 3, new Piece(Color.WHITE, PieceType.KING));
 
-        PossibilitiesOutputMessage pm = gameService.getPossibleMoves(gameState, 4, 4);
+        PossibilitiesOutputMessage pm = gameService.getPossibleMoves(gameState, 4, 3);
 
         assertEquals(4, pm.getMoves().size(), "King in the middle should have 4 possible moves if no captures exist");
 
         boolean hasUpLeft = pm.getMoves().stream()
-                .anyMatch(m -> m.getRow() == 3 && m.getCol() == 3);
+                .anyMatch(m -> m.getRow() == 3 && m.getCol() == 2);
         boolean hasUpRight = pm.getMoves().stream()
-                .anyMatch(m -> m.getRow() == 3 && m.getCol() == 5);
+                .anyMatch(m -> m.getRow() == 3 && m.getCol() == 4);
         boolean hasDownLeft = pm.getMoves().stream()
-                .anyMatch(m -> m.getRow() == 5 && m.getCol() == 3);
+                .anyMatch(m -> m.getRow() == 5 && m.getCol() == 2);
         boolean hasDownRight = pm.getMoves().stream()
-                .anyMatch(m -> m.getRow() == 5 && m.getCol() == 5);
+                .anyMatch(m -> m.getRow() == 5 && m.getCol() == 4);
 
         assertTrue(hasUpLeft);
         assertTrue(hasUpRight);
@@ -317,18 +333,14 @@ public class GameServiceTest {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
 
-        Piece[][] board = gameState.getBoard();
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                board[r][c] = null;
-            }
-        }
+        Board board = gameState.getBoard();
+        board.clear();
 
-        board[5][0] = new Piece(Color.WHITE, PieceType.PAWN);
-        board[3][4] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.set(5, 0, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(3, 4, new Piece(Color.WHITE, PieceType.PAWN));
 
-        board[4][1] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[2][3] = new Piece(Color.BLACK, PieceType.PAWN);
+        board.set(4, 1, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(2, 3, new Piece(Color.BLACK, PieceType.PAWN));
 
         Move firstCapture = new Move(5, 0, 3, 2);
         MoveOutputMessage firstOutput = gameService.makeMove(gameId, firstCapture,"white");
@@ -362,33 +374,29 @@ public class GameServiceTest {
     void multipleCapturesInOneTurn_ByWhiteKing() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
 
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                board[r][c] = null;
-            }
-        }
+        board.clear();
 
         Piece whiteKing = new Piece(Color.WHITE, PieceType.KING);
-        board[4][4] = whiteKing;
+        board.set(4, 5, whiteKing);
 
-        board[5][3] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[5][1] = new Piece(Color.BLACK, PieceType.PAWN);
+        board.set(5, 4, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(5, 2, new Piece(Color.BLACK, PieceType.PAWN));
 
-        Move firstCapture = new Move(4, 4, 6, 2);
+        Move firstCapture = new Move(4, 5, 6, 3);
         MoveOutputMessage firstOutput = gameService.makeMove(gameId, firstCapture, "white");
 
         assertNotNull(firstOutput);
         assertTrue(firstOutput.isCaptured());
         assertEquals(5, firstOutput.getCapturedPiece().getRow());
-        assertEquals(3, firstOutput.getCapturedPiece().getCol());
+        assertEquals(4, firstOutput.getCapturedPiece().getCol());
         assertTrue(firstOutput.isHasMoreTakes());
 
-        board[5][3] = null;
-        board[4][4] = null;
+        board.set(5, 4, null);
+        board.set(4, 5, null);
 
-        Move secondCapture = new Move(6, 2, 4, 0);
+        Move secondCapture = new Move(6, 3, 4, 1);
         MoveOutputMessage secondOutput = gameService.makeMove(gameId, secondCapture, "white");
 
         assertNotNull(secondOutput);
@@ -403,14 +411,12 @@ public class GameServiceTest {
     void shouldEndGame_WhenAllBlackPiecesAreCaptured() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
+        Board board = gameState.getBoard();
 
-        for (Piece[] pieces : board) {
-            Arrays.fill(pieces, null);
-        }
+        board.clear();
 
-        board[3][2] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[4][1] = new Piece(Color.WHITE, PieceType.PAWN);
+        board.set(3, 2, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(4, 1, new Piece(Color.WHITE, PieceType.PAWN));
 
         gameState.setBlackPiecesLeft(1);
         gameState.setWhitePiecesLeft(1);
@@ -429,17 +435,15 @@ public class GameServiceTest {
     void testNoPossibleMovesForEitherSide_ShouldResultInDraw() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
-
-        for (Piece[] pieces : board) {
-            Arrays.fill(pieces, null);
-        }
-        board[0][0] = new Piece(Color.WHITE, PieceType.PAWN);
-        board[0][2] = new Piece(Color.WHITE, PieceType.PAWN);
-        board[7][5] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[7][7] = new Piece(Color.BLACK, PieceType.PAWN);
-        board[2][2] = new Piece(Color.WHITE, PieceType.PAWN);
-        gameService.makeMove(gameId, new Move(2,2,1,1), "white");
+        Board board = gameState.getBoard();
+
+        board.clear();
+        board.set(0, 1, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(0, 3, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(7, 4, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(7, 6, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(2, 3, new Piece(Color.WHITE, PieceType.PAWN));
+        gameService.makeMove(gameId, new Move(2,3,1,2), "white");
         boolean isDraw = (gameState.isFinished() && gameState.getWinner() == null);
         assertTrue(isDraw, "Game should be finished as a draw if no moves are possible for both sides.");
     }
@@ -462,27 +466,25 @@ public class GameServiceTest {
     void testThreefoldRepetition_ShouldResultInDraw() {
         GameState gameState = gameService.createGame();
         String gameId = gameState.getGameId();
-        Piece[][] board = gameState.getBoard();
-
-        for (Piece[] pieces : board) {
-            Arrays.fill(pieces, null);
-        }
-
-        board[0][2] = new Piece(Color.WHITE, PieceType.KING);
-        board[7][5] = new Piece(Color.BLACK, PieceType.KING);
-
-        gameService.makeMove(gameId, new Move(0, 2, 1, 3), "white");
-        gameService.makeMove(gameId, new Move(7, 5, 6, 4), "black");
-        gameService.makeMove(gameId, new Move(1, 3, 0, 2), "white");
-        gameService.makeMove(gameId, new Move(6, 4, 7, 5), "black");
-        gameService.makeMove(gameId, new Move(0, 2, 1, 3), "white");
-        gameService.makeMove(gameId, new Move(7, 5, 6, 4), "black");
-        gameService.makeMove(gameId, new Move(1, 3, 0, 2), "white");
-        gameService.makeMove(gameId, new Move(6, 4, 7, 5), "black");
-        gameService.makeMove(gameId, new Move(0, 2, 1, 3), "white");
-        gameService.makeMove(gameId, new Move(7, 5, 6, 4), "black");
-        gameService.makeMove(gameId, new Move(1, 3, 0, 2), "white");
-        gameService.makeMove(gameId, new Move(6, 4, 7, 5), "black");
+        Board board = gameState.getBoard();
+
+        board.clear();
+
+        board.set(0, 1, new Piece(Color.WHITE, PieceType.KING));
+        board.set(7, 4, new Piece(Color.BLACK, PieceType.KING));
+
+        gameService.makeMove(gameId, new Move(0, 1, 1, 2), "white");
+        gameService.makeMove(gameId, new Move(7, 4, 6, 3), "black");
+        gameService.makeMove(gameId, new Move(1, 2, 0, 1), "white");
+        gameService.makeMove(gameId, new Move(6, 3, 7, 4), "black");
+        gameService.makeMove(gameId, new Move(0, 1, 1, 2), "white");
+        gameService.makeMove(gameId, new Move(7, 4, 6, 3), "black");
+        gameService.makeMove(gameId, new Move(1, 2, 0, 1), "white");
+        gameService.makeMove(gameId, new Move(6, 3, 7, 4), "black");
+        gameService.makeMove(gameId, new Move(0, 1, 1, 2), "white");
+        gameService.makeMove(gameId, new Move(7, 4, 6, 3), "black");
+        gameService.makeMove(gameId, new Move(1, 2, 0, 1), "white");
+        gameService.makeMove(gameId, new Move(6, 3, 7, 4), "black");
 
 
         boolean isDraw = (gameState.isFinished() && gameState.getWinner() == null);
@@ -0,0 +1,131 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.GameSnapshotStore;
+import pw.checkers.utils.GameSnapshot;
+import pw.checkers.utils.PackedMove;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class GameSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripsGameStates() throws IOException {
+        GameSnapshotStore store = new GameSnapshotStore(directory);
+        GameState continuing = gameState(Color.BLACK, 3, 4);
+        GameState quiet = gameState(Color.WHITE, null, null);
+        try (GameSnapshotStore.Writer writer = store.write(7)) {
+            writer.add(continuing);
+            writer.add(quiet);
+            writer.commit();
+        }
+
+        GameSnapshot snapshot = store.load();
+
+        assertEquals(7, snapshot.journalSegment());
+        assertEquals(2, snapshot.games().size());
+        assertSameState(continuing, snapshot.games().get(0));
+        assertSameState(quiet, snapshot.games().get(1));
+        assertEquals(1, files());
+    }
+
+    @Test
+    void testUncommittedSnapshotKeepsThePreviousOne() throws IOException {
+        GameSnapshotStore store = new GameSnapshotStore(directory);
+        try (GameSnapshotStore.Writer writer = store.write(1)) {
+            writer.add(gameState(Color.WHITE, null, null));
+            writer.commit();
+        }
+        try (GameSnapshotStore.Writer writer = store.write(2)) {
+            writer.add(gameState(Color.WHITE, null, null));
+        }
+
+        GameSnapshot snapshot = store.load();
+        assertEquals(1, snapshot.journalSegment());
+        assertEquals(1, snapshot.games().size());
+        assertEquals(1, files());
+    }
+
+    @Test
+    void testMissingSnapshotIsEmpty() {
+        GameSnapshot snapshot = new GameSnapshotStore(directory).load();
+        assertEquals(0, snapshot.journalSegment());
+        assertTrue(snapshot.games().isEmpty());
+        assertTrue(new GameSnapshotStore().load().games().isEmpty());
+    }
+
+    @Test
+    void testRejectsCorruptSnapshot() throws IOException {
+        GameSnapshotStore store = new GameSnapshotStore(directory);
+        try (GameSnapshotStore.Writer writer = store.write(1)) {
+            writer.add(gameState(Color.WHITE, null, null));
+            writer.commit();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("snapshot.bin").toFile(), "rw")) {
+            file.seek(30);
+            file.write(0x55);
+        }
+
+        assertThrows(IllegalStateException.class, store::load);
+    }
+
+    private static GameState gameState(Color currentPlayer, Integer lastCaptureRow, Integer lastCaptureCol) {
+        GameState gameState = new GameState();
+        gameState.setGameId(UUID.randomUUID().toString());
+        gameState.setBoard(new Board(0x00F00000, 0x00000F0F, 0x00100001));
+        gameState.setCurrentPlayer(currentPlayer);
+        gameState.setLastCaptureRow(lastCaptureRow);
+        gameState.setLastCaptureCol(lastCaptureCol);
+        gameState.setWhitePiecesLeft(4);
+        gameState.setBlackPiecesLeft(8);
+        gameState.setNoCapturesCounter(11);
+        for (int i = 0; i < 42; i++) {
+            gameState.getHistory().add(PackedMove.pack(21 + i % 3, 17 + i % 4));
+        }
+        PositionCounter positions = new PositionCounter();
+        for (long key = 1; key < 100; key++) {
+            positions.increment(key * 0x9E3779B97F4A7C15L);
+        }
+        positions.increment(0x9E3779B97F4A7C15L);
+        gameState.setNumberOfPositions(positions);
+        return gameState;
+    }
+
+    private static void assertSameState(GameState expected, GameState actual) {
+        assertEquals(expected.getGameId(), actual.getGameId());
+        assertEquals(expected.positionKey(), actual.positionKey());
+        assertEquals(expected.getBoard().getKings(), actual.getBoard().getKings());
+        assertEquals(expected.getLastCaptureRow(), actual.getLastCaptureRow());
+        assertEquals(expected.getLastCaptureCol(), actual.getLastCaptureCol());
+        assertEquals(expected.getWhitePiecesLeft(), actual.getWhitePiecesLeft());
+        assertEquals(expected.getBlackPiecesLeft(), actual.getBlackPiecesLeft());
+        assertEquals(expected.getNoCapturesCounter(), actual.getNoCapturesCounter());
+        assertArrayEquals(expected.getHistory().toBytes(), actual.getHistory().toBytes());
+        PositionCounter positions = actual.getNumberOfPositions();
+        assertEquals(expected.getNumberOfPositions().getSize(), positions.getSize());
+        assertEquals(2, positions.getMaxCount());
+        assertEquals(2, positions.get(0x9E3779B97F4A7C15L));
+        assertEquals(1, positions.get(99 * 0x9E3779B97F4A7C15L));
+    }
+
+    private long files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
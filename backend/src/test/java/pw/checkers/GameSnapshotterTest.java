@@ -0,0 +1,143 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.config.JournalProperties;
+import pw.checkers.config.LifecycleProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.game.*;
+import pw.checkers.message.Move;
+import pw.checkers.sockets.services.GameExecutor;
+import pw.checkers.sockets.services.GameSnapshotter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class GameSnapshotterTest {
+
+    @TempDir
+    Path directory;
+    private final GameExecutor gameExecutor = new GameExecutor();
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testRestoresFromSnapshotAndJournalTail() throws Exception {
+        MoveJournal journal = new MoveJournal(directory, 1 << 12, Duration.ofMillis(1));
+        GameServiceImpl gameService = gameService(journal);
+        gameService.restoreGames();
+        GameSnapshotter snapshotter = snapshotter(gameService, journal);
+        GameState game = gameService.createGame();
+        GameState ended = gameService.createGame();
+        GameState created = gameService.createGame();
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(5, 0, 4, 1), "white"));
+        assertNotNull(gameService.makeMove(ended.getGameId(), new Move(5, 2, 4, 3), "white"));
+
+        assertEquals(3, snapshotter.snapshot());
+
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(2, 1, 3, 2), "black"));
+        assertNotNull(gameService.makeMove(created.getGameId(), new Move(5, 6, 4, 7), "white"));
+        ended.setFinished(true);
+        gameService.recordGameEnd(ended.getGameId());
+        journal.close();
+
+        GameServiceImpl restarted = gameService(new MoveJournal(directory, 1 << 12, Duration.ofMillis(1)));
+        restarted.restoreGames();
+
+        assertNull(restarted.getGame(ended.getGameId()));
+        assertSameGame(game, restarted.getGame(game.getGameId()));
+        assertSameGame(created, restarted.getGame(created.getGameId()));
+        assertEquals(2, restarted.getGame(game.getGameId()).getStepsPlayed());
+    }
+
+    @Test
+    void testSnapshotLetsJournalDropOldSegments() throws Exception {
+        MoveJournal journal = new MoveJournal(directory, 4 * MoveJournal.RECORD_BYTES, Duration.ofMillis(1));
+        GameServiceImpl gameService = gameService(journal);
+        gameService.restoreGames();
+        GameState game = gameService.createGame();
+        Move[] opening = {new Move(5, 0, 4, 1), new Move(2, 7, 3, 6), new Move(6, 1, 5, 0), new Move(1, 6, 2, 7)};
+        for (int i = 0; i < opening.length; i++) {
+            assertNotNull(gameService.makeMove(game.getGameId(), opening[i], i % 2 == 0 ? "white" : "black"));
+        }
+        snapshotter(gameService, journal).snapshot();
+        GameState other = gameService.createGame();
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(gameService.makeMove(other.getGameId(), opening[i], i % 2 == 0 ? "white" : "black"));
+        }
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(5, 2, 4, 3), "white"));
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(2, 3, 3, 2), "black"));
+        journal.close();
+
+        assertFalse(directory.resolve("journal-00000001.log").toFile().exists());
+        GameServiceImpl restarted = gameService(new MoveJournal(directory, 4 * MoveJournal.RECORD_BYTES, Duration.ofMillis(1)));
+        restarted.restoreGames();
+        assertSameGame(game, restarted.getGame(game.getGameId()));
+        assertSameGame(other, restarted.getGame(other.getGameId()));
+    }
+
+    @Test
+    void testSkipsGamesThatFailToCopy() throws Exception {
+        MoveJournal journal = new MoveJournal(directory, 4 * MoveJournal.RECORD_BYTES, Duration.ofMillis(1));
+        GameServiceImpl gameService = gameService(journal);
+        gameService.restoreGames();
+        GameState skipped = gameService.createGame();
+        GameState game = gameService.createGame();
+        assertNotNull(gameService.makeMove(skipped.getGameId(), new Move(5, 0, 4, 1), "white"));
+        Move[] opening = {new Move(5, 0, 4, 1), new Move(2, 7, 3, 6), new Move(6, 1, 5, 0), new Move(1, 6, 2, 7)};
+        for (int i = 0; i < opening.length; i++) {
+            assertNotNull(gameService.makeMove(game.getGameId(), opening[i], i % 2 == 0 ? "white" : "black"));
+        }
+        GameState broken = new GameState() {
+            @Override
+            public GameState copy() {
+                throw new IllegalStateException("corrupt game");
+            }
+        };
+        broken.setGameId(skipped.getGameId());
+        GameService withBrokenGame = mock(GameService.class);
+        when(withBrokenGame.getGamesInProgress()).thenReturn(List.of(broken, game));
+
+        int written = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> snapshotter(withBrokenGame, journal).snapshot());
+
+        assertEquals(1, written);
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(5, 2, 4, 3), "white"));
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(2, 3, 3, 2), "black"));
+        assertNotNull(gameService.makeMove(game.getGameId(), new Move(4, 1, 2, 3), "white"));
+        journal.close();
+
+        GameServiceImpl restarted = gameService(new MoveJournal(directory, 4 * MoveJournal.RECORD_BYTES, Duration.ofMillis(1)));
+        restarted.restoreGames();
+        assertSameGame(skipped, restarted.getGame(skipped.getGameId()));
+        assertSameGame(game, restarted.getGame(game.getGameId()));
+    }
+
+    private GameSnapshotter snapshotter(GameService gameService, MoveJournal journal) {
+        return new GameSnapshotter(gameService, gameExecutor, journal, new GameSnapshotStore(directory),
+                new JournalProperties(directory.toString(), null, Duration.ZERO, Duration.ZERO));
+    }
+
+    private GameServiceImpl gameService(MoveJournal journal) {
+        GameRules gameRules = new GameRules();
+        BoardManager boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        return new GameServiceImpl(boardManager, gameRules, new MoveValidator(boardManager, gameRules),
+                new GameLifecycleManager(new SimpleMeterRegistry(), new LifecycleProperties(Duration.ofMinutes(30), Duration.ofMinutes(5))), journal, new GameSnapshotStore(directory));
+    }
+
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertNotNull(actual);
+        assertEquals(expected.positionKey(), actual.positionKey());
+        assertArrayEquals(expected.getHistory().toBytes(), actual.getHistory().toBytes());
+        assertEquals(expected.getNoCapturesCounter(), actual.getNoCapturesCounter());
+        assertEquals(expected.getNumberOfPositions().getSize(), actual.getNumberOfPositions().getSize());
+    }
+}
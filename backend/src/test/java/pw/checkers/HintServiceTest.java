@@ -0,0 +1,159 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.config.HintProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.game.*;
+import pw.checkers.utils.SearchResult;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class HintServiceTest {
+
+    private final GameRules gameRules = new GameRules();
+    private final MoveEngine moveEngine = new MoveEngine(gameRules);
+    private final HintProperties hintProperties = new HintProperties(Duration.ofMillis(50), 4, 1, 1, 2);
+    private AlphaBetaSearch alphaBetaSearch;
+    private HintService hintService;
+
+    @BeforeEach
+    void setUp() {
+        alphaBetaSearch = mock(AlphaBetaSearch.class);
+        when(alphaBetaSearch.search(any(), anyLong(), anyInt())).thenReturn(Optional.of(new SearchResult(22, 17, 5, 4, 100)));
+        hintService = new HintService(alphaBetaSearch, new OpeningBook(gameRules), hintProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hintService.shutdown();
+    }
+
+    @Test
+    void testRepeatedRequestsShareOneSearch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(alphaBetaSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(new SearchResult(22, 17, 5, 4, 100));
+        });
+
+        CompletableFuture<Optional<SearchResult>> first = hintService.hint(GameState.initial());
+        CompletableFuture<Optional<SearchResult>> second = hintService.hint(GameState.initial());
+        release.countDown();
+
+        assertSame(first, second);
+        assertEquals(22, first.get(5, TimeUnit.SECONDS).orElseThrow().from());
+        assertSame(first, hintService.hint(GameState.initial()));
+        verify(alphaBetaSearch, times(1)).search(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testLeastRecentlyUsedPositionIsEvicted() throws Exception {
+        GameState a = GameState.initial();
+        GameState b = after(22, 17);
+        GameState c = after(22, 18);
+        hintService.hint(a).get(5, TimeUnit.SECONDS);
+        hintService.hint(b).get(5, TimeUnit.SECONDS);
+        hintService.hint(a).get(5, TimeUnit.SECONDS);
+        hintService.hint(c).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, hintService.getCachedPositions());
+        hintService.hint(a).get(5, TimeUnit.SECONDS);
+        verify(alphaBetaSearch, times(3)).search(any(), anyLong(), anyInt());
+        hintService.hint(b).get(5, TimeUnit.SECONDS);
+        verify(alphaBetaSearch, times(4)).search(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testBookMoveIsAnsweredWithoutSearching(@TempDir Path directory) throws Exception {
+        Path book = directory.resolve("book.ckob");
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        builder.add(OpeningBookTest.game("white 21-17"));
+        builder.add(OpeningBookTest.game("white 21-17"));
+        builder.add(OpeningBookTest.game("white 23-19"));
+        builder.write(book);
+        hintService.shutdown();
+        hintService = new HintService(alphaBetaSearch, new OpeningBook(gameRules, book), hintProperties);
+
+        SearchResult hint = hintService.hint(GameState.initial()).get(5, TimeUnit.SECONDS).orElseThrow();
+
+        assertEquals(new SearchResult(21, 17, 0, 0, 0), hint);
+        verifyNoInteractions(alphaBetaSearch);
+    }
+
+    @Test
+    void testSearchRunsOnHintPool() throws Exception {
+        CompletableFuture<String> searchThread = new CompletableFuture<>();
+        when(alphaBetaSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            searchThread.complete(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+
+        hintService.hint(GameState.initial());
+
+        assertTrue(searchThread.get(5, TimeUnit.SECONDS).startsWith("hint-search-"));
+    }
+
+    @Test
+    void testEmptyResultsAreNotCached() throws Exception {
+        when(alphaBetaSearch.search(any(), anyLong(), anyInt())).thenReturn(Optional.empty());
+
+        assertTrue(hintService.hint(GameState.initial()).get(5, TimeUnit.SECONDS).isEmpty());
+        awaitEmptyCache();
+        hintService.hint(GameState.initial()).get(5, TimeUnit.SECONDS);
+
+        verify(alphaBetaSearch, times(2)).search(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testFullPoolRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(alphaBetaSearch.search(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(new SearchResult(22, 17, 5, 4, 100));
+        });
+        hintService.hint(GameState.initial());
+        hintService.hint(after(22, 17));
+
+        CompletableFuture<Optional<SearchResult>> rejected = hintService.hint(after(22, 18));
+        release.countDown();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void testFinishedGameHasNoHint() throws Exception {
+        GameState gameState = GameState.initial();
+        gameState.setFinished(true);
+
+        assertTrue(hintService.hint(gameState).get().isEmpty());
+        verifyNoInteractions(alphaBetaSearch);
+    }
+
+    private void awaitEmptyCache() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hintService.getCachedPositions() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private GameState after(int from, int to) {
+        GameState gameState = GameState.initial();
+        moveEngine.apply(gameState, from, to);
+        return gameState;
+    }
+}
@@ -0,0 +1,113 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.config.BotProperties;
+import pw.checkers.data.enums.Color;
+import pw.checkers.message.JoinMessage;
+import pw.checkers.message.Message;
+import pw.checkers.message.User;
+import pw.checkers.sockets.services.BotPlayer;
+import pw.checkers.sockets.services.GameManager;
+import pw.checkers.sockets.services.Matchmaker;
+import pw.checkers.sockets.services.MatchmakingQueue;
+import pw.checkers.sockets.services.MessageSender;
+import pw.checkers.sockets.services.SessionManager;
+import pw.checkers.utils.MatchedPair;
+import pw.checkers.utils.WaitingPlayer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class MatchmakerTest {
+
+    @Mock
+    private MatchmakingQueue matchmakingQueue;
+    @Mock
+    private SessionManager sessionManager;
+    @Mock
+    private MessageSender messageSender;
+    @Mock
+    private GameManager gameManager;
+    @Mock
+    private BotPlayer botPlayer;
+    @Mock
+    private WebSocketSession whiteSession;
+    @Mock
+    private WebSocketSession blackSession;
+
+    private Matchmaker matchmaker;
+
+    @BeforeEach
+    void setUp() {
+        matchmaker = new Matchmaker(matchmakingQueue, sessionManager, messageSender, gameManager, botPlayer, botProperties(true));
+    }
+
+    @Test
+    void testTickCreatesGameForEachPair() throws IOException {
+        User alice = new User("Alice", 1500);
+        User bob = new User("Bob", 1520);
+        when(matchmakingQueue.pairWaitingPlayers()).thenReturn(List.of(
+                new MatchedPair(new WaitingPlayer(whiteSession, alice), new WaitingPlayer(blackSession, bob))));
+        when(gameManager.createGame()).thenReturn("game1");
+
+        matchmaker.runPairingTick();
+
+        verify(sessionManager).addToSessionsByGame("game1", whiteSession, blackSession);
+        verify(sessionManager).addToColorAssignments("game1", whiteSession, blackSession);
+        verify(sessionManager).addToUserBySessions(whiteSession, alice, blackSession, bob);
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messageSender).sendMessage(eq(whiteSession), eq("white"), captor.capture());
+        JoinMessage whiteJoin = (JoinMessage) captor.getValue();
+        assertEquals("game1", whiteJoin.getGameId());
+        assertEquals("Bob", whiteJoin.getOpponent().getUsername());
+        assertNull(whiteJoin.getOpponent().getRating());
+        verify(messageSender).sendMessage(eq(blackSession), eq("black"), any(JoinMessage.class));
+    }
+
+    @Test
+    void testEmptyTickDoesNothing() {
+        when(matchmakingQueue.pairWaitingPlayers()).thenReturn(List.of());
+        matchmaker.runPairingTick();
+        verifyNoInteractions(gameManager, sessionManager, messageSender, botPlayer);
+    }
+
+    @Test
+    void testPlayerWaitingPastTimeoutIsPairedWithBot() throws IOException {
+        User alice = new User("Alice", 1500);
+        when(matchmakingQueue.pairWaitingPlayers()).thenReturn(List.of());
+        when(matchmakingQueue.removeWaitingLongerThan(Duration.ofSeconds(30).toNanos()))
+                .thenReturn(List.of(new WaitingPlayer(whiteSession, alice)));
+
+        matchmaker.runPairingTick();
+
+        verify(botPlayer).startGame(whiteSession, alice, Color.WHITE);
+    }
+
+    @Test
+    void testDisabledBotLeavesQueueAlone() {
+        matchmaker = new Matchmaker(matchmakingQueue, sessionManager, messageSender, gameManager, botPlayer, botProperties(false));
+        when(matchmakingQueue.pairWaitingPlayers()).thenReturn(List.of());
+
+        matchmaker.runPairingTick();
+
+        verify(matchmakingQueue, never()).removeWaitingLongerThan(anyLong());
+        verifyNoInteractions(botPlayer);
+    }
+
+    private static BotProperties botProperties(boolean enabled) {
+        return new BotProperties(enabled, Duration.ofSeconds(30), Duration.ofMillis(100), 8, 1, 4, null);
+    }
+}
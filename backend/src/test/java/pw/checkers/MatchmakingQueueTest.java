@@ -0,0 +1,128 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+import pw.checkers.message.User;
+import pw.checkers.sockets.services.MatchmakingQueue;
+import pw.checkers.utils.MatchedPair;
+import pw.checkers.utils.WaitingPlayer;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MatchmakingQueueTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private MatchmakingQueue matchmakingQueue;
+    private WebSocketSession session1;
+    private WebSocketSession session2;
+    private WebSocketSession session3;
+
+    @BeforeEach
+    void setUp() {
+        matchmakingQueue = new MatchmakingQueue(clock::get);
+        session1 = mock(WebSocketSession.class);
+        session2 = mock(WebSocketSession.class);
+        session3 = mock(WebSocketSession.class);
+    }
+
+    @Test
+    void testSinglePlayerKeepsWaiting() {
+        matchmakingQueue.enqueue(session1, new User("Alice"));
+        assertTrue(matchmakingQueue.pairWaitingPlayers().isEmpty());
+        assertTrue(matchmakingQueue.contains(session1));
+    }
+
+    @Test
+    void testPlayersWithoutRatingArePairedAndLongestWaitingPlaysWhite() {
+        matchmakingQueue.enqueue(session1, new User("Alice"));
+        clock.addAndGet(1);
+        matchmakingQueue.enqueue(session2, new User("Bob"));
+
+        List<MatchedPair> pairs = matchmakingQueue.pairWaitingPlayers();
+        assertEquals(1, pairs.size());
+        assertEquals(session1, pairs.getFirst().white().session());
+        assertEquals(session2, pairs.getFirst().black().session());
+        assertEquals(0, matchmakingQueue.size());
+    }
+
+    @Test
+    void testNearestRatingsArePairedFirst() {
+        matchmakingQueue.enqueue(session1, new User("Alice", 1000));
+        matchmakingQueue.enqueue(session2, new User("Bob", 1900));
+        matchmakingQueue.enqueue(session3, new User("Carol", 1040));
+
+        List<MatchedPair> pairs = matchmakingQueue.pairWaitingPlayers();
+        assertEquals(1, pairs.size());
+        assertEquals(session1, pairs.getFirst().white().session());
+        assertEquals(session3, pairs.getFirst().black().session());
+        assertTrue(matchmakingQueue.contains(session2));
+    }
+
+    @Test
+    void testWindowWidensWhilePlayersWait() {
+        matchmakingQueue.enqueue(session1, new User("Alice", 1000));
+        matchmakingQueue.enqueue(session2, new User("Bob", 1400));
+        assertTrue(matchmakingQueue.pairWaitingPlayers().isEmpty());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(1, matchmakingQueue.pairWaitingPlayers().size());
+    }
+
+    @Test
+    void testRemoveRequiresMatchingUser() {
+        matchmakingQueue.enqueue(session1, new User("Alice"));
+        assertFalse(matchmakingQueue.remove(session1, new User("Bob")));
+        assertTrue(matchmakingQueue.contains(session1));
+        assertTrue(matchmakingQueue.remove(session1, new User("Alice", 1500)));
+        assertEquals(0, matchmakingQueue.size());
+    }
+
+    @Test
+    void testRemovesOnlyPlayersWaitingPastTimeout() {
+        long timeout = TimeUnit.SECONDS.toNanos(30);
+        matchmakingQueue.enqueue(session1, new User("Alice", 1000));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        matchmakingQueue.enqueue(session2, new User("Bob", 3000));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        List<WaitingPlayer> expired = matchmakingQueue.removeWaitingLongerThan(timeout);
+        assertEquals(1, expired.size());
+        assertEquals(session1, expired.getFirst().session());
+        assertFalse(matchmakingQueue.contains(session1));
+        assertTrue(matchmakingQueue.contains(session2));
+        assertTrue(matchmakingQueue.removeWaitingLongerThan(timeout).isEmpty());
+    }
+
+    @Test
+    void testRejoiningReplacesPreviousEntry() {
+        matchmakingQueue.enqueue(session1, new User("Alice", 1000));
+        matchmakingQueue.enqueue(session1, new User("Alice", 2000));
+        assertEquals(1, matchmakingQueue.size());
+        assertTrue(matchmakingQueue.pairWaitingPlayers().isEmpty());
+    }
+
+    @Test
+    void testPairsDenseQueueWithinInitialWindow() {
+        int players = 200;
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < players; i++) {
+            matchmakingQueue.enqueue(mock(WebSocketSession.class), new User("player" + i, random.nextInt(1000, 1400)));
+        }
+
+        List<MatchedPair> pairs = matchmakingQueue.pairWaitingPlayers();
+
+        assertEquals(players, pairs.size() * 2 + matchmakingQueue.size());
+        assertTrue(matchmakingQueue.size() < players / 10, "Dense ratings should leave almost nobody waiting");
+        for (MatchedPair pair : pairs) {
+            int gap = Math.abs(pair.white().user().getRating() - pair.black().user().getRating());
+            assertTrue(gap <= 100, "Fresh players must stay within the initial window");
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import pw.checkers.data.GameState;
@@ -22,6 +23,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 class MessageSenderTest {
 
@@ -42,6 +45,8 @@ class MessageSenderTest {
 
         when(session1.getId()).thenReturn("session1");
         when(session2.getId()).thenReturn("session2");
+        when(session1.isOpen()).thenReturn(true);
+        when(session2.isOpen()).thenReturn(true);
     }
 
     @Test
@@ -180,4 +185,105 @@ class MessageSenderTest {
         assertEquals("gameEnd", received.getType());
         assertTrue(((GameEndMessage)received).getResult().equalsIgnoreCase("white"));
     }
+
+    @Test
+    void testSlowSessionDoesNotBlockOtherSessions() throws Exception {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowSession = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            releaseSlowSession.await();
+            return null;
+        }).when(session1).sendMessage(any());
+
+        Thread slowWriter = Thread.ofVirtual().start(() -> {
+            try {
+                messageSender.sendMessage(session1, new PromptMessage("info", "slow"));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+
+        messageSender.sendMessage(session1, new PromptMessage("info", "queued"));
+        messageSender.sendMessage(session2, new PromptMessage("info", "fast"));
+        verify(session2).sendMessage(any());
+
+        releaseSlowSession.countDown();
+        slowWriter.join(5000);
+    }
+
+    @Test
+    void testSessionExceedingBufferLimitIsClosed() throws Exception {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowSession = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            releaseSlowSession.await();
+            return null;
+        }).when(session1).sendMessage(any());
+
+        Thread slowWriter = Thread.ofVirtual().start(() -> {
+            try {
+                messageSender.sendMessage(session1, new PromptMessage("info", "slow"));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+
+        String largePayload = "x".repeat(64 * 1024);
+        for (int i = 0; i < 16; i++) {
+            messageSender.sendMessage(session1, new PromptMessage("info", largePayload));
+        }
+        verify(session1).close(CloseStatus.SESSION_NOT_RELIABLE);
+
+        releaseSlowSession.countDown();
+        slowWriter.join(5000);
+    }
+
+    @Test
+    void testBroadcastSharesOneEncodedFrame() throws IOException {
+        Set<WebSocketSession> sessions = new HashSet<>();
+        sessions.add(session1);
+        sessions.add(session2);
+        when(session1.isOpen()).thenReturn(true);
+        when(session2.isOpen()).thenReturn(true);
+
+        messageSender.broadcastToGame(sessions, new PromptMessage("info", "Shared"), new HashMap<>());
+
+        ArgumentCaptor<TextMessage> captor1 = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> captor2 = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session1).sendMessage(captor1.capture());
+        verify(session2).sendMessage(captor2.capture());
+        assertSame(captor1.getValue(), captor2.getValue(), "Every recipient should get the same encoded frame");
+    }
+
+    @Test
+    void testBroadcastSkipsClosedSessions() throws IOException {
+        Set<WebSocketSession> sessions = new HashSet<>();
+        sessions.add(session1);
+        sessions.add(session2);
+        when(session1.isOpen()).thenReturn(true);
+        when(session2.isOpen()).thenReturn(false);
+
+        messageSender.broadcastToGame(sessions, new PromptMessage("info", "Only open"), new HashMap<>());
+
+        verify(session1).sendMessage(any());
+        verify(session2, never()).sendMessage(any());
+    }
+
+    @Test
+    void testSendAfterReleaseDoesNotKeepTheSession() throws IOException {
+        messageSender.sendMessage(session1, new PromptMessage("info", "Before close"));
+        assertEquals(1, messageSender.getOutboundSessions());
+
+        when(session1.isOpen()).thenReturn(false);
+        messageSender.release(session1);
+        messageSender.sendError(session1, "After close");
+        messageSender.sendMessage(session1, "white", new PromptMessage("info", "After close"));
+
+        assertEquals(0, messageSender.getOutboundSessions());
+        verify(session1, times(1)).sendMessage(any());
+    }
 }
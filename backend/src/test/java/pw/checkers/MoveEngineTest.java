@@ -0,0 +1,142 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameEndManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveEngine;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+class MoveEngineTest {
+
+    private GameRules gameRules;
+    private BoardManager boardManager;
+    private MoveEngine moveEngine;
+
+    @BeforeEach
+    void setUp() {
+        gameRules = new GameRules();
+        boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        moveEngine = new MoveEngine(gameRules);
+    }
+
+    @Test
+    void testApplyMatchesMakeMoveAndUndoRestoresEverything() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int game = 0; game < 200; game++) {
+            GameState engineState = GameState.initial();
+            GameState serverState = engineState.copy();
+            long[] undoStack = new long[400];
+            String[] snapshots = new String[400];
+            int plies = 0;
+            while (!serverState.isFinished() && plies < undoStack.length) {
+                int[] move = randomMove(engineState, random);
+                if (move == null) {
+                    break;
+                }
+                snapshots[plies] = snapshot(engineState);
+                undoStack[plies++] = moveEngine.apply(engineState, move[0], move[1]);
+                makeMove(serverState, move[0], move[1]);
+                assertEquals(snapshot(serverState), snapshot(engineState), "apply diverged from makeMove");
+            }
+            while (plies > 0) {
+                moveEngine.undo(engineState, undoStack[--plies]);
+                assertEquals(snapshots[plies], snapshot(engineState), "undo did not restore ply " + plies);
+            }
+        }
+    }
+
+    @Test
+    void testUndoRestoresCapturedKingAndPromotion() {
+        GameState gameState = new GameState();
+        Board board = new Board();
+        board.set(2, 3, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(1, 4, new Piece(Color.BLACK, PieceType.KING));
+        board.set(7, 0, new Piece(Color.BLACK, PieceType.PAWN));
+        gameState.setBoard(board);
+        gameState.setCurrentPlayer(Color.WHITE);
+        gameState.setWhitePiecesLeft(1);
+        gameState.setBlackPiecesLeft(2);
+        gameState.setNoCapturesCounter(17);
+        gameState.setNumberOfPositions(new PositionCounter());
+        String before = snapshot(gameState);
+
+        long undo = moveEngine.apply(gameState, Board.toSquare(2, 3), Board.toSquare(0, 5));
+        assertEquals(new Piece(Color.WHITE, PieceType.KING), board.get(0, 5));
+        assertNull(board.get(1, 4));
+        assertEquals(1, gameState.getBlackPiecesLeft());
+        assertEquals(0, gameState.getNoCapturesCounter());
+        assertTrue(MoveEngine.isTurnEnded(undo));
+
+        moveEngine.undo(gameState, undo);
+        assertEquals(before, snapshot(gameState));
+        assertEquals(new Piece(Color.BLACK, PieceType.KING), board.get(1, 4));
+        assertEquals(new Piece(Color.WHITE, PieceType.PAWN), board.get(2, 3));
+    }
+
+    @Test
+    void testApplyUndoDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GameState gameState = GameState.initial();
+        int from = Board.toSquare(5, 2);
+        int to = Board.toSquare(4, 3);
+        for (int i = 0; i < 20_000; i++) {
+            moveEngine.undo(gameState, moveEngine.apply(gameState, from, to));
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            moveEngine.undo(gameState, moveEngine.apply(gameState, from, to));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 64 * 1024, "apply/undo allocated " + allocated + " bytes");
+    }
+
+    private int[] randomMove(GameState gameState, SplittableRandom random) {
+        LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+        int[] candidates = new int[legalMoves.getSize()];
+        int count = 0;
+        for (int i = 0; i < legalMoves.getSize(); i++) {
+            int from = legalMoves.getFrom(i);
+            boolean forced = gameState.getLastCaptureRow() != null
+                    && from != Board.toSquare(gameState.getLastCaptureRow(), gameState.getLastCaptureCol());
+            if (!forced) {
+                candidates[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        int pick = candidates[random.nextInt(count)];
+        return new int[]{legalMoves.getFrom(pick), legalMoves.getTo(pick)};
+    }
+
+    private void makeMove(GameState gameState, int from, int to) {
+        MoveOutputMessage response = new MoveOutputMessage();
+        response.setMove(new Move(Board.toRow(from), Board.toCol(from), Board.toRow(to), Board.toCol(to)));
+        boardManager.makeMove(gameState, response);
+    }
+
+    private static String snapshot(GameState gameState) {
+        Board board = gameState.getBoard();
+        PositionCounter positions = gameState.getNumberOfPositions();
+        return board.getWhite() + "/" + board.getBlack() + "/" + board.getKings() + "/" + board.getHash()
+                + " " + gameState.getCurrentPlayer() + " " + gameState.getWhitePiecesLeft() + ":" + gameState.getBlackPiecesLeft()
+                + " nc=" + gameState.getNoCapturesCounter() + " lc=" + gameState.getLastCaptureRow() + "," + gameState.getLastCaptureCol()
+                + " rep=" + positions.getSize() + "/" + positions.getMaxCount() + "/" + positions.get(gameState.positionKey());
+    }
+}
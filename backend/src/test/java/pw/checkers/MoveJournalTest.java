@@ -0,0 +1,232 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.config.LifecycleProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.*;
+import pw.checkers.message.Move;
+import pw.checkers.utils.JournaledGame;
+import pw.checkers.utils.PackedMove;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class MoveJournalTest {
+
+    private static final String GAME_1 = UUID.randomUUID().toString();
+    private static final String GAME_2 = UUID.randomUUID().toString();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecoversGamesInProgress() {
+        MoveJournal journal = open(1 << 16);
+        assertTrue(journal.recover().isEmpty());
+        journal.gameCreated(GAME_1);
+        journal.gameCreated(GAME_2);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.movePlayed(GAME_2, 0, PackedMove.pack(22, 18));
+        journal.movePlayed(GAME_1, 1, PackedMove.pack(9, 13));
+        journal.gameEnded(GAME_2, Color.WHITE);
+        journal.close();
+
+        List<JournaledGame> recovered = open(1 << 16).recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals(GAME_1, recovered.getFirst().gameId());
+        assertArrayEquals(new int[]{(21 << 5) | 17, (9 << 5) | 13}, recovered.getFirst().steps());
+    }
+
+    @Test
+    void testDeletedGamesAreNotRecoveredAndRecoveryCompactsTheJournal() throws IOException {
+        MoveJournal journal = open(1 << 16);
+        journal.recover();
+        journal.gameCreated(GAME_1);
+        journal.gameCreated(GAME_2);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.gameDeleted(GAME_2);
+        journal.close();
+
+        MoveJournal restarted = open(1 << 16);
+        assertEquals(1, restarted.recover().size());
+        restarted.close();
+
+        assertEquals(List.of("journal-00000002.log"), segments());
+        List<JournaledGame> recovered = open(1 << 16).recover();
+        assertEquals(1, recovered.size());
+        assertArrayEquals(new int[]{(21 << 5) | 17}, recovered.getFirst().steps());
+    }
+
+    @Test
+    void testRollsSegmentsAndDeletesThoseOnlyHoldingFinishedGames() throws IOException {
+        MoveJournal journal = open(4 * MoveJournal.RECORD_BYTES);
+        journal.recover();
+        journal.gameCreated(GAME_1);
+        for (int i = 0; i < 6; i++) {
+            journal.movePlayed(GAME_1, i, PackedMove.pack(21, 17));
+        }
+        assertEquals(2, segments().size());
+
+        journal.gameEnded(GAME_1, Color.BLACK);
+        journal.gameCreated(GAME_2);
+        journal.movePlayed(GAME_2, 0, PackedMove.pack(22, 18));
+        journal.movePlayed(GAME_2, 1, PackedMove.pack(9, 13));
+        journal.close();
+
+        assertEquals(List.of("journal-00000003.log"), segments());
+        List<JournaledGame> recovered = open(4 * MoveJournal.RECORD_BYTES).recover();
+        assertEquals(1, recovered.size());
+        assertEquals(GAME_2, recovered.getFirst().gameId());
+        assertEquals(2, recovered.getFirst().steps().length);
+    }
+
+    @Test
+    void testIgnoresTornTail() throws IOException {
+        MoveJournal journal = open(1 << 16);
+        journal.recover();
+        journal.gameCreated(GAME_1);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.movePlayed(GAME_1, 1, PackedMove.pack(9, 13));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("journal-00000001.log").toFile(), "rw")) {
+            file.seek(2 * MoveJournal.RECORD_BYTES + 20);
+            file.write(0x7F);
+        }
+
+        List<JournaledGame> recovered = open(1 << 16).recover();
+        assertEquals(1, recovered.size());
+        assertArrayEquals(new int[]{(21 << 5) | 17}, recovered.getFirst().steps());
+    }
+
+    @Test
+    void testRecoversOnlyStepsAfterSnapshot() throws IOException {
+        MoveJournal journal = open(4 * MoveJournal.RECORD_BYTES);
+        journal.recover();
+        journal.gameCreated(GAME_1);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.movePlayed(GAME_1, 1, PackedMove.pack(9, 13));
+        journal.gameCreated(GAME_2);
+        journal.movePlayed(GAME_1, 2, PackedMove.pack(22, 18));
+        int snapshotSegment = journal.currentSegment();
+        journal.movePlayed(GAME_2, 0, PackedMove.pack(21, 17));
+        journal.snapshotTaken(snapshotSegment, Set.of(GAME_1, GAME_2));
+        for (int i = 1; i < 5; i++) {
+            journal.movePlayed(GAME_2, i, PackedMove.pack(17, 21));
+        }
+        assertFalse(segments().contains("journal-00000001.log"), "Segments before the snapshot are not needed anymore");
+        journal.gameEnded(GAME_2, Color.WHITE);
+        journal.close();
+
+        List<JournaledGame> recovered = open(4 * MoveJournal.RECORD_BYTES).recover(snapshotSegment, Map.of(GAME_1, 2, GAME_2, 1));
+
+        assertEquals(1, recovered.size());
+        assertEquals(GAME_1, recovered.getFirst().gameId());
+        assertEquals(2, recovered.getFirst().firstStep());
+        assertArrayEquals(new int[]{(22 << 5) | 18}, recovered.getFirst().steps());
+    }
+
+    @Test
+    void testKeepsSnapshottedGamesDeletedBeforeCompaction() {
+        MoveJournal journal = open(1 << 16);
+        journal.recover();
+        journal.movePlayed(GAME_1, 3, PackedMove.pack(21, 17));
+        journal.gameDeleted(GAME_2);
+        journal.close();
+        Map<String, Integer> snapshotSteps = Map.of(GAME_1, 3, GAME_2, 7);
+
+        MoveJournal restarted = open(1 << 16);
+        List<JournaledGame> recovered = restarted.recover(1, snapshotSteps);
+        assertEquals(List.of(GAME_1), recovered.stream().map(JournaledGame::gameId).toList());
+        restarted.close();
+
+        recovered = open(1 << 16).recover(1, snapshotSteps);
+        assertEquals(List.of(GAME_1), recovered.stream().map(JournaledGame::gameId).toList());
+        assertEquals(3, recovered.getFirst().firstStep());
+        assertArrayEquals(new int[]{(21 << 5) | 17}, recovered.getFirst().steps());
+    }
+
+    @Test
+    void testDropsGamesWithMissingSteps() {
+        MoveJournal journal = open(1 << 16);
+        journal.recover();
+        journal.gameCreated(GAME_1);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.movePlayed(GAME_1, 2, PackedMove.pack(9, 13));
+        journal.movePlayed(GAME_2, 5, PackedMove.pack(22, 18));
+        journal.close();
+
+        assertTrue(open(1 << 16).recover(1, Map.of(GAME_2, 4)).isEmpty());
+    }
+
+    @Test
+    void testDisabledJournalIgnoresEvents() {
+        MoveJournal journal = new MoveJournal();
+        assertFalse(journal.isEnabled());
+        assertTrue(journal.recover().isEmpty());
+        journal.gameCreated(GAME_1);
+        journal.movePlayed(GAME_1, 0, PackedMove.pack(21, 17));
+        journal.close();
+    }
+
+    @Test
+    void testAppendBeforeRecoveryFails() {
+        MoveJournal journal = open(1 << 16);
+        assertThrows(IllegalStateException.class, () -> journal.gameCreated(GAME_1));
+    }
+
+    @Test
+    void testGameServiceRestoresJournaledGames() {
+        MoveJournal journal = open(1 << 16);
+        GameServiceImpl gameService = gameService(journal);
+        gameService.restoreGames();
+        GameState gameState = gameService.createGame();
+        assertNotNull(gameService.makeMove(gameState.getGameId(), new Move(5, 0, 4, 1), "white"));
+        assertNotNull(gameService.makeMove(gameState.getGameId(), new Move(2, 1, 3, 2), "black"));
+        GameState finished = gameService.createGame();
+        finished.setFinished(true);
+        finished.setWinner(Color.WHITE);
+        gameService.recordGameEnd(finished.getGameId());
+        journal.close();
+
+        GameServiceImpl restarted = gameService(open(1 << 16));
+        restarted.restoreGames();
+
+        GameState restored = restarted.getGame(gameState.getGameId());
+        assertNotNull(restored);
+        assertNull(restarted.getGame(finished.getGameId()));
+        assertEquals(Color.WHITE, restored.getCurrentPlayer());
+        assertEquals(gameState.positionKey(), restored.positionKey());
+    }
+
+    private MoveJournal open(int segmentBytes) {
+        return new MoveJournal(directory, segmentBytes, Duration.ofMillis(1));
+    }
+
+    private static GameServiceImpl gameService(MoveJournal journal) {
+        GameRules gameRules = new GameRules();
+        BoardManager boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        return new GameServiceImpl(boardManager, gameRules, new MoveValidator(boardManager, gameRules),
+                new GameLifecycleManager(new SimpleMeterRegistry(), new LifecycleProperties(Duration.ofMinutes(30), Duration.ofMinutes(5))), journal, new GameSnapshotStore());
+    }
+
+    private List<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
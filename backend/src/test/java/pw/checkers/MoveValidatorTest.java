@@ -5,19 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pw.checkers.data.Board;
 import pw.checkers.data.GameState;
 import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
 import pw.checkers.data.enums.Color;
 import pw.checkers.data.enums.PieceType;
 import pw.checkers.game.BoardManager;
 import pw.checkers.game.GameRules;
 import pw.checkers.game.MoveValidator;
 import pw.checkers.message.Move;
-import pw.checkers.message.MoveHelper;
-import pw.checkers.message.PossibilitiesOutputMessage;
-
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -42,7 +39,7 @@ public class MoveValidatorTest {
      */
     private GameState createGameState() {
         GameState state = new GameState();
-        Piece[][] board = new Piece[8][8];
+        Board board = new Board();
         state.setBoard(board);
         state.setFinished(false);
         state.setCurrentPlayer(Color.WHITE);
@@ -50,7 +47,7 @@ public class MoveValidatorTest {
         state.setBlackPiecesLeft(12);
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
-        state.setNumberOfPositions(new java.util.HashMap<>());
+        state.setNumberOfPositions(new PositionCounter());
         return state;
     }
 
@@ -71,7 +68,7 @@ public class MoveValidatorTest {
     @Test
     public void testValidateMove_NoPieceAtFromReturnsFalse() {
         GameState state = createGameState();
-        // board[0][0] remains null
+        // board.get(0, 0) remains null
         Move move = new Move(0, 0, 1, 1);
         assertFalse(moveValidator.validateMove(state, move));
     }
@@ -79,23 +76,23 @@ public class MoveValidatorTest {
     @Test
     public void testValidateMove_PieceWrongColorReturnsFalse() {
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
-        // Place a BLACK piece at (0,0) while currentPlayer is WHITE.
-        board[0][0] = new Piece(Color.BLACK, PieceType.PAWN);
-        Move move = new Move(0, 0, 1, 1);
+        Board board = state.getBoard();
+        // Place a BLACK piece at (0,1) while currentPlayer is WHITE.
+        board.set(0, 1, new Piece(Color.BLACK, PieceType.PAWN));
+        Move move = new Move(0, 1, 1, 2);
         assertFalse(moveValidator.validateMove(state, move));
     }
 
     @Test
     public void testValidateMove_BrokenMultipleCaptureSequenceReturnsFalse() {
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
-        // Place a WHITE piece at (2,2)
-        board[2][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        Board board = state.getBoard();
+        // Place a WHITE piece at (2,1)
+        board.set(2, 1, new Piece(Color.WHITE, PieceType.PAWN));
         // Set last capture coordinates to a different cell than the move's from.
         state.setLastCaptureRow(3);
-        state.setLastCaptureCol(3);
-        Move move = new Move(2, 2, 3, 3);
+        state.setLastCaptureCol(2);
+        Move move = new Move(2, 1, 3, 2);
         // The method brokenMultipleCaptureSequence returns true, so validateMove returns false.
         assertFalse(moveValidator.validateMove(state, move));
     }
@@ -103,44 +100,36 @@ public class MoveValidatorTest {
         @Test
         public void testValidateMove_ValidMoveReturnsTrue() {
             GameState state = createGameState();
-            Piece[][] board = state.getBoard();
-            // Place a WHITE pawn at (2,2)
-            board[2][2] = new Piece(Color.WHITE, PieceType.PAWN);
+            Board board = state.getBoard();
+            // Place a WHITE pawn at (2,1)
+            board.set(2, 1, new Piece(Color.WHITE, PieceType.PAWN));
             // Ensure no capture sequence is active.
             state.setLastCaptureRow(null);
             state.setLastCaptureCol(null);
-            // Prepare a valid move: from (2,2) to (1,1)
-            Move move = new Move(2, 2, 1, 1);
-
-            // Create a PossibleMoves instance that includes the expected move.
-            PossibilitiesOutputMessage possibilitiesOutputMessage = new PossibilitiesOutputMessage();
-            List<MoveHelper> movesList = new ArrayList<>();
-            movesList.add(new MoveHelper(1, 1));
-            possibilitiesOutputMessage.setMoves(movesList);
+            // Prepare a valid move: from (2,1) to (1,2)
+            Move move = new Move(2, 1, 1, 2);
 
-            // Stub gameRules.getPossibleMoves to return our possibleMoves for cell (2,2)
-            when(gameRules.getPossibleMoves(state, 2, 2)).thenReturn(possibilitiesOutputMessage);
+            // Stub gameRules.isLegalMove to report the move as present in the legal move list
+            when(gameRules.isLegalMove(state, move)).thenReturn(true);
 
             boolean result = moveValidator.validateMove(state, move);
-            assertTrue(result, "The move should be valid since it is in possibleMoves.");
+            assertTrue(result, "The move should be valid since it is in the legal moves.");
         }
 
     @Test
     public void testValidateMove_ValidMoveReturnsFalseIfNotInPossibleMoves() {
         GameState state = createGameState();
-        Piece[][] board = state.getBoard();
-        // Place a WHITE pawn at (2,2)
-        board[2][2] = new Piece(Color.WHITE, PieceType.PAWN);
+        Board board = state.getBoard();
+        // Place a WHITE pawn at (2,1)
+        board.set(2, 1, new Piece(Color.WHITE, PieceType.PAWN));
         state.setLastCaptureRow(null);
         state.setLastCaptureCol(null);
-        Move move = new Move(2, 2, 1, 1);
+        Move move = new Move(2, 1, 1, 2);
 
-        // Return a PossibleMoves that does NOT include the move (1,1)
-        PossibilitiesOutputMessage possibilitiesOutputMessage = new PossibilitiesOutputMessage();
-        possibilitiesOutputMessage.setMoves(new ArrayList<>()); // empty list
-        when(gameRules.getPossibleMoves(state, 2, 2)).thenReturn(possibilitiesOutputMessage);
+        // The legal move list does NOT include the move (1,2)
+        when(gameRules.isLegalMove(state, move)).thenReturn(false);
 
         boolean result = moveValidator.validateMove(state, move);
-        assertFalse(result, "The move should be invalid if it is not in the list of possible moves.");
+        assertFalse(result, "The move should be invalid if it is not in the list of legal moves.");
     }
 }
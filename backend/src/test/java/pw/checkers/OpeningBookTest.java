@@ -0,0 +1,173 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pw.checkers.archive.ArchivedGame;
+import pw.checkers.data.GameState;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveEngine;
+import pw.checkers.game.OpeningBook;
+import pw.checkers.game.OpeningBookBuilder;
+import pw.checkers.utils.BookMove;
+import pw.checkers.utils.GameRecord;
+import pw.checkers.utils.PackedMove;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+class OpeningBookTest {
+
+    @TempDir
+    Path directory;
+    private final GameRules gameRules = new GameRules();
+    private Path book;
+
+    @BeforeEach
+    void setUp() {
+        book = directory.resolve("book.ckob");
+    }
+
+    @Test
+    void testCountsResultsForTheSideThatPlayedTheMove() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.add(game("white 22-17 9-13"));
+        builder.add(game("black 22-17 9-14"));
+        builder.add(game("draw 22-18"));
+        builder.write(book);
+
+        List<BookMove> moves = new OpeningBook(gameRules, book).lookup(GameState.initial());
+
+        assertEquals(List.of(new BookMove(22, 17, 1, 0, 1), new BookMove(22, 18, 0, 1, 0)), moves);
+    }
+
+    @Test
+    void testPositionsAfterAMoveAreInTheBook() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.add(game("black 22-17 9-14"));
+        builder.write(book);
+        GameState gameState = GameState.initial();
+        new MoveEngine(gameRules).apply(gameState, 22, 17);
+
+        assertEquals(List.of(new BookMove(9, 14, 1, 0, 0)), new OpeningBook(gameRules, book).lookup(gameState));
+    }
+
+    @Test
+    void testOnlyTheFirstPliesAreRecorded() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(1);
+        builder.add(game("white 22-17 9-13"));
+        builder.write(book);
+        OpeningBook openingBook = new OpeningBook(gameRules, book);
+        GameState gameState = GameState.initial();
+        new MoveEngine(gameRules).apply(gameState, 22, 17);
+
+        assertEquals(1, openingBook.size());
+        assertTrue(openingBook.lookup(gameState).isEmpty());
+    }
+
+    @Test
+    void testRebuildAddsNewGamesToExistingBook() throws IOException {
+        OpeningBookBuilder first = new OpeningBookBuilder(10);
+        first.add(game("white 22-17"));
+        first.write(book);
+        OpeningBookBuilder second = new OpeningBookBuilder(10);
+        second.merge(book);
+        second.add(game("white 22-17"));
+        second.add(game("draw 21-17"));
+        second.write(book);
+
+        List<BookMove> moves = new OpeningBook(gameRules, book).lookup(GameState.initial());
+
+        assertEquals(List.of(new BookMove(21, 17, 0, 1, 0), new BookMove(22, 17, 2, 0, 0)), moves);
+    }
+
+    @Test
+    void testIllegalGamesAreSkipped() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.add(game("white 22-13"));
+        builder.add(game("white 9-13"));
+        builder.write(book);
+
+        assertEquals(0, builder.getGames());
+        assertEquals(2, builder.getSkipped());
+        assertEquals(0, new OpeningBook(gameRules, book).size());
+    }
+
+    @Test
+    void testBuildsFromPdnGames() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.addPdn(new StringReader("""
+                [Event "Club"]
+                [Result "0-1"]
+                1. 11-15 23-19 0-1
+
+                [Event "Broken"]
+                [Result "1-0"]
+                1. 11-20 1-0
+                """));
+        builder.write(book);
+
+        assertEquals(1, builder.getGames());
+        assertEquals(1, builder.getSkipped());
+        assertEquals(List.of(new BookMove(21, 17, 1, 0, 0)), new OpeningBook(gameRules, book).lookup(GameState.initial()));
+    }
+
+    @Test
+    void testBuildsFromArchivedGames() throws IOException {
+        MoveHistory history = new MoveHistory();
+        history.add(PackedMove.pack(22, 17));
+        history.add(PackedMove.pack(9, 14));
+        ArchivedGame game = new ArchivedGame();
+        game.setWinner(Color.BLACK);
+        game.setMoves(history.toBytes());
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.add(game);
+        builder.write(book);
+
+        assertEquals(List.of(new BookMove(22, 17, 0, 0, 1)), new OpeningBook(gameRules, book).lookup(GameState.initial()));
+    }
+
+    @Test
+    void testChooseNeverPicksMovesThatOnlyLost() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(10);
+        builder.add(game("black 22-17"));
+        builder.add(game("white 22-18"));
+        builder.write(book);
+        OpeningBook openingBook = new OpeningBook(gameRules, book);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(new BookMove(22, 18, 1, 0, 0), openingBook.choose(GameState.initial(), random).orElseThrow());
+        }
+    }
+
+    @Test
+    void testMissingOrForeignFileGivesEmptyBook() throws IOException {
+        Files.write(book, new byte[32]);
+        assertEquals(0, new OpeningBook(gameRules, book).size());
+        assertTrue(new OpeningBook(gameRules, directory.resolve("missing")).lookup(GameState.initial()).isEmpty());
+        assertTrue(new OpeningBook(gameRules).choose(GameState.initial(), new Random()).isEmpty());
+    }
+
+    /**
+     * A game as its result ({@code white}, {@code black} or {@code draw}) followed by {@code from-to} steps.
+     */
+    static GameRecord game(String line) {
+        String[] tokens = line.split(" ");
+        Color winner = tokens[0].equals("draw") ? null : Color.valueOf(tokens[0].toUpperCase());
+        int[] steps = new int[tokens.length - 1];
+        for (int i = 1; i < tokens.length; i++) {
+            String[] squares = tokens[i].split("-");
+            steps[i - 1] = PackedMove.pack(Integer.parseInt(squares[0]), Integer.parseInt(squares[1]));
+        }
+        return new GameRecord(winner, steps);
+    }
+}
@@ -0,0 +1,57 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import pw.checkers.data.MoveHistory;
+import pw.checkers.message.Move;
+import pw.checkers.utils.PackedMove;
+
+public class PackedMoveTest {
+
+    @Test
+    public void testPacksSquaresAndFlags() {
+        int move = PackedMove.pack(31, 22, PackedMove.CAPTURE | PackedMove.PROMOTION);
+        assertEquals(31, PackedMove.from(move));
+        assertEquals(22, PackedMove.to(move));
+        assertTrue(PackedMove.isCapture(move));
+        assertTrue(PackedMove.isPromotion(move));
+        assertEquals(PackedMove.pack(31, 22), PackedMove.squares(move));
+        assertTrue(move < 1 << PackedMove.BITS);
+
+        int quiet = PackedMove.pack(21, 17);
+        assertFalse(PackedMove.isCapture(quiet));
+        assertFalse(PackedMove.isPromotion(quiet));
+    }
+
+    @Test
+    public void testConvertsMoves() {
+        Move move = new Move(5, 0, 4, 1);
+        int packed = PackedMove.ofMove(move);
+        assertEquals(move, PackedMove.toMove(packed));
+        assertEquals(move, PackedMove.toMove(packed | PackedMove.CAPTURE));
+    }
+
+    @Test
+    public void testHistoryKeepsFlagsInTwoBytesPerStep() {
+        MoveHistory history = new MoveHistory();
+        for (int i = 0; i < 100; i++) {
+            history.add(PackedMove.pack(i % 32, 31 - i % 32, i % 3 == 0 ? PackedMove.CAPTURE : 0));
+        }
+        history.add(PackedMove.pack(4, 0, PackedMove.PROMOTION));
+
+        byte[] bytes = history.toBytes();
+        MoveHistory restored = MoveHistory.fromBytes(bytes);
+
+        assertEquals(2 * 101, bytes.length);
+        assertEquals(101, restored.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(history.get(i), restored.get(i));
+        }
+        assertEquals(4, restored.getFrom(100));
+        assertEquals(0, restored.getTo(100));
+        assertTrue(PackedMove.isPromotion(restored.get(100)));
+        assertTrue(PackedMove.isCapture(restored.get(99)));
+    }
+}
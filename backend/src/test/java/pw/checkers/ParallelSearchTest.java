@@ -0,0 +1,89 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.GameState;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.*;
+import pw.checkers.utils.AnalysisResult;
+import pw.checkers.utils.EvaluationWeights;
+import pw.checkers.utils.SearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ParallelSearchTest {
+
+    private final GameRules gameRules = new GameRules();
+    private ParallelSearch parallelSearch;
+
+    @AfterEach
+    void tearDown() {
+        parallelSearch.shutdown();
+    }
+
+    @Test
+    void testHelpersReachFullDepthAndReturnLegalMove() throws InterruptedException {
+        parallelSearch = new ParallelSearch(realSearch(), 4);
+        GameState gameState = GameState.initial();
+
+        AnalysisResult analysis = parallelSearch.analyze(gameState, TimeUnit.SECONDS.toNanos(30), 7, 4).orElseThrow();
+
+        assertEquals(4, analysis.threads());
+        assertEquals(7, analysis.result().depth());
+        assertTrue(gameRules.getLegalMoves(gameState, Color.WHITE).contains(analysis.result().from(), analysis.result().to()));
+        assertEquals(4, parallelSearch.getAvailableThreads());
+    }
+
+    @Test
+    void testRequestIsCappedByQuota() throws InterruptedException {
+        parallelSearch = new ParallelSearch(realSearch(), 3);
+
+        AnalysisResult analysis = parallelSearch.analyze(GameState.initial(), TimeUnit.SECONDS.toNanos(30), 4, 16).orElseThrow();
+
+        assertEquals(3, analysis.threads());
+        assertEquals(3, parallelSearch.getAvailableThreads());
+    }
+
+    @Test
+    void testConcurrentAnalysesShareOneQuota() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AlphaBetaSearch search = mock(AlphaBetaSearch.class);
+        when(search.search(any(), anyLong(), anyInt(), anyInt(), any(AtomicBoolean.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            running.decrementAndGet();
+            return Optional.of(new SearchResult(0, 4, 0, 1, 1));
+        });
+        parallelSearch = new ParallelSearch(search, 3);
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<Future<Optional<AnalysisResult>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> parallelSearch.analyze(GameState.initial(), TimeUnit.SECONDS.toNanos(1), 4, 3)));
+        }
+        for (Future<Optional<AnalysisResult>> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        callers.shutdown();
+
+        assertTrue(peak.get() <= 3, "Quota exceeded: " + peak.get() + " searches at once");
+        assertEquals(3, parallelSearch.getAvailableThreads());
+    }
+
+    private AlphaBetaSearch realSearch() {
+        return new AlphaBetaSearch(gameRules, new MoveEngine(gameRules), new Evaluator(EvaluationWeights.DEFAULTS), new TranspositionTable(4), new EndgameTablebase());
+    }
+}
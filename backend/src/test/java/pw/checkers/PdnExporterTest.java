@@ -0,0 +1,142 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pw.checkers.archive.ArchivedGame;
+import pw.checkers.archive.ArchivedGameRepository;
+import pw.checkers.archive.PdnExporter;
+import pw.checkers.data.MoveHistory;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.GameEndReason;
+import pw.checkers.utils.PackedMove;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@DataJpaTest
+@Import(PdnExporter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PdnExporterTest {
+
+    private static final Instant DAY = Instant.parse("2026-03-14T12:00:00Z");
+
+    @Autowired
+    private ArchivedGameRepository repository;
+
+    @Autowired
+    private PdnExporter pdnExporter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void testWritesTagsAndJoinsMultiJumps() throws IOException {
+        MoveHistory history = new MoveHistory();
+        history.add(PackedMove.pack(21, 17));
+        history.add(PackedMove.pack(8, 12));
+        history.add(PackedMove.pack(22, 13, PackedMove.CAPTURE));
+        history.add(PackedMove.pack(13, 4, PackedMove.CAPTURE));
+        history.add(PackedMove.pack(9, 14));
+        repository.save(game("Alice", "Bob", Color.WHITE, GameEndReason.RESIGNATION, DAY, history));
+
+        String pdn = export("Alice", null, null);
+
+        assertEquals("""
+                [Event "Online game"]
+                [Date "2026.03.14"]
+                [White "Alice"]
+                [Black "Bob"]
+                [Result "1-0"]
+                [FEN "%s"]
+                [GameId "%s"]
+                [Termination "resignation"]
+
+                1. 22-18 9-13 2. 23x14x5 10-15 1-0
+
+                """.formatted(PdnExporter.INITIAL_FEN, repository.findAll().getFirst().getGameId()), pdn);
+    }
+
+    @Test
+    void testFiltersByPlayerAndTimeRangeOldestFirst() throws IOException {
+        List<ArchivedGame> games = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            games.add(game(i % 2 == 0 ? "Alice" : "Carol", i % 3 == 0 ? "Alice" : "Bob", null, GameEndReason.THREEFOLD_REPETITION,
+                    DAY.plusSeconds(3600L * (30 - i)), new MoveHistory()));
+        }
+        repository.saveAll(games);
+
+        String alice = export("Alice", null, null);
+        String range = export(null, DAY.plusSeconds(3600), DAY.plusSeconds(3600 * 11));
+
+        assertEquals(20, count(alice, "[Event "));
+        assertEquals(10, count(range, "[Event "));
+        assertEquals(10, count(range, "1/2-1/2\n"));
+        assertTrue(range.indexOf("[GameId \"" + games.get(29).getGameId()) < range.indexOf("[GameId \"" + games.get(20).getGameId()));
+        assertFalse(range.contains(games.get(19).getGameId()));
+    }
+
+    @Test
+    void testWrapsLongMoveText() throws IOException {
+        MoveHistory history = new MoveHistory();
+        for (int i = 0; i < 200; i++) {
+            history.add(PackedMove.pack(21, 17));
+        }
+        repository.save(game("Alice", "Bob", Color.BLACK, GameEndReason.NO_MOVES, DAY, history));
+
+        String pdn = export(null, DAY, null);
+
+        assertTrue(pdn.lines().allMatch(line -> line.length() <= 79));
+        assertTrue(pdn.replace('\n', ' ').contains("99. 22-18 22-18 100. 22-18 22-18 0-1"));
+    }
+
+    @Test
+    void testWritesGamesWithoutWinnerOrEndReasonAsDraws() throws IOException {
+        repository.save(game("Alice", "Bob", null, null, DAY, new MoveHistory()));
+
+        String pdn = export("Alice", null, null);
+
+        assertTrue(pdn.contains("[Result \"1/2-1/2\"]\n"));
+        assertFalse(pdn.contains("[Termination "));
+        assertTrue(pdn.endsWith("\n1/2-1/2\n\n"));
+    }
+
+    private String export(String player, Instant from, Instant to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdnExporter.export(player, from, to, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ArchivedGame game(String white, String black, Color winner, GameEndReason reason, Instant finishedAt, MoveHistory history) {
+        ArchivedGame game = new ArchivedGame();
+        game.setGameId(UUID.randomUUID().toString());
+        game.setWhitePlayer(white);
+        game.setBlackPlayer(black);
+        game.setWinner(winner);
+        game.setEndReason(reason);
+        game.setFinishedAt(finishedAt);
+        game.setMoves(history.toBytes());
+        return game;
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,242 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pw.checkers.archive.ArchivedGame;
+import pw.checkers.archive.ArchivedGameRepository;
+import pw.checkers.archive.PdnExporter;
+import pw.checkers.archive.PdnImporter;
+import pw.checkers.archive.PdnReader;
+import pw.checkers.config.ArchiveProperties;
+import pw.checkers.data.GameState;
+import pw.checkers.data.LegalMoves;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.GameEndReason;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameEndManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveValidator;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.utils.ImportResult;
+import pw.checkers.utils.PackedMove;
+import pw.checkers.utils.PdnGame;
+import pw.checkers.web.ArchiveController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+@DataJpaTest
+@Import(PdnExporter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PdnImporterTest {
+
+    private final GameRules gameRules = new GameRules();
+    private final BoardManager boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+    private final MoveValidator moveValidator = new MoveValidator(boardManager, gameRules);
+
+    @Autowired
+    private ArchivedGameRepository repository;
+
+    @Autowired
+    private PdnExporter pdnExporter;
+
+    private PdnImporter pdnImporter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        pdnImporter = new PdnImporter(repository, moveValidator, boardManager, gameRules, new ArchiveProperties(true, 7, 16, 3));
+    }
+
+    @Test
+    void testExportedGamesImportUnchanged() throws IOException {
+        List<ArchivedGame> games = randomGames(40);
+        repository.saveAll(games);
+        String pdn = export();
+        assertTrue(pdn.matches("(?s).*\\d+x\\d+x\\d+.*"), "Some random game should have a multi-jump");
+        repository.deleteAll();
+
+        ImportResult result = pdnImporter.importGames(new StringReader(pdn));
+
+        assertEquals(new ImportResult(40, 40, 0, 0, result.millis(), result.gamesPerSecond()), result);
+        assertSameGames(games, repository.findAll());
+    }
+
+    @Test
+    void testResolvesMultiJumpsGivenByTheirEndpoints() throws IOException {
+        List<ArchivedGame> games = randomGames(40);
+        repository.saveAll(games);
+        String pdn = export().replaceAll("(\\d+)(x\\d+)*x(\\d+)", "$1x$3");
+        repository.deleteAll();
+
+        ImportResult result = pdnImporter.importGames(new StringReader(pdn));
+
+        assertEquals(40, result.imported());
+        assertSameGames(games, repository.findAll());
+    }
+
+    @Test
+    void testTurnsEnglishGamesWithBlackMovingFirst() throws IOException {
+        String pdn = """
+                \uFEFF[Event "Club match"]
+                [Date "1998.05.02"]
+                [White "Wendy"]
+                [Black "Bert"]
+                [Result "0-1"]
+                [GameType "21"]
+
+                1. 12-16 {a quiet start} 21-17 2. 8-12 (2. 9-13 17-14) 25-21!
+                3. 11-15 $1 23-19 0-1
+                """;
+
+        ImportResult result = pdnImporter.importGames(new StringReader(pdn));
+
+        assertEquals(1, result.imported());
+        ArchivedGame game = repository.findAll().getFirst();
+        assertEquals("Bert", game.getWhitePlayer());
+        assertEquals("Wendy", game.getBlackPlayer());
+        assertEquals(Color.WHITE, game.getWinner());
+        assertEquals(GameEndReason.RESIGNATION, game.getEndReason());
+        assertEquals(Instant.parse("1998-05-02T00:00:00Z"), game.getFinishedAt());
+        int[] expected = {PackedMove.pack(20, 16), PackedMove.pack(11, 15), PackedMove.pack(24, 20),
+                PackedMove.pack(7, 11), PackedMove.pack(21, 17), PackedMove.pack(9, 13)};
+        byte[] moves = game.getMoves();
+        assertEquals(2 * expected.length, moves.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ((moves[2 * i] & 0xFF) << 8) | (moves[2 * i + 1] & 0xFF));
+        }
+    }
+
+    @Test
+    void testImportIntoDisabledArchiveIsUnavailable() throws Exception {
+        PdnImporter disabled = new PdnImporter(repository, moveValidator, boardManager, gameRules, new ArchiveProperties(false, 7, 16, 3));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ArchiveController(pdnExporter, disabled)).build();
+
+        mockMvc.perform(post("/archive/games.pdn").contentType(MediaType.TEXT_PLAIN).content("[Event \"x\"]\n1. 11-15 *\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("The game archive is disabled"));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testRejectsGamesThatCannotBeReplayed() throws IOException {
+        String pdn = """
+                [Result "1-0"]
+                1. 12-16 21-17 2. 12-15 1-0
+
+                [Result "*"]
+                1. 12-16 *
+
+                [FEN "W:W21-31:B1-12"]
+                [Result "1-0"]
+                1. 21-17 1-0
+
+                [GameType "20"]
+                [Result "2-0"]
+                1. 32-28 2-0
+
+                [Result "1-0"]
+                1. c3-d4 1-0
+
+                [Result "1/2-1/2"]
+                1. 12-16 21-17 1/2-1/2
+                """;
+
+        ImportResult result = pdnImporter.importGames(new StringReader(pdn));
+
+        assertEquals(6, result.games());
+        assertEquals(1, result.imported());
+        assertEquals(5, result.rejected());
+        ArchivedGame draw = repository.findAll().getFirst();
+        assertNull(draw.getWinner());
+        assertNull(draw.getEndReason());
+    }
+
+    @Test
+    void testParsesTagsMovesAndResult() {
+        PdnGame game = PdnReader.parse("[White \"A \\\"quoted\\\" name\"]\n1.22-18 {x} 11x18; rest of line 24-20\n(1... 9-13) 23x14x5! 1-0");
+
+        assertEquals("A \"quoted\" name", game.tags().get("White"));
+        assertEquals(List.of("22-18", "11x18", "23x14x5"), game.moves());
+        assertEquals("1-0", game.result());
+    }
+
+    private String export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdnExporter.export(null, Instant.EPOCH, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<ArchivedGame> randomGames(int count) {
+        Random random = new Random(42);
+        List<ArchivedGame> games = new ArrayList<>();
+        while (games.size() < count) {
+            GameState gameState = GameState.initial();
+            while (!gameState.isFinished() && gameState.getStepsPlayed() < 1000) {
+                LegalMoves legalMoves = gameRules.getLegalMoves(gameState, gameState.getCurrentPlayer());
+                List<Move> candidates = new ArrayList<>();
+                for (int i = 0; i < legalMoves.getSize(); i++) {
+                    Move move = PackedMove.toMove(legalMoves.get(i));
+                    if (moveValidator.validateMove(gameState, move)) {
+                        candidates.add(move);
+                    }
+                }
+                MoveOutputMessage response = new MoveOutputMessage();
+                response.setMove(candidates.get(random.nextInt(candidates.size())));
+                boardManager.makeMove(gameState, response);
+            }
+            if (!gameState.isFinished()) {
+                continue;
+            }
+            ArchivedGame game = new ArchivedGame();
+            game.setGameId(UUID.randomUUID().toString());
+            game.setWhitePlayer("White " + games.size());
+            game.setBlackPlayer("Black " + games.size());
+            game.setWinner(gameState.getWinner());
+            game.setEndReason(gameState.getGameEndReason());
+            game.setFinishedAt(Instant.parse("2026-01-01T00:00:00Z"));
+            game.setMoves(gameState.getHistory().toBytes());
+            games.add(game);
+        }
+        return games;
+    }
+
+    private static void assertSameGames(List<ArchivedGame> expected, List<ArchivedGame> actual) {
+        assertEquals(expected.size(), actual.size());
+        List<ArchivedGame> sortedExpected = expected.stream().sorted(Comparator.comparing(ArchivedGame::getGameId)).toList();
+        List<ArchivedGame> sortedActual = actual.stream().sorted(Comparator.comparing(ArchivedGame::getGameId)).toList();
+        for (int i = 0; i < sortedExpected.size(); i++) {
+            ArchivedGame before = sortedExpected.get(i);
+            ArchivedGame after = sortedActual.get(i);
+            assertEquals(before.getGameId(), after.getGameId());
+            assertEquals(before.getWhitePlayer(), after.getWhitePlayer());
+            assertEquals(before.getBlackPlayer(), after.getBlackPlayer());
+            assertEquals(before.getWinner(), after.getWinner());
+            assertEquals(before.getEndReason(), after.getEndReason());
+            assertEquals(before.getFinishedAt(), after.getFinishedAt());
+            assertArrayEquals(before.getMoves(), after.getMoves());
+        }
+    }
+}
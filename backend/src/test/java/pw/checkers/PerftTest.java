@@ -0,0 +1,158 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.Board;
+import pw.checkers.data.GameState;
+import pw.checkers.data.Piece;
+import pw.checkers.data.PositionCounter;
+import pw.checkers.data.enums.Color;
+import pw.checkers.data.enums.PieceType;
+import pw.checkers.game.BoardManager;
+import pw.checkers.game.GameEndManager;
+import pw.checkers.game.GameRules;
+import pw.checkers.game.MoveEngine;
+import pw.checkers.game.Perft;
+import pw.checkers.message.Move;
+import pw.checkers.message.MoveOutputMessage;
+import pw.checkers.utils.PerftResult;
+
+import java.util.Map;
+
+class PerftTest {
+
+    private final GameRules gameRules = new GameRules();
+    private Perft perft;
+    private BoardManager boardManager;
+
+    @BeforeEach
+    void setUp() {
+        boardManager = new BoardManager(new GameEndManager(gameRules), gameRules);
+        perft = new Perft(gameRules, new MoveEngine(gameRules));
+    }
+
+    @Test
+    void testInitialPositionMatchesPublishedCounts() {
+        // Published English draughts perft; multi-jumps cannot occur this shallow, so plies and moves coincide.
+        long[] expected = {7, 49, 302, 1469, 7361, 36768};
+        GameState gameState = GameState.initial();
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals(expected[depth - 1], perft.run(gameState, depth, false).nodes(), "Depth " + depth);
+        }
+    }
+
+    @Test
+    void testBulkCountingMatchesFullExpansion() {
+        GameState gameState = GameState.initial();
+        for (int depth = 1; depth <= 7; depth++) {
+            assertEquals(perft.run(gameState, depth, false).nodes(), perft.run(gameState, depth, true).nodes(), "Depth " + depth);
+        }
+    }
+
+    @Test
+    void testRunDoesNotModifyPosition() {
+        GameState gameState = GameState.initial();
+        long hash = gameState.getBoard().getHash();
+        PerftResult result = perft.run(gameState, 4, false);
+        assertEquals(hash, gameState.getBoard().getHash());
+        assertEquals(Color.WHITE, gameState.getCurrentPlayer());
+        assertTrue(result.nanos() > 0);
+    }
+
+    @Test
+    void testCaptureIsMandatory() {
+        Board board = new Board();
+        board.set(5, 2, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(5, 6, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(4, 3, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(0, 1, new Piece(Color.BLACK, PieceType.PAWN));
+        Map<String, Long> divide = perft.divide(state(board), 1, false);
+        assertEquals(Map.of("5,2-3,4", 1L), divide);
+    }
+
+    @Test
+    void testMultiJumpContinuesWithSamePiece() {
+        Board board = new Board();
+        board.set(6, 1, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(7, 6, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(5, 2, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(3, 4, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(1, 4, new Piece(Color.BLACK, PieceType.PAWN));
+        board.set(0, 7, new Piece(Color.BLACK, PieceType.PAWN));
+        GameState gameState = state(board);
+        assertEquals(1, perft.run(gameState, 1, false).nodes());
+        assertEquals(1, perft.run(gameState, 2, false).nodes());
+        assertEquals(1, perft.run(gameState, 3, false).nodes());
+        assertEquals(1, perft.run(gameState, 4, false).nodes(), "Black moves only after the whole jump sequence");
+    }
+
+    @Test
+    void testPromotedPieceMovesAsKing() {
+        Board board = new Board();
+        board.set(1, 2, new Piece(Color.WHITE, PieceType.PAWN));
+        board.set(7, 0, new Piece(Color.BLACK, PieceType.KING));
+        GameState gameState = state(board);
+        assertEquals(2, perft.run(gameState, 1, false).nodes());
+        assertEquals(2, perft.run(gameState, 2, false).nodes());
+        assertEquals(4, perft.run(gameState, 3, false).nodes(), "A pawn on the last row must have been promoted");
+    }
+
+    @Test
+    void testApplyUndoWalkMatchesMakeMoveWalk() {
+        Board midgame = new Board();
+        for (int[] square : new int[][]{{5, 0}, {5, 2}, {6, 1}, {6, 5}, {7, 4}, {4, 3}, {5, 6}, {6, 7}}) {
+            midgame.set(square[0], square[1], new Piece(Color.WHITE, PieceType.PAWN));
+        }
+        for (int[] square : new int[][]{{0, 1}, {1, 2}, {1, 4}, {2, 3}, {2, 5}, {1, 6}, {0, 7}, {3, 0}}) {
+            midgame.set(square[0], square[1], new Piece(Color.BLACK, PieceType.PAWN));
+        }
+        Board kings = new Board();
+        kings.set(4, 3, new Piece(Color.WHITE, PieceType.KING));
+        kings.set(6, 1, new Piece(Color.WHITE, PieceType.KING));
+        kings.set(1, 2, new Piece(Color.BLACK, PieceType.KING));
+        kings.set(2, 7, new Piece(Color.BLACK, PieceType.KING));
+        kings.set(3, 6, new Piece(Color.BLACK, PieceType.PAWN));
+
+        assertEquals(referencePerft(GameState.initial(), 8), perft.run(GameState.initial(), 8, false).nodes());
+        assertEquals(referencePerft(state(midgame), 6), perft.run(state(midgame), 6, false).nodes());
+        assertEquals(referencePerft(state(kings), 7), perft.run(state(kings), 7, false).nodes(), "King shuffles must hit repetition draws identically");
+    }
+
+    private long referencePerft(GameState gameState, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (gameState.isFinished()) {
+            return 0;
+        }
+        long nodes = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = gameState.getBoard().get(row, col);
+                if (piece == null || piece.getColor() != gameState.getCurrentPlayer()) {
+                    continue;
+                }
+                for (var target : gameRules.getPossibleMoves(gameState, row, col).getMoves()) {
+                    GameState child = gameState.copy();
+                    MoveOutputMessage response = new MoveOutputMessage();
+                    response.setMove(new Move(row, col, target.getRow(), target.getCol()));
+                    boardManager.makeMove(child, response);
+                    nodes += referencePerft(child, depth - 1);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static GameState state(Board board) {
+        GameState gameState = new GameState();
+        gameState.setBoard(board);
+        gameState.setCurrentPlayer(Color.WHITE);
+        gameState.setWhitePiecesLeft(Integer.bitCount(board.getWhite()));
+        gameState.setBlackPiecesLeft(Integer.bitCount(board.getBlack()));
+        gameState.setNumberOfPositions(new PositionCounter());
+        return gameState;
+    }
+}
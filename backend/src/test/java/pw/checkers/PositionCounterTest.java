@@ -0,0 +1,55 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import pw.checkers.data.PositionCounter;
+
+public class PositionCounterTest {
+
+    @Test
+    public void testIncrementCountsRepetitions() {
+        PositionCounter counter = new PositionCounter();
+        assertEquals(0, counter.get(7L));
+        assertEquals(1, counter.increment(7L));
+        assertEquals(2, counter.increment(7L));
+        assertEquals(1, counter.increment(-7L));
+        assertEquals(2, counter.get(7L));
+        assertEquals(2, counter.getMaxCount());
+        assertEquals(2, counter.getSize());
+    }
+
+    @Test
+    public void testKeepsCountsWhenGrowing() {
+        PositionCounter counter = new PositionCounter();
+        for (long key = 0; key < 1000; key++) {
+            counter.increment(key * 0x9E3779B97F4A7C15L);
+        }
+        counter.increment(0L);
+        counter.increment(0L);
+        assertEquals(1000, counter.getSize());
+        assertEquals(3, counter.get(0L));
+        assertEquals(1, counter.get(999 * 0x9E3779B97F4A7C15L));
+        assertEquals(3, counter.getMaxCount());
+    }
+
+    @Test
+    public void testDecrementKeepsCollidingKeysReachable() {
+        PositionCounter counter = new PositionCounter();
+        long[] keys = new long[20];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) i << 32 | i;
+            counter.increment(keys[i]);
+        }
+        counter.increment(keys[3]);
+        for (int i = 0; i < keys.length; i += 2) {
+            counter.decrement(keys[i]);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int expected = i == 3 ? 2 : i % 2;
+            assertEquals(expected, counter.get(keys[i]), "Wrong count for key " + i);
+        }
+        assertEquals(keys.length / 2, counter.getSize());
+    }
+}
@@ -23,6 +23,8 @@ import pw.checkers.data.enums.Color;
 import pw.checkers.message.GameIdMessage;
 import pw.checkers.message.Message;
 import pw.checkers.message.PromptMessage;
+import pw.checkers.message.User;
+import pw.checkers.sockets.services.BotPlayer;
 import pw.checkers.sockets.services.GameManager;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.RematchService;
@@ -38,6 +40,8 @@ public class RematchServiceTest {
     @Mock
     private GameManager gameManager;
     @Mock
+    private BotPlayer botPlayer;
+    @Mock
     private WebSocketSession session1;
     @Mock
     private WebSocketSession session2;
@@ -46,7 +50,7 @@ public class RematchServiceTest {
 
     @BeforeEach
     public void setUp() {
-        rematchService = new RematchService(sessionManager, messageSender, gameManager);
+        rematchService = new RematchService(sessionManager, messageSender, gameManager, botPlayer);
         // Mark these stubbing as lenient if they are not used in every test.
         lenient().when(session1.getId()).thenReturn("session1");
         lenient().when(session2.getId()).thenReturn("session2");
@@ -120,6 +124,20 @@ public class RematchServiceTest {
         assertDoesNotThrow(() -> rematchService.removeFromRematchRequests("game123"));
     }
 
+    @Test
+    public void testEvictionDropsPendingRematchRequests() throws IOException {
+        String gameId = "game123";
+        GameIdMessage msg = new GameIdMessage(gameId);
+        when(sessionManager.getSessionsByGameId(gameId)).thenReturn(Set.of(session1, session2));
+        when(sessionManager.getOpponent(eq(gameId), any())).thenReturn(Optional.empty());
+
+        rematchService.proposeRematch(session1, msg);
+        rematchService.removeFromRematchRequests(gameId);
+        rematchService.proposeRematch(session2, msg);
+
+        verify(gameManager, never()).cleanGameHistory(any());
+    }
+
     @Test
     public void testStartRematch_GamePlayersNull() throws IOException {
         String gameId = "game123";
@@ -176,4 +194,20 @@ public class RematchServiceTest {
         Message msg2 = captor2.getValue();
         assertEquals("gameCreated", msg2.getType());
     }
+
+    @Test
+    public void testStartRematch_BotGameStartsNewBotGameWithSwappedColors() throws IOException {
+        String gameId = "game123";
+        GameIdMessage msg = new GameIdMessage(gameId);
+        User user = new User("Alice");
+        when(sessionManager.getColorAssignments(gameId)).thenReturn(Map.of(session1, Color.WHITE.getValue()));
+        when(sessionManager.getBotColor(gameId)).thenReturn(Optional.of(Color.BLACK.getValue()));
+        when(sessionManager.getUserBySession(session1)).thenReturn(user);
+
+        rematchService.startRematch(session1, msg);
+
+        verify(gameManager).cleanGameHistory(msg);
+        verify(botPlayer).startGame(session1, user, Color.BLACK);
+        verify(sessionManager, never()).addToSessionsByGame(any(), any(), any());
+    }
 }
@@ -16,8 +16,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.socket.WebSocketSession;
 
 import pw.checkers.message.User;
+import pw.checkers.sockets.services.MatchmakingQueue;
 import pw.checkers.sockets.services.MessageSender;
 import pw.checkers.sockets.services.SessionManager;
+import pw.checkers.utils.PlayerSeat;
 
 @ExtendWith(MockitoExtension.class)
 public class SessionManagerTest {
@@ -35,10 +37,12 @@ public class SessionManagerTest {
     private User user2;
 
     private SessionManager sessionManager;
+    private MatchmakingQueue matchmakingQueue;
 
     @BeforeEach
     public void setUp() {
-        sessionManager = new SessionManager(messageSender);
+        matchmakingQueue = new MatchmakingQueue();
+        sessionManager = new SessionManager(messageSender, matchmakingQueue);
         user1 = new User("Alice");
         user2 = new User("Bob");
         // Stub session IDs (mark lenient to avoid unnecessary stubbing warnings)
@@ -49,13 +53,13 @@ public class SessionManagerTest {
     @Test
     public void testRemoveWaitingPlayerFromQueue() {
         // Add a waiting player and then remove it.
-        sessionManager.addPlayerToQueue(session1, user1);
+        matchmakingQueue.enqueue(session1, user1);
         // Verify that polling returns the waiting player.
-        assertNotNull(sessionManager.pollFromPlayerQueue(), "Waiting player should be available");
+        assertTrue(matchmakingQueue.contains(session1), "Waiting player should be available");
         // Now add again and then remove by calling removeWaitingPlayerFromQueue.
-        sessionManager.addPlayerToQueue(session1, user1);
-        sessionManager.removeWaitingPlayerFromQueue(session1, user1);
-        assertNull(sessionManager.pollFromPlayerQueue(), "Waiting queue should be empty after removal");
+        matchmakingQueue.enqueue(session1, user1);
+        matchmakingQueue.remove(session1, user1);
+        assertEquals(0, matchmakingQueue.size(), "Waiting queue should be empty after removal");
     }
 
     @Test
@@ -120,17 +124,17 @@ public class SessionManagerTest {
     @Test
     public void testPollFromPlayerQueue() {
         // Initially, the queue is empty.
-        assertNull(sessionManager.pollFromPlayerQueue(), "Queue should be empty initially");
+        assertEquals(0, matchmakingQueue.size(), "Queue should be empty initially");
         // Add a player.
-        sessionManager.addPlayerToQueue(session1, user1);
-        assertNotNull(sessionManager.pollFromPlayerQueue(), "Queue should return a waiting player");
+        matchmakingQueue.enqueue(session1, user1);
+        assertTrue(matchmakingQueue.contains(session1), "Queue should return a waiting player");
     }
 
     @Test
     public void testAddPlayerToQueue() {
-        sessionManager.addPlayerToQueue(session1, user1);
+        matchmakingQueue.enqueue(session1, user1);
         // Poll the waiting player and check that it matches.
-        assertNotNull(sessionManager.pollFromPlayerQueue(), "Queue should return a waiting player");
+        assertTrue(matchmakingQueue.contains(session1), "Queue should return a waiting player");
     }
 
     @Test
@@ -175,7 +179,7 @@ public class SessionManagerTest {
     @Test
     public void testHandleSessionClose() {
         // Set up waiting queue with a waiting player.
-        sessionManager.addPlayerToQueue(session1, user1);
+        matchmakingQueue.enqueue(session1, user1);
         // Add session entries in sessionsByGame and colorAssignmentsByGame.
         String gameId = "game123";
         sessionManager.addToSessionsByGame(gameId, session1, session2);
@@ -183,7 +187,7 @@ public class SessionManagerTest {
         // Call handleSessionClose for session1.
         sessionManager.handleSessionClose(session1);
         // Verify that the waiting queue no longer contains session1.
-        assertNull(sessionManager.pollFromPlayerQueue(), "Waiting queue should not return session1 after close");
+        assertFalse(matchmakingQueue.contains(session1), "Waiting queue should not return session1 after close");
         // Verify that sessionsByGame for gameId no longer contains session1.
         Set<WebSocketSession> sessions = sessionManager.getSessionsByGameId(gameId);
         if (sessions != null) {
@@ -224,4 +228,36 @@ public class SessionManagerTest {
         Optional<String> resultValid = sessionManager.getAssignedColor(gameId, session1);
         assertTrue(resultValid.isPresent(), "Expected assigned color to be present");
     }
+
+    @Test
+    public void testSeatIndexTracksGameAndColor() {
+        String gameId = "game123";
+        sessionManager.addToSessionsByGame(gameId, session1, session2);
+        sessionManager.addToColorAssignments(gameId, session1, session2);
+        assertEquals(Optional.of(new PlayerSeat(gameId, "white")), sessionManager.getSeat(session1));
+        assertEquals(Optional.of(new PlayerSeat(gameId, "black")), sessionManager.getSeat(session2));
+    }
+
+    @Test
+    public void testHandleSessionCloseReleasesBothSeats() {
+        String gameId = "game123";
+        sessionManager.addToSessionsByGame(gameId, session1, session2);
+        sessionManager.addToColorAssignments(gameId, session1, session2);
+        sessionManager.handleSessionClose(session1);
+        assertTrue(sessionManager.isGameIdInvalid(gameId));
+        assertTrue(sessionManager.getSeat(session1).isEmpty());
+        assertTrue(sessionManager.getSeat(session2).isEmpty());
+        verify(messageSender).release(session1);
+    }
+
+    @Test
+    public void testRematchMovesSeatsToNewGame() {
+        sessionManager.addToSessionsByGame("old", session1, session2);
+        sessionManager.addToColorAssignments("old", session1, session2);
+        sessionManager.removeGameFromMaps("old");
+        sessionManager.addToSessionsByGame("new", session1, session2);
+        sessionManager.addToColorAssignments("new", session2, session1);
+        assertEquals(Optional.of(new PlayerSeat("new", "black")), sessionManager.getSeat(session1));
+        assertEquals("white", sessionManager.getAssignedColorByGameIdAndSession("new", session2));
+    }
 }
@@ -0,0 +1,65 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import pw.checkers.data.Board;
+import pw.checkers.data.enums.Color;
+import pw.checkers.game.TablebaseIndex;
+import pw.checkers.utils.Material;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class TablebaseIndexTest {
+
+    @Test
+    void testSizeCountsEveryPlacementForBothSides() {
+        assertEquals(32L * 32 * 2, TablebaseIndex.size(new Material(0, 1, 0, 1)));
+        assertEquals(28L * 378 * 2, TablebaseIndex.size(new Material(1, 0, 2, 0)));
+    }
+
+    @Test
+    void testEveryValidIndexRoundTrips() {
+        for (Material material : new Material[]{new Material(0, 2, 0, 1), new Material(1, 0, 1, 1), new Material(2, 0, 0, 1)}) {
+            int[] decoded = new int[4];
+            Set<String> positions = new HashSet<>();
+            for (long index = 0; index < TablebaseIndex.size(material); index++) {
+                if (!TablebaseIndex.decode(material, index, decoded)) {
+                    continue;
+                }
+                Board board = new Board(decoded[0], decoded[1], decoded[2]);
+                Color side = decoded[3] == 0 ? Color.WHITE : Color.BLACK;
+                assertEquals(material.key(), TablebaseIndex.materialKey(board));
+                assertEquals(index, TablebaseIndex.index(board, side), "Index " + index + " of " + material);
+                assertTrue(positions.add(decoded[0] + "/" + decoded[1] + "/" + decoded[2] + "/" + decoded[3]));
+            }
+            assertFalse(positions.isEmpty());
+        }
+    }
+
+    @Test
+    void testPawnsNeverDecodeOntoTheirPromotionRow() {
+        Material material = new Material(1, 0, 1, 0);
+        int[] decoded = new int[4];
+        for (long index = 0; index < TablebaseIndex.size(material); index++) {
+            if (TablebaseIndex.decode(material, index, decoded)) {
+                assertEquals(0, decoded[0] & 0xF, "White pawn on row 0");
+                assertEquals(0, decoded[1] & 0xF0000000, "Black pawn on row 7");
+            }
+        }
+    }
+
+    @Test
+    void testOverlappingGroupsDecodeToNoPosition() {
+        Material material = new Material(0, 1, 0, 1);
+        int[] decoded = new int[4];
+        int invalid = 0;
+        for (long index = 0; index < TablebaseIndex.size(material); index++) {
+            if (!TablebaseIndex.decode(material, index, decoded)) {
+                invalid++;
+            }
+        }
+        assertEquals(32 * 2, invalid);
+    }
+}
@@ -7,12 +7,13 @@ import pw.checkers.sockets.handlers.*;
 import pw.checkers.sockets.services.SessionManager;
 
 public class TestableCheckersWebSocketHandler extends CheckersWebSocketHandler {
-    public TestableCheckersWebSocketHandler(SessionManager sessionManager, JoinQueueHandler joinQueueHandler, LeaveQueueHandler leaveQueueHandler, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, AcceptRematchHandler acceptRematchHandler, LeaveHandler leaveHandler, DeclineRematchHandler declineRematchHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler, MessageMapper messageMapper) {
+    public TestableCheckersWebSocketHandler(SessionManager sessionManager, JoinQueueHandler joinQueueHandler, LeaveQueueHandler leaveQueueHandler, MoveHandler moveHandler, PossibilitiesHandler possibilitiesHandler, HintHandler hintHandler, AcceptRematchHandler acceptRematchHandler, LeaveHandler leaveHandler, DeclineRematchHandler declineRematchHandler, RematchRequestHandler rematchRequestHandler, ResignHandler resignHandler, MessageMapper messageMapper) {
         super(sessionManager,
                 joinQueueHandler,
                 leaveQueueHandler,
                 moveHandler,
                 possibilitiesHandler,
+                hintHandler,
                 acceptRematchHandler,
                 leaveHandler,
                 declineRematchHandler,
@@ -0,0 +1,109 @@
+package pw.checkers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import pw.checkers.game.TranspositionTable;
+import pw.checkers.utils.TranspositionStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbeRoundTrip() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, (7 << 5) | 12, TranspositionTable.LOWER, 9, -1234);
+
+        long data = table.probe(42L);
+        assertEquals((7 << 5) | 12, TranspositionTable.move(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(9, TranspositionTable.depth(data));
+        assertEquals(-1234, TranspositionTable.score(data));
+        assertEquals(0, table.probe(43L));
+    }
+
+    @Test
+    void testCapacityFollowsMegabytes() {
+        assertEquals(1 << 16, new TranspositionTable(1).capacity());
+        assertEquals(1 << 20, new TranspositionTable(16).capacity());
+        assertEquals(2, new TranspositionTable(0).capacity());
+    }
+
+    @Test
+    void testDeepEntrySurvivesShallowStoresOfOtherKeys() {
+        TranspositionTable table = new TranspositionTable(0);
+        table.store(1L, 0, TranspositionTable.EXACT, 10, 5);
+        table.store(2L, 0, TranspositionTable.EXACT, 2, 6);
+        table.store(3L, 0, TranspositionTable.EXACT, 3, 7);
+
+        assertEquals(10, TranspositionTable.depth(table.probe(1L)));
+        assertEquals(0, table.probe(2L));
+        assertEquals(7, TranspositionTable.score(table.probe(3L)));
+    }
+
+    @Test
+    void testNewSearchLetsOldDeepEntryBeReplaced() {
+        TranspositionTable table = new TranspositionTable(0);
+        table.store(1L, 0, TranspositionTable.EXACT, 10, 5);
+        table.newSearch();
+        table.store(2L, 0, TranspositionTable.EXACT, 1, 6);
+
+        assertEquals(0, table.probe(1L));
+        assertEquals(6, TranspositionTable.score(table.probe(2L)));
+    }
+
+    @Test
+    void testCountsHitsMissesAndCollisions() {
+        TranspositionTable table = new TranspositionTable(0);
+        table.probe(1L);
+        table.store(1L, 0, TranspositionTable.EXACT, 1, 0);
+        table.probe(1L);
+        table.probe(2L);
+
+        TranspositionStats stats = table.getStatistics();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.collisions());
+        assertEquals(1, stats.stores());
+    }
+
+    @Test
+    void testConcurrentWritersNeverExposeTornEntries() throws Exception {
+        TranspositionTable table = new TranspositionTable(0);
+        int threads = 4;
+        AtomicLong inconsistent = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextInt(64) * 0x9E3779B97F4A7C15L;
+                    if (random.nextBoolean()) {
+                        table.store(key, (int) (key & 0x3FF), TranspositionTable.EXACT, 1, (int) (key >>> 32));
+                    } else {
+                        long data = table.probe(key);
+                        if (data != 0 && (TranspositionTable.score(data) != (int) (key >>> 32)
+                                || TranspositionTable.move(data) != (int) (key & 0x3FF))) {
+                            inconsistent.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(0, inconsistent.get());
+        assertTrue(table.getStatistics().hits() > 0);
+    }
+}
@@ -9,5 +9,6 @@ enum class ResultDetailsDto {
     @SerialName("noMoves") NO_MOVES,
     @SerialName("fiftyMove") FIFTY_MOVE,
     @SerialName("threefoldRepetition") THREEFOLD_REPETITION,
+    @SerialName("deadDraw") DEAD_DRAW,
     @SerialName("resignation") RESIGN
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ fun ResultDetailsDto.toDomain() = when(this) {
     ResultDetailsDto.NO_MOVES -> ResultDetails.NO_MOVES
     ResultDetailsDto.FIFTY_MOVE -> ResultDetails.FIFTY_MOVE
     ResultDetailsDto.THREEFOLD_REPETITION -> ResultDetails.THREEFOLD_REPETITION
+    ResultDetailsDto.DEAD_DRAW -> ResultDetails.DEAD_DRAW
     ResultDetailsDto.RESIGN -> ResultDetails.RESIGN
 }
 
@@ -16,5 +17,6 @@ fun ResultDetails.toDto() = when(this) {
     ResultDetails.NO_MOVES -> ResultDetailsDto.NO_MOVES
     ResultDetails.FIFTY_MOVE -> ResultDetailsDto.FIFTY_MOVE
     ResultDetails.THREEFOLD_REPETITION -> ResultDetailsDto.THREEFOLD_REPETITION
+    ResultDetails.DEAD_DRAW -> ResultDetailsDto.DEAD_DRAW
     ResultDetails.RESIGN -> ResultDetailsDto.RESIGN
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 package pw.checkers.game.domain.model
 
 enum class ResultDetails {
-    NO_PIECES, NO_MOVES, FIFTY_MOVE, THREEFOLD_REPETITION, RESIGN
+    NO_PIECES, NO_MOVES, FIFTY_MOVE, THREEFOLD_REPETITION, DEAD_DRAW, RESIGN
 }
\ No newline at end of file
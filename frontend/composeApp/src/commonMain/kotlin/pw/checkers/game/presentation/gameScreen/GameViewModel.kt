@@ -176,6 +176,7 @@ class GameViewModel(
             ResultDetails.NO_MOVES -> StringResourceId(Res.string.result_details_no_moves)
             ResultDetails.FIFTY_MOVE -> StringResourceId(Res.string.result_details_fifty_move)
             ResultDetails.THREEFOLD_REPETITION -> StringResourceId(Res.string.result_details_threefold)
+            ResultDetails.DEAD_DRAW -> StringResourceId(Res.string.result_details_dead_draw)
             ResultDetails.RESIGN -> {
                 val result = _state.value.result
                 val loser = if (result == color.toResult()) opponent.username else user.username